@@ -0,0 +1,26 @@
+package com.example.product.controller;
+
+import com.example.product.infra.security.SigningKeyRing;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+public class JwksController {
+
+    @Autowired
+    SigningKeyRing signingKeyRing;
+
+    @GetMapping("/.well-known/jwks.json")
+    ResponseEntity<Map<String, List<Map<String, String>>>> jwks(){
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(15)).cachePublic())
+                .body(Map.of("keys", signingKeyRing.publicJwks()));
+    }
+}
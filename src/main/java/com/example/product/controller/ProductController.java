@@ -1,15 +1,23 @@
 package com.example.product.controller;
 
+import com.example.product.domain.product.HotProductDTO;
 import com.example.product.domain.product.Product;
+import com.example.product.domain.product.ProductFields;
+import com.example.product.domain.product.ProductLookupRequestDTO;
+import com.example.product.domain.product.ProductLookupResponseDTO;
+import com.example.product.domain.product.ProductPage;
 import com.example.product.domain.product.ProductRequestDTO;
 import com.example.product.domain.product.ProductResponseDTO;
+import com.example.product.domain.product.ProductSuggestionDTO;
 import com.example.product.service.ProductService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
 import jakarta.validation.Valid;
 
+import java.math.BigDecimal;
 import java.net.URI;
 import java.util.List;
 import java.util.UUID;
@@ -18,6 +26,8 @@ import java.util.UUID;
 @RequestMapping("/product")
 public class ProductController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     @Autowired
     private ProductService productService;
 
@@ -31,17 +41,46 @@ public class ProductController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ProductResponseDTO>> getAll(@RequestParam(required = false) String name,
-                                                           @RequestParam(required = false)  Double minPrice,
-                                                           @RequestParam(required = false)  Double maxPrice){
-        List<ProductResponseDTO> allProducts = productService.getAllProducts(name,minPrice,maxPrice);
-        return  ResponseEntity.ok(allProducts);
+    public ResponseEntity<MappingJacksonValue> getAll(@RequestParam(required = false) String name,
+                                                      @RequestParam(required = false)  BigDecimal minPrice,
+                                                      @RequestParam(required = false)  BigDecimal maxPrice,
+                                                      @RequestParam(defaultValue = "name") String sort,
+                                                      @RequestParam(required = false) String after,
+                                                      @RequestParam(required = false) Integer limit,
+                                                      @RequestParam(required = false) String fields){
+        ProductFields productFields = ProductFields.fromParameter(fields);
+        ProductPage page = productService.getAllProducts(name,minPrice,maxPrice,sort,after,limit,productFields);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(withFields(page.products(), productFields));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestionDTO>> suggest(@RequestParam String prefix,
+                                                              @RequestParam(defaultValue = "10") int limit){
+        List<ProductSuggestionDTO> suggestions = productService.suggestProducts(prefix,limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
+    @GetMapping("/hot")
+    public ResponseEntity<List<HotProductDTO>> hot(@RequestParam(defaultValue = "10") int limit){
+        List<HotProductDTO> products = productService.getHotProducts(limit);
+        return ResponseEntity.ok(products);
+    }
+
+    @PostMapping("/lookup")
+    public ResponseEntity<ProductLookupResponseDTO> lookup(@RequestBody @Valid ProductLookupRequestDTO data){
+        ProductLookupResponseDTO products = productService.lookupProducts(data.productIds());
+        return ResponseEntity.ok(products);
     }
 
     @GetMapping("/{productId}")
-    public ResponseEntity<ProductResponseDTO> get(@PathVariable UUID productId){
+    public ResponseEntity<MappingJacksonValue> get(@PathVariable UUID productId, @RequestParam(required = false) String fields){
+        ProductFields productFields = ProductFields.fromParameter(fields);
         ProductResponseDTO product = productService.getProduct(productId);
-        return  ResponseEntity.ok(product);
+        return  ResponseEntity.ok(withFields(product, productFields));
     }
 
     @PutMapping("/{productId}")
@@ -56,4 +95,11 @@ public class ProductController {
         return ResponseEntity.noContent().build();
     }
 
+    private static MappingJacksonValue withFields(Object body, ProductFields fields){
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (!fields.isAll()) {
+            value.setSerializationView(fields.view());
+        }
+        return value;
+    }
 }
@@ -0,0 +1,56 @@
+package com.example.product.controller;
+
+import com.example.product.domain.product.ProductFields;
+import com.example.product.domain.product.ProductResponseDTO;
+import com.example.product.domain.product.ProductStream;
+import com.example.product.service.ReactiveProductService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+// same reads as ProductController, selected by Accept: application/x-ndjson and streamed without holding a thread or JDBC connection
+@RestController
+@RequestMapping("/product")
+@ConditionalOnProperty(name = "productApi.reactive.r2dbc.url")
+public class ReactiveProductController {
+
+    @Autowired
+    private ReactiveProductService reactiveProductService;
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<MappingJacksonValue> getAll(@RequestParam(required = false) String name,
+                                            @RequestParam(required = false)  BigDecimal minPrice,
+                                            @RequestParam(required = false)  BigDecimal maxPrice,
+                                            @RequestParam(defaultValue = "name") String sort,
+                                            @RequestParam(required = false) String after,
+                                            @RequestParam(required = false) Integer limit,
+                                            @RequestParam(required = false) String fields){
+        ProductFields productFields = ProductFields.fromParameter(fields);
+        ProductStream stream = reactiveProductService.getAllProducts(name,minPrice,maxPrice,sort,after,limit,productFields);
+        // each line goes through the message converters on its own, so the view is set per product
+        // headers are already sent when the last row is read, so a full page ends with a {"nextCursor": ...} line instead of X-Next-Cursor
+        return stream.products()
+                .map(product -> withFields(product, productFields))
+                .concatWith(stream.nextCursor().map(nextCursor -> new MappingJacksonValue(Map.of("nextCursor", nextCursor))));
+    }
+
+    @GetMapping(value = "/{productId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ProductResponseDTO> get(@PathVariable UUID productId){
+        return reactiveProductService.getProduct(productId).flux();
+    }
+
+    private static MappingJacksonValue withFields(Object body, ProductFields fields){
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (!fields.isAll()) {
+            value.setSerializationView(fields.view());
+        }
+        return value;
+    }
+}
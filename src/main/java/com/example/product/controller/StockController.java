@@ -0,0 +1,46 @@
+package com.example.product.controller;
+
+import com.example.product.domain.stock.ReleaseRequestDTO;
+import com.example.product.domain.stock.ReservationResponseDTO;
+import com.example.product.domain.stock.StockRequestDTO;
+import com.example.product.domain.stock.StockResponseDTO;
+import com.example.product.service.StockService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/product/{productId}/stock")
+public class StockController {
+
+    @Autowired
+    private StockService stockService;
+
+    @GetMapping
+    public ResponseEntity<StockResponseDTO> get(@PathVariable UUID productId){
+        StockResponseDTO stock = stockService.getStock(productId);
+        return ResponseEntity.ok(stock);
+    }
+
+    @PostMapping
+    public ResponseEntity<StockResponseDTO> restock(@PathVariable UUID productId, @RequestBody @Valid StockRequestDTO data){
+        StockResponseDTO stock = stockService.restock(productId, data.quantity());
+        return ResponseEntity.ok(stock);
+    }
+
+    @PostMapping("/reserve")
+    public ResponseEntity<ReservationResponseDTO> reserve(@PathVariable UUID productId, @RequestBody @Valid StockRequestDTO data, Principal principal){
+        ReservationResponseDTO reservation = stockService.reserve(productId, data.quantity(), principal.getName());
+        return ResponseEntity.ok(reservation);
+    }
+
+    @PostMapping("/release")
+    public ResponseEntity<Void> release(@PathVariable UUID productId, @RequestBody @Valid ReleaseRequestDTO data, Principal principal){
+        stockService.release(productId, data.reservationId(), principal.getName());
+        return ResponseEntity.noContent().build();
+    }
+}
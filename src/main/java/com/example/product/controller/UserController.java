@@ -1,7 +1,10 @@
 package com.example.product.controller;
 
+import com.example.product.domain.user.BulkRegisterRequestDTO;
+import com.example.product.domain.user.BulkRegisterResultDTO;
 import com.example.product.domain.user.LoginRequestDTO;
 import com.example.product.domain.user.LoginResponseDTO;
+import com.example.product.domain.user.RefreshRequestDTO;
 import com.example.product.domain.user.RegisterRequestDTO;
 import com.example.product.service.UserService;
 import jakarta.validation.Valid;
@@ -13,6 +16,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/user")
 public class UserController {
@@ -26,8 +31,18 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body("User registered successfully.");
     }
 
+    @PostMapping("/register/bulk")
+    ResponseEntity<List<BulkRegisterResultDTO>> registerAll(@RequestBody @Valid BulkRegisterRequestDTO data){
+        return ResponseEntity.ok(userService.createAll(data.users()));
+    }
+
     @PostMapping("/login")
     ResponseEntity<LoginResponseDTO> login(@RequestBody @Valid LoginRequestDTO data){
         return ResponseEntity.ok(userService.login(data));
     }
+
+    @PostMapping("/refresh")
+    ResponseEntity<LoginResponseDTO> refresh(@RequestBody @Valid RefreshRequestDTO data){
+        return ResponseEntity.ok(userService.refresh(data));
+    }
 }
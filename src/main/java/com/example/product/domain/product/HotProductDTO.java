@@ -0,0 +1,14 @@
+package com.example.product.domain.product;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.UUID;
+
+public record HotProductDTO(UUID productId,
+                            String name,
+                            @JsonSerialize(using = PriceSerializer.class) long price,
+                            long views) {
+    public HotProductDTO(Product product, long views) {
+        this(product.getProductId(), product.getName(), product.getPrice(), views);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.product.domain.product;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+public class PriceSerializer extends StdSerializer<Long> {
+
+    public PriceSerializer() {
+        super(Long.class);
+    }
+
+    @Override
+    public void serialize(Long cents, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeNumber(Prices.format(cents));
+    }
+}
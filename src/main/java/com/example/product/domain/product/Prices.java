@@ -0,0 +1,53 @@
+package com.example.product.domain.product;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public final class Prices {
+
+    private static final int CENTS_SCALE = 2;
+
+    private static final BigDecimal MIN_CENTS = BigDecimal.valueOf(Long.MIN_VALUE);
+
+    private static final BigDecimal MAX_CENTS = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private Prices() {}
+
+    public static long toCents(BigDecimal price) {
+        return toCents(price, RoundingMode.HALF_UP);
+    }
+
+    // filter bounds beyond the long range still mean "no bound on that side", so they are clamped instead of overflowing
+    public static long ceilToCents(BigDecimal price) {
+        return toCents(clamp(price), RoundingMode.CEILING);
+    }
+
+    public static long floorToCents(BigDecimal price) {
+        return toCents(clamp(price), RoundingMode.FLOOR);
+    }
+
+    public static String format(long cents) {
+        long units = cents / 100;
+        int fraction = (int) Math.abs(cents % 100);
+        String sign = cents < 0 && units == 0 ? "-" : "";
+        if (fraction % 10 == 0) {
+            return sign + units + "." + fraction / 10;
+        }
+        return sign + units + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+
+    private static long toCents(BigDecimal price, RoundingMode roundingMode) {
+        return price.movePointRight(CENTS_SCALE).setScale(0, roundingMode).longValueExact();
+    }
+
+    private static BigDecimal clamp(BigDecimal price) {
+        BigDecimal cents = price.movePointRight(CENTS_SCALE);
+        if (cents.compareTo(MAX_CENTS) > 0) {
+            return MAX_CENTS.movePointLeft(CENTS_SCALE);
+        }
+        if (cents.compareTo(MIN_CENTS) < 0) {
+            return MIN_CENTS.movePointLeft(CENTS_SCALE);
+        }
+        return price;
+    }
+}
@@ -1,28 +1,37 @@
 package com.example.product.domain.product;
 
+import com.example.product.infra.persistence.SecondLevelCacheConfiguration;
+import com.example.product.infra.persistence.UuidV7Generator;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.util.UUID;
 
 @Table(name = "product")
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfiguration.PRODUCT_REGION)
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @Setter
 public class Product {
     @Id
-    @GeneratedValue
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID productId;
 
     private String name;
 
-    private Double price;
+    @JsonSerialize(using = PriceSerializer.class)
+    private long price;
 }
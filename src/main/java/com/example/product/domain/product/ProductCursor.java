@@ -0,0 +1,28 @@
+package com.example.product.domain.product;
+
+import com.example.product.exception.InvalidProductQueryException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+// the sort key of the last row returned plus its id, so the next page starts right after it in index order
+public record ProductCursor(Object key, UUID productId) {
+
+    public static String encode(ProductSort sort, ProductResponseDTO last) {
+        String cursor = sort.getParameter() + "|" + last.productId() + "|" + sort.keyOf(last);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(ProductSort sort, String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 3);
+            if (parts.length == 3 && parts[0].equals(sort.getParameter())) {
+                return new ProductCursor(sort.parseKey(parts[2]), UUID.fromString(parts[1]));
+            }
+        } catch (IllegalArgumentException e) {
+            // falls through to the same error as a cursor issued for another sort
+        }
+        throw new InvalidProductQueryException("Invalid value provided for after. Use the X-Next-Cursor of a previous page with the same sort.");
+    }
+}
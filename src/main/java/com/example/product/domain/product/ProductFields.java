@@ -0,0 +1,57 @@
+package com.example.product.domain.product;
+
+import com.example.product.exception.InvalidProductQueryException;
+
+public record ProductFields(boolean name, boolean price) {
+
+    public static final ProductFields ALL = new ProductFields(true, true);
+
+    // productId is always written; each view adds the fields of the interfaces it extends
+    public interface ProductIdView {
+    }
+
+    public interface NameView extends ProductIdView {
+    }
+
+    public interface PriceView extends ProductIdView {
+    }
+
+    public interface AllView extends NameView, PriceView {
+    }
+
+    public static ProductFields fromParameter(String fields) {
+        if (fields == null) {
+            return ALL;
+        }
+        boolean name = false;
+        boolean price = false;
+        for (String field : fields.split(",")) {
+            switch (field.trim()) {
+                case "productId" -> {
+                }
+                case "name" -> name = true;
+                case "price" -> price = true;
+                default -> throw new InvalidProductQueryException("Invalid value provided for fields. The allowed values are \"productId\", \"name\" and \"price\", separated by commas.");
+            }
+        }
+        return new ProductFields(name, price);
+    }
+
+    public boolean isAll() {
+        return name && price;
+    }
+
+    public ProductFields including(String attribute) {
+        return new ProductFields(name || attribute.equals("name"), price || attribute.equals("price"));
+    }
+
+    public Class<?> view() {
+        if (name && price) {
+            return AllView.class;
+        }
+        if (name) {
+            return NameView.class;
+        }
+        return price ? PriceView.class : ProductIdView.class;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.product.domain.product;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record ProductLookupRequestDTO(
+        @NotEmpty(message = "The productIds are required.")
+        @Size(max = 500, message = "At most 500 productIds can be looked up at once.")
+        List<@NotNull(message = "The productIds must not contain null.") UUID> productIds) {
+}
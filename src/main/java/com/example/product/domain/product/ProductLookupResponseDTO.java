@@ -0,0 +1,7 @@
+package com.example.product.domain.product;
+
+import java.util.List;
+import java.util.UUID;
+
+public record ProductLookupResponseDTO(List<ProductResponseDTO> products, List<UUID> missingIds) {
+}
@@ -0,0 +1,6 @@
+package com.example.product.domain.product;
+
+import java.util.List;
+
+public record ProductPage(List<ProductResponseDTO> products, String nextCursor) {
+}
@@ -1,14 +1,18 @@
 package com.example.product.domain.product;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
+import java.math.BigDecimal;
+
 public record ProductRequestDTO(
         @NotBlank(message = "The name is required.")
         String name,
 
         @NotNull(message = "The price is required.")
         @Positive(message = "The price must be positive.")
-        Double price) {
+        @Digits(integer = 15, fraction = 2, message = "The price must have at most two decimal places.")
+        BigDecimal price) {
 }
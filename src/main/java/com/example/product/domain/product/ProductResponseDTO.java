@@ -1,8 +1,13 @@
 package com.example.product.domain.product;
 
+import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
 import java.util.UUID;
 
-public record ProductResponseDTO(UUID productId,String name, Double price) {
+public record ProductResponseDTO(@JsonView(ProductFields.ProductIdView.class) UUID productId,
+                                 @JsonView(ProductFields.NameView.class) String name,
+                                 @JsonView(ProductFields.PriceView.class) @JsonSerialize(using = PriceSerializer.class) long price) {
     public ProductResponseDTO(Product product) {
         this(product.getProductId(),product.getName(),product.getPrice());
     }
@@ -0,0 +1,39 @@
+package com.example.product.domain.product;
+
+import com.example.product.exception.InvalidProductQueryException;
+import lombok.Getter;
+
+@Getter
+public enum ProductSort {
+    NAME("name", "name", true),
+    NAME_DESC("-name", "name", false),
+    PRICE("price", "price", true),
+    PRICE_DESC("-price", "price", false);
+
+    private final String parameter;
+    private final String attribute;
+    private final boolean ascending;
+
+    ProductSort(String parameter, String attribute, boolean ascending) {
+        this.parameter = parameter;
+        this.attribute = attribute;
+        this.ascending = ascending;
+    }
+
+    public static ProductSort fromParameter(String parameter) {
+        for (ProductSort sort : values()) {
+            if (sort.parameter.equals(parameter)) {
+                return sort;
+            }
+        }
+        throw new InvalidProductQueryException("Invalid value provided for sort. The allowed values are \"name\", \"-name\", \"price\" or \"-price\".");
+    }
+
+    public Object keyOf(ProductResponseDTO product) {
+        return attribute.equals("price") ? product.price() : product.name();
+    }
+
+    Object parseKey(String key) {
+        return attribute.equals("price") ? Long.parseLong(key) : key;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.product.domain.product;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// nextCursor is only known once products has completed, so it has to be subscribed after it
+public record ProductStream(Flux<ProductResponseDTO> products, Mono<String> nextCursor) {
+}
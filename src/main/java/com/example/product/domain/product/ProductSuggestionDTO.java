@@ -0,0 +1,9 @@
+package com.example.product.domain.product;
+
+import java.util.UUID;
+
+public record ProductSuggestionDTO(UUID productId, String name) {
+    public ProductSuggestionDTO(ProductResponseDTO product) {
+        this(product.productId(), product.name());
+    }
+}
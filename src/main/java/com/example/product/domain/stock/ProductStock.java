@@ -0,0 +1,55 @@
+package com.example.product.domain.stock;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.util.UUID;
+
+// kept out of Product so stock writes don't evict the product caches
+@Table(name = "product_stock")
+@Entity
+@NoArgsConstructor
+@Getter
+public class ProductStock implements Persistable<UUID> {
+    @Id
+    private UUID productId;
+
+    private long available;
+
+    private long reserved;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean persisted;
+
+    public ProductStock(UUID productId, long available, long reserved) {
+        this.productId = productId;
+        this.available = available;
+        this.reserved = reserved;
+    }
+
+    @Override
+    public UUID getId() {
+        return productId;
+    }
+
+    // a concurrent restock must fail on the primary key instead of being merged over
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markPersisted() {
+        persisted = true;
+    }
+}
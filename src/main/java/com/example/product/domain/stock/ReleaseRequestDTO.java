@@ -0,0 +1,8 @@
+package com.example.product.domain.stock;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record ReleaseRequestDTO(
+        @NotBlank(message = "The reservation id is required.")
+        String reservationId
+) {}
@@ -0,0 +1,6 @@
+package com.example.product.domain.stock;
+
+import java.time.Instant;
+
+public record ReservationResponseDTO(String reservationId, Instant expiresAt) {
+}
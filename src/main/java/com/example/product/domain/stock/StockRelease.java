@@ -0,0 +1,27 @@
+package com.example.product.domain.stock;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// a released reservation, kept until its token expires so it cannot be released twice
+@Table(name = "stock_release")
+@Entity
+@NoArgsConstructor
+@Getter
+public class StockRelease {
+    @Id
+    private UUID reservationId;
+
+    private Instant expiresAt;
+
+    public StockRelease(UUID reservationId, Instant expiresAt) {
+        this.reservationId = reservationId;
+        this.expiresAt = expiresAt;
+    }
+}
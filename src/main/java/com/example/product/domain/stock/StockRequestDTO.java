@@ -0,0 +1,10 @@
+package com.example.product.domain.stock;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record StockRequestDTO(
+        @NotNull(message = "The quantity is required.")
+        @Positive(message = "The quantity must be positive.")
+        Long quantity) {
+}
@@ -0,0 +1,7 @@
+package com.example.product.domain.stock;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record StockReservation(UUID reservationId, String owner, UUID productId, long quantity, Instant expiresAt) {
+}
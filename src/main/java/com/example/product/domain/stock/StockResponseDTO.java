@@ -0,0 +1,6 @@
+package com.example.product.domain.stock;
+
+import java.util.UUID;
+
+public record StockResponseDTO(UUID productId, long available, long reserved) {
+}
@@ -0,0 +1,13 @@
+package com.example.product.domain.user;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkRegisterRequestDTO(
+        @NotEmpty(message = "The users are required.")
+        @Size(max = 1000, message = "At most 1000 users can be registered at once.")
+        List<@Valid RegisterRequestDTO> users
+) {}
@@ -0,0 +1,7 @@
+package com.example.product.domain.user;
+
+public enum BulkRegisterStatus {
+    CREATED,
+    USERNAME_IN_USE,
+    DUPLICATED_IN_REQUEST
+}
@@ -0,0 +1,8 @@
+package com.example.product.domain.user;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshRequestDTO(
+        @NotBlank(message = "The refresh token is required.")
+        String refreshToken
+) {}
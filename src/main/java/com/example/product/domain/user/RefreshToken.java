@@ -0,0 +1,51 @@
+package com.example.product.domain.user;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+@Table(name = "refresh_token")
+@Entity
+@NoArgsConstructor
+@Getter
+public class RefreshToken implements Persistable<String> {
+    @Id
+    private String tokenHash;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    private Instant expiresAt;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean persisted;
+
+    public RefreshToken(String tokenHash, User user, Instant expiresAt) {
+        this.tokenHash = tokenHash;
+        this.user = user;
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String getId() {
+        return tokenHash;
+    }
+
+    // the hash is assigned by us, so tell Spring Data to persist instead of merging (which would SELECT first)
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markPersisted() {
+        persisted = true;
+    }
+}
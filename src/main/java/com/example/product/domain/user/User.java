@@ -1,32 +1,39 @@
 package com.example.product.domain.user;
 
+import com.example.product.infra.persistence.SecondLevelCacheConfiguration;
+import com.example.product.infra.persistence.UuidV7Generator;
+import jakarta.persistence.Column;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UuidGenerator;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.List;
 import java.util.UUID;
 
 @Table(name = "users")
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfiguration.USER_REGION)
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @Setter
 public class User implements UserDetails {
     @Id
-    @GeneratedValue
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID userId;
 
+    @Column(unique = true)
     private String username;
 
     private String password;
@@ -35,11 +42,7 @@ public class User implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        if (role == UserRole.ADMIN){
-            return List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_COMMON"));
-        }else {
-            return List.of(new SimpleGrantedAuthority("ROLE_COMMON"));
-        }
+        return role.getAuthorities();
     }
 
     @Override
@@ -0,0 +1,4 @@
+package com.example.product.domain.user;
+
+public record UserAuthorityDTO(String username, UserRole role) {
+}
@@ -1,13 +1,22 @@
 package com.example.product.domain.user;
 
 import lombok.Getter;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Arrays;
+import java.util.List;
 
 @Getter
 public enum UserRole {
-    ADMIN("admin"),
-    COMMON("common");
+    ADMIN("admin", "ROLE_ADMIN", "ROLE_COMMON"),
+    COMMON("common", "ROLE_COMMON");
 
     private String role;
 
-    UserRole(String role){this.role = role;}
+    private List<SimpleGrantedAuthority> authorities;
+
+    UserRole(String role, String... authorities){
+        this.role = role;
+        this.authorities = Arrays.stream(authorities).map(SimpleGrantedAuthority::new).toList();
+    }
 }
@@ -0,0 +1,7 @@
+package com.example.product.exception;
+
+public class InvalidProductQueryException extends RuntimeException{
+    public InvalidProductQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.product.exception;
+
+public class InvalidRefreshTokenException extends RuntimeException{
+    public InvalidRefreshTokenException(String message) {super(message);}
+}
@@ -0,0 +1,7 @@
+package com.example.product.exception;
+
+public class InvalidStockReleaseException extends RuntimeException{
+    public InvalidStockReleaseException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.product.infra.aot;
+
+import com.example.product.domain.error.ValidationErrorDTO;
+import com.example.product.domain.user.BulkRegisterResultDTO;
+import com.example.product.domain.user.BulkRegisterStatus;
+import com.example.product.domain.user.UserRole;
+import com.example.product.infra.persistence.UuidV7Generator;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.stream.Stream;
+
+public class ProductApiRuntimeHints implements RuntimeHintsRegistrar {
+
+    private final BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Hibernate instantiates these from annotation attributes and setting names that AOT does not follow
+        hints.reflection().registerType(UuidV7Generator.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(JCacheRegionFactory.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        // ordinal mapping in Hibernate and name binding in Jackson both go through values()
+        hints.reflection().registerType(UserRole.class, MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.DECLARED_FIELDS);
+        hints.reflection().registerType(BulkRegisterStatus.class, MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.DECLARED_FIELDS);
+
+        bindingHints.registerReflectionHints(hints.reflection(), ValidationErrorDTO.class, BulkRegisterResultDTO.class);
+
+        Stream.of("PayloadClaimsHolder", "HeaderClaimsHolder", "BasicHeader", "PayloadImpl")
+                .map(name -> TypeReference.of("com.auth0.jwt.impl." + name))
+                .forEach(type -> hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_METHODS));
+    }
+}
@@ -0,0 +1,368 @@
+package com.example.product.infra.catalog;
+
+import com.example.product.domain.product.ProductResponseDTO;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+final class CatalogSnapshot {
+
+    // same order as the SQL path's "ORDER BY name, product_id"; Postgres compares uuids as unsigned bytes
+    static final Comparator<ProductResponseDTO> BY_NAME = Comparator.comparing(ProductResponseDTO::name)
+            .thenComparing(ProductResponseDTO::productId, CatalogSnapshot::compareUnsigned);
+
+    private static final int SCAN_CHUNK_SIZE = 8_192;
+
+    private static final int NOT_FOUND = -1;
+
+    private final int size;
+
+    private final long[] idHigh;
+    private final long[] idLow;
+    private final long[] prices;
+
+    private final char[] names;
+    private final int[] nameOffsets;
+    private final char[] lowerNames;
+    private final int[] lowerNameOffsets;
+    private final long[] nameSignatures;
+
+    private final int[] priceOrder;
+    private final long[] sortedPrices;
+
+    private final int[] lowerNameOrder;
+
+    private final int[] idSlots;
+    private final int idMask;
+
+    private final AtomicLongArray superseded;
+
+    private CatalogSnapshot(List<ProductResponseDTO> products) {
+        size = products.size();
+        idHigh = new long[size];
+        idLow = new long[size];
+        prices = new long[size];
+        nameOffsets = new int[size + 1];
+        lowerNameOffsets = new int[size + 1];
+        nameSignatures = new long[size];
+
+        String[] lowered = new String[size];
+        int nameChars = 0;
+        int lowerChars = 0;
+        for (int row = 0; row < size; row++) {
+            ProductResponseDTO product = products.get(row);
+            idHigh[row] = product.productId().getMostSignificantBits();
+            idLow[row] = product.productId().getLeastSignificantBits();
+            prices[row] = product.price();
+            lowered[row] = product.name().toLowerCase(Locale.ROOT);
+            nameChars += product.name().length();
+            lowerChars += lowered[row].length();
+        }
+
+        names = new char[nameChars];
+        lowerNames = new char[lowerChars];
+        for (int row = 0; row < size; row++) {
+            String name = products.get(row).name();
+            name.getChars(0, name.length(), names, nameOffsets[row]);
+            nameOffsets[row + 1] = nameOffsets[row] + name.length();
+
+            lowered[row].getChars(0, lowered[row].length(), lowerNames, lowerNameOffsets[row]);
+            lowerNameOffsets[row + 1] = lowerNameOffsets[row] + lowered[row].length();
+            nameSignatures[row] = signatureOf(lowerNames, lowerNameOffsets[row], lowerNameOffsets[row + 1]);
+        }
+
+        priceOrder = IntStream.range(0, size).boxed()
+                .sorted(Comparator.comparingLong(row -> prices[row]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        sortedPrices = new long[size];
+        for (int i = 0; i < size; i++) {
+            sortedPrices[i] = prices[priceOrder[i]];
+        }
+
+        lowerNameOrder = IntStream.range(0, size).boxed()
+                .sorted(this::compareLowerNames)
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        int capacity = Integer.highestOneBit(Math.max(2, size * 2 - 1)) << 1;
+        idSlots = new int[capacity];
+        idMask = capacity - 1;
+        for (int row = 0; row < size; row++) {
+            int slot = slotOf(idHigh[row], idLow[row]);
+            while (idSlots[slot] != 0) {
+                slot = (slot + 1) & idMask;
+            }
+            idSlots[slot] = row + 1;
+        }
+
+        superseded = new AtomicLongArray((size + 63) >>> 6);
+    }
+
+    static CatalogSnapshot build(Collection<ProductResponseDTO> products) {
+        List<ProductResponseDTO> sorted = new ArrayList<>(products);
+        sorted.sort(BY_NAME);
+        return new CatalogSnapshot(sorted);
+    }
+
+    int size() {
+        return size;
+    }
+
+    List<ProductResponseDTO> query(char[] lowerNeedle, Long minPrice, Long maxPrice) {
+        int[] rows = selectRows(lowerNeedle, minPrice, maxPrice);
+        List<ProductResponseDTO> result = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            result.add(toResponse(row));
+        }
+        return result;
+    }
+
+    int[] selectRows(char[] lowerNeedle, Long minPrice, Long maxPrice) {
+        int[] candidates = null;
+        if (minPrice != null || maxPrice != null) {
+            int from = minPrice == null ? 0 : lowerBound(minPrice);
+            int to = maxPrice == null ? size : upperBound(maxPrice);
+            if (from >= to) {
+                return new int[0];
+            }
+            candidates = Arrays.copyOfRange(priceOrder, from, to);
+            Arrays.sort(candidates);
+        }
+
+        int candidateCount = candidates == null ? size : candidates.length;
+        NameScanTask scan = new NameScanTask(candidates, 0, candidateCount, lowerNeedle,
+                lowerNeedle == null ? 0 : signatureOf(lowerNeedle, 0, lowerNeedle.length));
+        return candidateCount <= SCAN_CHUNK_SIZE ? scan.compute() : ForkJoinPool.commonPool().invoke(scan);
+    }
+
+    List<ProductResponseDTO> suggest(char[] lowerPrefix, int limit) {
+        List<ProductResponseDTO> result = new ArrayList<>(Math.min(limit, 16));
+        for (int i = prefixLowerBound(lowerPrefix); i < size && result.size() < limit; i++) {
+            int row = lowerNameOrder[i];
+            if (compareLowerNamePrefix(row, lowerPrefix) != 0) {
+                break;
+            }
+            if (!isSuperseded(row)) {
+                result.add(toResponse(row));
+            }
+        }
+        return result;
+    }
+
+    List<ProductResponseDTO> liveProductsExcept(Set<UUID> excludedIds) {
+        long[] excluded = new long[(size + 63) >>> 6];
+        for (UUID id : excludedIds) {
+            int row = rowOf(id);
+            if (row != NOT_FOUND) {
+                excluded[row >>> 6] |= 1L << row;
+            }
+        }
+        List<ProductResponseDTO> live = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            if ((excluded[row >>> 6] & (1L << row)) == 0) {
+                live.add(toResponse(row));
+            }
+        }
+        return live;
+    }
+
+    void markSuperseded(UUID id) {
+        int row = rowOf(id);
+        if (row != NOT_FOUND) {
+            superseded.getAndUpdate(row >>> 6, bits -> bits | (1L << row));
+        }
+    }
+
+    long footprintBytes() {
+        return 8L * (idHigh.length + idLow.length + prices.length + sortedPrices.length + nameSignatures.length + superseded.length())
+                + 2L * (names.length + lowerNames.length)
+                + 4L * (nameOffsets.length + lowerNameOffsets.length + priceOrder.length + lowerNameOrder.length + idSlots.length);
+    }
+
+    private ProductResponseDTO toResponse(int row) {
+        String name = new String(names, nameOffsets[row], nameOffsets[row + 1] - nameOffsets[row]);
+        return new ProductResponseDTO(new UUID(idHigh[row], idLow[row]), name, prices[row]);
+    }
+
+    private boolean isSuperseded(int row) {
+        return (superseded.get(row >>> 6) & (1L << row)) != 0;
+    }
+
+    private boolean lowerNameContains(int row, char[] needle) {
+        if (needle.length == 0) {
+            return true;
+        }
+        int last = lowerNameOffsets[row + 1] - needle.length;
+        char first = needle[0];
+        outer:
+        for (int i = lowerNameOffsets[row]; i <= last; i++) {
+            if (lowerNames[i] != first) {
+                continue;
+            }
+            for (int j = 1; j < needle.length; j++) {
+                if (lowerNames[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    static int compareUnsigned(UUID left, UUID right) {
+        int high = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    }
+
+    // same order as the SQL suggestions' "ORDER BY lower(name) COLLATE "C", product_id"
+    private int compareLowerNames(int left, int right) {
+        int byName = Arrays.compare(lowerNames, lowerNameOffsets[left], lowerNameOffsets[left + 1],
+                lowerNames, lowerNameOffsets[right], lowerNameOffsets[right + 1]);
+        if (byName != 0) {
+            return byName;
+        }
+        int high = Long.compareUnsigned(idHigh[left], idHigh[right]);
+        return high != 0 ? high : Long.compareUnsigned(idLow[left], idLow[right]);
+    }
+
+    // compares only the first prefix.length chars, so every name starting with the prefix compares as equal
+    private int compareLowerNamePrefix(int row, char[] lowerPrefix) {
+        int from = lowerNameOffsets[row];
+        int to = Math.min(lowerNameOffsets[row + 1], from + lowerPrefix.length);
+        return Arrays.compare(lowerNames, from, to, lowerPrefix, 0, lowerPrefix.length);
+    }
+
+    private int prefixLowerBound(char[] lowerPrefix) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareLowerNamePrefix(lowerNameOrder[mid], lowerPrefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long signatureOf(char[] chars, int from, int to) {
+        long signature = 0;
+        for (int i = from; i < to; i++) {
+            signature |= 1L << (chars[i] & 31);
+            if (i + 1 < to) {
+                signature |= 1L << (32 + ((chars[i] * 31 + chars[i + 1]) & 31));
+            }
+        }
+        return signature;
+    }
+
+    private int lowerBound(long price) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedPrices[mid] < price) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int upperBound(long price) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedPrices[mid] <= price) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int rowOf(UUID id) {
+        long high = id.getMostSignificantBits();
+        long low = id.getLeastSignificantBits();
+        int slot = slotOf(high, low);
+        int entry;
+        while ((entry = idSlots[slot]) != 0) {
+            int row = entry - 1;
+            if (idHigh[row] == high && idLow[row] == low) {
+                return row;
+            }
+            slot = (slot + 1) & idMask;
+        }
+        return NOT_FOUND;
+    }
+
+    private int slotOf(long high, long low) {
+        long hash = high ^ low;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return (int) hash & idMask;
+    }
+
+    private final class NameScanTask extends RecursiveTask<int[]> {
+
+        private final int[] candidates;
+        private final int from;
+        private final int to;
+        private final char[] lowerNeedle;
+        private final long needleSignature;
+
+        private NameScanTask(int[] candidates, int from, int to, char[] lowerNeedle, long needleSignature) {
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+            this.lowerNeedle = lowerNeedle;
+            this.needleSignature = needleSignature;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= SCAN_CHUNK_SIZE) {
+                return scan();
+            }
+            int middle = (from + to) >>> 1;
+            NameScanTask left = new NameScanTask(candidates, from, middle, lowerNeedle, needleSignature);
+            NameScanTask right = new NameScanTask(candidates, middle, to, lowerNeedle, needleSignature);
+            left.fork();
+            int[] rightRows = right.compute();
+            int[] leftRows = left.join();
+
+            int[] rows = Arrays.copyOf(leftRows, leftRows.length + rightRows.length);
+            System.arraycopy(rightRows, 0, rows, leftRows.length, rightRows.length);
+            return rows;
+        }
+
+        private int[] scan() {
+            int[] matches = new int[Math.min(to - from, 64)];
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                int row = candidates == null ? i : candidates[i];
+                if (isSuperseded(row)) {
+                    continue;
+                }
+                if (lowerNeedle != null
+                        && ((nameSignatures[row] & needleSignature) != needleSignature || !lowerNameContains(row, lowerNeedle))) {
+                    continue;
+                }
+                if (count == matches.length) {
+                    matches = Arrays.copyOf(matches, Math.min(to - from, count * 2));
+                }
+                matches[count++] = row;
+            }
+            return count == matches.length ? matches : Arrays.copyOf(matches, count);
+        }
+    }
+}
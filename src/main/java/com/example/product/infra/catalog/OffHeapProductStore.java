@@ -0,0 +1,291 @@
+package com.example.product.infra.catalog;
+
+import com.example.product.domain.product.ProductResponseDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+@Component
+@ConditionalOnProperty(name = "productApi.catalog.off-heap.enabled", havingValue = "true")
+public class OffHeapProductStore {
+
+    private static final int RECORD_BYTES = 40;
+    private static final int ID_HIGH = 0;
+    private static final int ID_LOW = 8;
+    private static final int PRICE = 16;
+    private static final int NAME_OFFSET = 24;
+    private static final int NAME_LENGTH = 28;
+    private static final int EXPIRES_AT = 32;
+
+    private static final int EMPTY = 0;
+    private static final int TOMBSTONE = -1;
+
+    private static final int MAX_NAME_BYTES = 4 * 250;
+
+    private final StampedLock lock = new StampedLock();
+
+    private final ThreadLocal<byte[]> nameScratch = ThreadLocal.withInitial(() -> new byte[MAX_NAME_BYTES]);
+
+    @Value("${productApi.catalog.off-heap.max-products:5000000}")
+    private int maxProducts = 5_000_000;
+
+    // other instances never tell this one about their updates, so entries only live this long
+    @Value("${productApi.catalog.off-heap.ttl:PT30S}")
+    private Duration ttl = Duration.ofSeconds(30);
+
+    private long nextExpirySweep;
+
+    private ByteBuffer records = ByteBuffer.allocateDirect(1024 * RECORD_BYTES);
+    private int recordsUsed;
+    private int[] freeRecords = new int[16];
+    private int freeRecordCount;
+
+    private ByteBuffer index = ByteBuffer.allocateDirect(2048 * Integer.BYTES);
+    private int indexMask = 2047;
+    private int indexUsed;
+    private int size;
+
+    private ByteBuffer names = ByteBuffer.allocateDirect(64 * 1024);
+    private int namesUsed;
+    private int namesGarbage;
+
+    public ProductResponseDTO get(UUID productId) {
+        long high = productId.getMostSignificantBits();
+        long low = productId.getLeastSignificantBits();
+
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                ProductResponseDTO product = read(high, low, productId, System.nanoTime());
+                if (lock.validate(stamp)) {
+                    return product;
+                }
+            } catch (RuntimeException tornRead) {
+                // a writer moved the buffers underneath us; retry under the read lock
+            }
+        }
+
+        stamp = lock.readLock();
+        try {
+            return read(high, low, productId, System.nanoTime());
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public void put(ProductResponseDTO product) {
+        byte[] name = product.name().getBytes(StandardCharsets.UTF_8);
+        long high = product.productId().getMostSignificantBits();
+        long low = product.productId().getLeastSignificantBits();
+
+        long now = System.nanoTime();
+        long stamp = lock.writeLock();
+        try {
+            int position = indexPositionOf(high, low);
+            int record;
+            if (position >= 0) {
+                record = index.getInt(position * Integer.BYTES) - 1;
+                namesGarbage += records.getInt(record * RECORD_BYTES + NAME_LENGTH);
+            } else {
+                if (size >= maxProducts && now - nextExpirySweep >= 0) {
+                    removeExpired(now);
+                    nextExpirySweep = now + ttl.toNanos();
+                }
+                if (size >= maxProducts) {
+                    return;
+                }
+                record = allocateRecord();
+                insertIntoIndex(high, low, record);
+                size++;
+            }
+
+            int base = record * RECORD_BYTES;
+            records.putLong(base + ID_HIGH, high);
+            records.putLong(base + ID_LOW, low);
+            records.putLong(base + PRICE, product.price());
+            records.putInt(base + NAME_OFFSET, appendName(name));
+            records.putInt(base + NAME_LENGTH, name.length);
+            records.putLong(base + EXPIRES_AT, now + ttl.toNanos());
+
+            if (namesGarbage > namesUsed / 2 && namesGarbage > 1024 * 1024) {
+                compactNames();
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void remove(UUID productId) {
+        long stamp = lock.writeLock();
+        try {
+            int position = indexPositionOf(productId.getMostSignificantBits(), productId.getLeastSignificantBits());
+            if (position >= 0) {
+                removeAt(position);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long footprintBytes() {
+        long stamp = lock.readLock();
+        try {
+            return (long) records.capacity() + index.capacity() + names.capacity();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private ProductResponseDTO read(long high, long low, UUID productId, long now) {
+        int position = indexPositionOf(high, low);
+        if (position < 0) {
+            return null;
+        }
+        int base = (index.getInt(position * Integer.BYTES) - 1) * RECORD_BYTES;
+        if (now - records.getLong(base + EXPIRES_AT) >= 0) {
+            return null;
+        }
+        long price = records.getLong(base + PRICE);
+        int nameOffset = records.getInt(base + NAME_OFFSET);
+        int nameLength = records.getInt(base + NAME_LENGTH);
+        if (nameLength > MAX_NAME_BYTES) {
+            throw new IllegalStateException("Corrupted name length.");
+        }
+
+        byte[] scratch = nameScratch.get();
+        names.get(nameOffset, scratch, 0, nameLength);
+        return new ProductResponseDTO(productId, new String(scratch, 0, nameLength, StandardCharsets.UTF_8), price);
+    }
+
+    private void removeAt(int position) {
+        int record = index.getInt(position * Integer.BYTES) - 1;
+        index.putInt(position * Integer.BYTES, TOMBSTONE);
+        namesGarbage += records.getInt(record * RECORD_BYTES + NAME_LENGTH);
+
+        if (freeRecordCount == freeRecords.length) {
+            freeRecords = Arrays.copyOf(freeRecords, freeRecords.length * 2);
+        }
+        freeRecords[freeRecordCount++] = record;
+        size--;
+    }
+
+    private void removeExpired(long now) {
+        for (int position = 0; position <= indexMask; position++) {
+            int entry = index.getInt(position * Integer.BYTES);
+            if (entry != EMPTY && entry != TOMBSTONE && now - records.getLong((entry - 1) * RECORD_BYTES + EXPIRES_AT) >= 0) {
+                removeAt(position);
+            }
+        }
+    }
+
+    private int indexPositionOf(long high, long low) {
+        int position = slotOf(high, low, indexMask);
+        int entry;
+        while ((entry = index.getInt(position * Integer.BYTES)) != EMPTY) {
+            if (entry != TOMBSTONE) {
+                int base = (entry - 1) * RECORD_BYTES;
+                if (records.getLong(base + ID_HIGH) == high && records.getLong(base + ID_LOW) == low) {
+                    return position;
+                }
+            }
+            position = (position + 1) & indexMask;
+        }
+        return -1;
+    }
+
+    private void insertIntoIndex(long high, long low, int record) {
+        if ((indexUsed + 1) * 2 > indexMask + 1) {
+            rehash(size * 2 + 2 > indexMask + 1 ? (indexMask + 1) * 2 : indexMask + 1);
+        }
+        int position = slotOf(high, low, indexMask);
+        while (index.getInt(position * Integer.BYTES) != EMPTY) {
+            position = (position + 1) & indexMask;
+        }
+        index.putInt(position * Integer.BYTES, record + 1);
+        indexUsed++;
+    }
+
+    private void rehash(int capacity) {
+        ByteBuffer rehashed = ByteBuffer.allocateDirect(capacity * Integer.BYTES);
+        int mask = capacity - 1;
+        for (int position = 0; position <= indexMask; position++) {
+            int entry = index.getInt(position * Integer.BYTES);
+            if (entry == EMPTY || entry == TOMBSTONE) {
+                continue;
+            }
+            int base = (entry - 1) * RECORD_BYTES;
+            int target = slotOf(records.getLong(base + ID_HIGH), records.getLong(base + ID_LOW), mask);
+            while (rehashed.getInt(target * Integer.BYTES) != EMPTY) {
+                target = (target + 1) & mask;
+            }
+            rehashed.putInt(target * Integer.BYTES, entry);
+        }
+        index = rehashed;
+        indexMask = mask;
+        indexUsed = size;
+    }
+
+    private int allocateRecord() {
+        if (freeRecordCount > 0) {
+            return freeRecords[--freeRecordCount];
+        }
+        if ((recordsUsed + 1) * RECORD_BYTES > records.capacity()) {
+            records = grow(records, records.capacity() * 2);
+        }
+        return recordsUsed++;
+    }
+
+    private int appendName(byte[] name) {
+        if (namesUsed + name.length > names.capacity()) {
+            names = grow(names, Math.max(names.capacity() * 2, namesUsed + name.length));
+        }
+        int offset = namesUsed;
+        names.put(offset, name);
+        namesUsed += name.length;
+        return offset;
+    }
+
+    private void compactNames() {
+        ByteBuffer compacted = ByteBuffer.allocateDirect(Math.max(64 * 1024, (namesUsed - namesGarbage) * 2));
+        int used = 0;
+        for (int position = 0; position <= indexMask; position++) {
+            int entry = index.getInt(position * Integer.BYTES);
+            if (entry == EMPTY || entry == TOMBSTONE) {
+                continue;
+            }
+            int base = (entry - 1) * RECORD_BYTES;
+            int length = records.getInt(base + NAME_LENGTH);
+            compacted.put(used, names, records.getInt(base + NAME_OFFSET), length);
+            records.putInt(base + NAME_OFFSET, used);
+            used += length;
+        }
+        names = compacted;
+        namesUsed = used;
+        namesGarbage = 0;
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int capacity) {
+        ByteBuffer grown = ByteBuffer.allocateDirect(capacity);
+        grown.put(0, buffer, 0, buffer.capacity());
+        return grown;
+    }
+
+    private static int slotOf(long high, long low, int mask) {
+        long hash = high ^ low;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return (int) hash & mask;
+    }
+}
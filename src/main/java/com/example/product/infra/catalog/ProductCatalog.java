@@ -0,0 +1,169 @@
+package com.example.product.infra.catalog;
+
+import com.example.product.domain.product.ProductResponseDTO;
+import com.example.product.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+@ConditionalOnProperty(name = "productApi.catalog.in-memory.enabled", havingValue = "true")
+public class ProductCatalog {
+
+    private static final ProductResponseDTO REMOVED = new ProductResponseDTO(null, null, 0);
+
+    private static final Comparator<ProductResponseDTO> BY_NAME = CatalogSnapshot.BY_NAME;
+
+    private static final Comparator<ProductResponseDTO> BY_LOWER_NAME = Comparator.comparing((ProductResponseDTO product) -> product.name().toLowerCase(Locale.ROOT))
+            .thenComparing(ProductResponseDTO::productId, CatalogSnapshot::compareUnsigned);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Value("${productApi.catalog.in-memory.rebuild-threshold:4096}")
+    private int rebuildThreshold = 4096;
+
+    private volatile CatalogState state = new CatalogState(null, new ConcurrentHashMap<>());
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        load(productRepository.findAllForCatalog());
+    }
+
+    public void load(Collection<ProductResponseDTO> products) {
+        CatalogSnapshot snapshot = CatalogSnapshot.build(products);
+        synchronized (this) {
+            ConcurrentHashMap<UUID, ProductResponseDTO> changes = state.changes();
+            changes.keySet().forEach(snapshot::markSuperseded);
+            state = new CatalogState(snapshot, changes);
+        }
+    }
+
+    public boolean isLoaded() {
+        return state.snapshot() != null;
+    }
+
+    public void upsert(ProductResponseDTO product) {
+        apply(product.productId(), product);
+    }
+
+    public void remove(UUID productId) {
+        apply(productId, REMOVED);
+    }
+
+    public List<ProductResponseDTO> query(String name, Long minPrice, Long maxPrice) {
+        CatalogState current = state;
+        String lowerName = name == null ? null : name.toLowerCase(Locale.ROOT);
+
+        List<ProductResponseDTO> fromSnapshot = current.snapshot().query(
+                lowerName == null ? null : lowerName.toCharArray(), minPrice, maxPrice);
+        if (current.changes().isEmpty()) {
+            return fromSnapshot;
+        }
+
+        List<ProductResponseDTO> fromChanges = current.changes().values().stream()
+                .filter(product -> product != REMOVED && matches(product, lowerName, minPrice, maxPrice))
+                .sorted(BY_NAME)
+                .toList();
+        return merge(fromSnapshot, fromChanges, BY_NAME);
+    }
+
+    public List<ProductResponseDTO> suggest(String prefix, int limit) {
+        CatalogState current = state;
+        String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+
+        List<ProductResponseDTO> fromSnapshot = current.snapshot().suggest(lowerPrefix.toCharArray(), limit);
+        if (current.changes().isEmpty()) {
+            return fromSnapshot;
+        }
+
+        List<ProductResponseDTO> fromChanges = current.changes().values().stream()
+                .filter(product -> product != REMOVED && product.name().toLowerCase(Locale.ROOT).startsWith(lowerPrefix))
+                .sorted(BY_LOWER_NAME)
+                .limit(limit)
+                .toList();
+        List<ProductResponseDTO> merged = merge(fromSnapshot, fromChanges, BY_LOWER_NAME);
+        return merged.size() > limit ? merged.subList(0, limit) : merged;
+    }
+
+    public long footprintBytes() {
+        CatalogSnapshot snapshot = state.snapshot();
+        return snapshot == null ? 0 : snapshot.footprintBytes();
+    }
+
+    private synchronized void apply(UUID productId, ProductResponseDTO product) {
+        CatalogState current = state;
+        current.changes().put(productId, product);
+        if (current.snapshot() == null) {
+            return;
+        }
+        current.snapshot().markSuperseded(productId);
+
+        if (current.changes().size() >= rebuildThreshold && rebuilding.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(this::rebuild);
+        }
+    }
+
+    private void rebuild() {
+        try {
+            CatalogState captured;
+            Map<UUID, ProductResponseDTO> folded;
+            synchronized (this) {
+                captured = state;
+                folded = Map.copyOf(captured.changes());
+            }
+
+            List<ProductResponseDTO> products = captured.snapshot().liveProductsExcept(folded.keySet());
+            folded.values().stream().filter(product -> product != REMOVED).forEach(products::add);
+            CatalogSnapshot rebuilt = CatalogSnapshot.build(products);
+
+            synchronized (this) {
+                ConcurrentHashMap<UUID, ProductResponseDTO> remaining = new ConcurrentHashMap<>();
+                state.changes().forEach((productId, product) -> {
+                    if (folded.get(productId) != product) {
+                        remaining.put(productId, product);
+                        rebuilt.markSuperseded(productId);
+                    }
+                });
+                state = new CatalogState(rebuilt, remaining);
+            }
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private static boolean matches(ProductResponseDTO product, String lowerName, Long minPrice, Long maxPrice) {
+        return (lowerName == null || product.name().toLowerCase(Locale.ROOT).contains(lowerName))
+                && (minPrice == null || minPrice <= product.price())
+                && (maxPrice == null || maxPrice >= product.price());
+    }
+
+    private static List<ProductResponseDTO> merge(List<ProductResponseDTO> left, List<ProductResponseDTO> right, Comparator<ProductResponseDTO> order) {
+        List<ProductResponseDTO> merged = new ArrayList<>(left.size() + right.size());
+        int i = 0;
+        int j = 0;
+        while (i < left.size() && j < right.size()) {
+            if (order.compare(left.get(i), right.get(j)) <= 0) {
+                merged.add(left.get(i++));
+            } else {
+                merged.add(right.get(j++));
+            }
+        }
+        merged.addAll(left.subList(i, left.size()));
+        merged.addAll(right.subList(j, right.size()));
+        return merged;
+    }
+
+    private record CatalogState(CatalogSnapshot snapshot, ConcurrentHashMap<UUID, ProductResponseDTO> changes) {
+    }
+}
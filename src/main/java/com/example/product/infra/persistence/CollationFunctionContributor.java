@@ -0,0 +1,20 @@
+package com.example.product.infra.persistence;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.query.sqm.produce.function.StandardFunctionReturnTypeResolvers;
+
+// collate_c(x) compares x by code point, so a lower(name) COLLATE "C" index serves both the prefix LIKE and the ORDER BY;
+// H2 has no per-expression collation but already compares strings by code point
+public class CollationFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        String pattern = functionContributions.getDialect() instanceof PostgreSQLDialect ? "(?1 collate \"C\")" : "(?1)";
+        functionContributions.getFunctionRegistry().patternDescriptorBuilder("collate_c", pattern)
+                .setExactArgumentCount(1)
+                .setReturnTypeResolver(StandardFunctionReturnTypeResolvers.useArgType(1))
+                .register();
+    }
+}
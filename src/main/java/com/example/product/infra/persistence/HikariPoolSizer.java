@@ -0,0 +1,33 @@
+package com.example.product.infra.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "productApi.datasource.pool.size-from-cores", havingValue = "true")
+public class HikariPoolSizer implements BeanPostProcessor {
+
+    @Autowired
+    private Environment environment;
+
+    // (cores * 2) + 1: enough connections to keep every database core busy while others wait on I/O, and no more
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource
+                && !"replica".equals(dataSource.getPoolName())
+                && !environment.containsProperty("spring.datasource.hikari.maximum-pool-size")) {
+            // the app host's cores say nothing about the database server, so there is no fallback
+            Integer databaseCores = environment.getProperty("productApi.datasource.pool.database-cores", Integer.class);
+            if (databaseCores == null || databaseCores < 1) {
+                throw new IllegalStateException("productApi.datasource.pool.database-cores must be set to the database server's core count when productApi.datasource.pool.size-from-cores is true.");
+            }
+            dataSource.setMaximumPoolSize(databaseCores * 2 + 1);
+            dataSource.setMinimumIdle(databaseCores * 2 + 1);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.product.infra.persistence;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+// the pool is kept out of the context: a ConnectionFactory bean makes Boot back off from the JDBC DataSource
+@Configuration
+@ConditionalOnProperty(name = "productApi.reactive.r2dbc.url")
+public class ReactiveDatabaseConfiguration implements DisposableBean {
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    DatabaseClient reactiveDatabaseClient(@Value("${productApi.reactive.r2dbc.url}") String url,
+                                          @Value("${spring.datasource.username}") String username,
+                                          @Value("${spring.datasource.password}") String password,
+                                          @Value("${productApi.reactive.r2dbc.max-size:10}") int maxSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("reactive")
+                .maxSize(maxSize)
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
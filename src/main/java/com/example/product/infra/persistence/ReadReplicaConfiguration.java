@@ -0,0 +1,63 @@
+package com.example.product.infra.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "productApi.datasource.replica.url")
+public class ReadReplicaConfiguration {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                       @Value("${productApi.datasource.replica.url}") String url,
+                                       @Value("${productApi.datasource.replica.maximum-pool-size:10}") int maximumPoolSize) {
+        HikariDataSource replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(url).build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        replica.setMaximumPoolSize(maximumPoolSize);
+        return replica;
+    }
+
+    @Bean
+    ReplicaLagMonitor replicaLagMonitor(HikariDataSource replicaDataSource,
+                                        @Value("${productApi.datasource.replica.max-lag:PT5S}") Duration maxLag) {
+        return new ReplicaLagMonitor(new JdbcTemplate(replicaDataSource), maxLag);
+    }
+
+    @Bean
+    ReadYourWritesTracker readYourWritesTracker(@Value("${productApi.datasource.replica.read-your-writes-window:PT5S}") Duration window) {
+        return new ReadYourWritesTracker(window);
+    }
+
+    @Bean
+    ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+                                                      ReplicaLagMonitor replicaLagMonitor, ReadYourWritesTracker readYourWritesTracker) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor, readYourWritesTracker);
+    }
+
+    // connections are fetched on the first statement, after the transaction's read-only flag is known
+    @Bean
+    @Primary
+    DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
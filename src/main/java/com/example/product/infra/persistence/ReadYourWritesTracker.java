@@ -0,0 +1,46 @@
+package com.example.product.infra.persistence;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    private static final int CLEANUP_THRESHOLD = 10_000;
+
+    private final ConcurrentHashMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    private final long windowMillis;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    public boolean wroteRecently(String username) {
+        Long lastWrite = lastWrites.get(username);
+        return lastWrite != null && System.currentTimeMillis() - lastWrite < windowMillis;
+    }
+
+    public void recordWrite(String username) {
+        long now = System.currentTimeMillis();
+        lastWrites.put(username, now);
+        if (lastWrites.size() > CLEANUP_THRESHOLD) {
+            lastWrites.values().removeIf(lastWrite -> now - lastWrite >= windowMillis);
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure != null || transaction.isReadOnly() || !transaction.isNewTransaction()) {
+            return;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null) {
+            recordWrite(authentication.getName());
+        }
+    }
+}
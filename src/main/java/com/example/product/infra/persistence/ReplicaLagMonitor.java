@@ -0,0 +1,39 @@
+package com.example.product.infra.persistence;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+
+public class ReplicaLagMonitor {
+
+    // a replica that has replayed everything it received is up to date, however old its last replayed transaction is
+    private static final String LAG_SECONDS = "SELECT CASE " +
+            "WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final JdbcTemplate replicaJdbcTemplate;
+
+    private final Duration maxLag;
+
+    private volatile boolean replicaUsable;
+
+    public ReplicaLagMonitor(JdbcTemplate replicaJdbcTemplate, Duration maxLag) {
+        this.replicaJdbcTemplate = replicaJdbcTemplate;
+        this.maxLag = maxLag;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Scheduled(fixedDelayString = "${productApi.datasource.replica.lag-check-interval:PT5S}")
+    public void checkLag() {
+        try {
+            Double lagSeconds = replicaJdbcTemplate.queryForObject(LAG_SECONDS, Double.class);
+            replicaUsable = lagSeconds != null && lagSeconds * 1000 <= maxLag.toMillis();
+        } catch (RuntimeException exception) {
+            replicaUsable = false;
+        }
+    }
+}
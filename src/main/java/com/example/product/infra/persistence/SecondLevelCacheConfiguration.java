@@ -0,0 +1,70 @@
+package com.example.product.infra.persistence;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class SecondLevelCacheConfiguration {
+
+    public static final String PRODUCT_REGION = "product";
+    public static final String USER_REGION = "user";
+    public static final String PRODUCT_QUERY_REGION = "product-queries";
+    public static final String USER_QUERY_REGION = "user-queries";
+
+    // size and ttl for each region, overridable through productApi.cache.<region>.max-size and .ttl
+    private static final Map<String, RegionDefaults> REGIONS = Map.of(
+            PRODUCT_REGION, new RegionDefaults(100_000, Duration.ofMinutes(10)),
+            USER_REGION, new RegionDefaults(10_000, Duration.ofMinutes(10)),
+            PRODUCT_QUERY_REGION, new RegionDefaults(1_000, Duration.ofMinutes(1)),
+            USER_QUERY_REGION, new RegionDefaults(10_000, Duration.ofMinutes(10)),
+            "default-update-timestamps-region", new RegionDefaults(1_000, null));
+
+    @Autowired
+    private Environment environment;
+
+    @Bean(destroyMethod = "close")
+    CacheManager secondLevelCacheManager() {
+        CachingProvider cachingProvider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = cachingProvider.getCacheManager(
+                URI.create("product-api-second-level-cache"), cachingProvider.getDefaultClassLoader());
+        REGIONS.forEach((region, defaults) -> {
+            if (cacheManager.getCache(region) != null) {
+                cacheManager.destroyCache(region);
+            }
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(
+                    environment.getProperty("productApi.cache." + region + ".max-size", Long.class, defaults.maxSize())));
+            String configuredTtl = environment.getProperty("productApi.cache." + region + ".ttl");
+            Duration ttl = configuredTtl == null ? defaults.ttl() : DurationStyle.detectAndParse(configuredTtl);
+            if (ttl != null) {
+                configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(ttl.toMillis())));
+            }
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(region, configuration);
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> properties.put("hibernate.javax.cache.cache_manager", secondLevelCacheManager);
+    }
+
+    private record RegionDefaults(long maxSize, Duration ttl) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.product.infra.persistence;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class UuidV7Generator implements UuidValueGenerator {
+
+    private static final AtomicLong LAST_TIMESTAMP_AND_SEQUENCE = new AtomicLong();
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return next();
+    }
+
+    public static UUID next() {
+        long timestampAndSequence = nextTimestampAndSequence();
+        long high = (timestampAndSequence >>> 12) << 16
+                | 0x7000L
+                | timestampAndSequence & 0xfffL;
+        long low = ThreadLocalRandom.current().nextLong() & 0x3fffffffffffffffL | 0x8000000000000000L;
+        return new UUID(high, low);
+    }
+
+    // the 12 bits after the millisecond timestamp count ids within the same millisecond, so ids stay increasing
+    private static long nextTimestampAndSequence() {
+        long now = System.currentTimeMillis() << 12;
+        long last;
+        long next;
+        do {
+            last = LAST_TIMESTAMP_AND_SEQUENCE.get();
+            next = now > last ? now : last + 1;
+        } while (!LAST_TIMESTAMP_AND_SEQUENCE.compareAndSet(last, next));
+        return next;
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.product.infra.popularity;
+
+import com.example.product.domain.product.HotProductDTO;
+import com.example.product.domain.product.Product;
+import com.example.product.repository.ProductRepository;
+import com.example.product.repository.ProductViewsRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "productApi.popularity.enabled", havingValue = "true")
+public class ProductPopularity {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductViewsRepository productViewsRepository;
+
+    @Value("${productApi.popularity.sketch-capacity:1000}")
+    private int sketchCapacity = 1000;
+
+    @Value("${productApi.popularity.hot.max-size:100}")
+    private int maxHotProducts = 100;
+
+    @Value("${productApi.popularity.decay-interval:PT1H}")
+    private Duration decayInterval = Duration.ofHours(1);
+
+    @Value("${productApi.popularity.max-unsaved:10000}")
+    private int maxUnsaved = 10000;
+
+    private final ConcurrentHashMap<UUID, LongAdder> views = new ConcurrentHashMap<>();
+
+    private final Map<UUID, Long> unsaved = new HashMap<>();
+
+    private SpaceSavingSketch sketch;
+
+    private long nextDecay;
+
+    private boolean rankingChanged;
+
+    private volatile List<HotProductDTO> hotProducts = List.of();
+
+    private volatile boolean counting;
+
+    // ready is published after the runners, so the warm-up replay is never counted as real views
+    @EventListener(ApplicationReadyEvent.class)
+    public void startCounting() {
+        counting = true;
+    }
+
+    public void recordView(UUID productId) {
+        if (!counting) {
+            return;
+        }
+        LongAdder counter = views.get(productId);
+        if (counter == null) {
+            counter = views.computeIfAbsent(productId, id -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    public List<HotProductDTO> hotProducts(int limit) {
+        List<HotProductDTO> current = hotProducts;
+        return current.size() > limit ? current.subList(0, limit) : current;
+    }
+
+    @Scheduled(fixedDelayString = "${productApi.popularity.flush-interval:PT10S}")
+    public synchronized void flush() {
+        Map<UUID, Long> counted = new HashMap<>();
+        views.forEach((productId, counter) -> {
+            long count = counter.sumThenReset();
+            if (count == 0) {
+                // a view landing between the reset and the removal is dropped; the ranking is an estimate anyway
+                views.remove(productId, counter);
+            } else {
+                counted.put(productId, count);
+            }
+        });
+
+        counted.forEach((productId, count) -> {
+            // while the database is down, views of products not already waiting are dropped instead of piling up
+            if (unsaved.size() < maxUnsaved || unsaved.containsKey(productId)) {
+                unsaved.merge(productId, count, Long::sum);
+            }
+        });
+
+        if (sketch == null) {
+            sketch = new SpaceSavingSketch(sketchCapacity);
+            nextDecay = System.nanoTime() + decayInterval.toNanos();
+        }
+        if (System.nanoTime() - nextDecay >= 0) {
+            sketch.decay();
+            nextDecay = System.nanoTime() + decayInterval.toNanos();
+            rankingChanged = true;
+        }
+        counted.forEach(sketch::offer);
+        if (!counted.isEmpty()) {
+            rankingChanged = true;
+        }
+        if (rankingChanged) {
+            // a failed lookup keeps the previous ranking and is tried again with the next flush
+            try {
+                hotProducts = resolve(sketch.top(maxHotProducts));
+                rankingChanged = false;
+            } catch (RuntimeException ex) {
+                log.warn("Could not refresh the hot products, keeping the previous ranking.", ex);
+            }
+        }
+
+        if (unsaved.isEmpty()) {
+            return;
+        }
+        productViewsRepository.addViews(Map.copyOf(unsaved));
+        unsaved.clear();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private List<HotProductDTO> resolve(List<SpaceSavingSketch.Estimate> estimates) {
+        if (estimates.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Product> products = new HashMap<>();
+        for (Product product : productRepository.multiLoad(estimates.stream().map(SpaceSavingSketch.Estimate::productId).toList())) {
+            if (product != null) {
+                products.put(product.getProductId(), product);
+            }
+        }
+
+        List<HotProductDTO> resolved = new ArrayList<>(estimates.size());
+        for (SpaceSavingSketch.Estimate estimate : estimates) {
+            Product product = products.get(estimate.productId());
+            if (product != null && estimate.count() > 0) {
+                resolved.add(new HotProductDTO(product, estimate.count()));
+            }
+        }
+        return List.copyOf(resolved);
+    }
+}
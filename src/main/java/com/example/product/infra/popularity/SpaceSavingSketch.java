@@ -0,0 +1,122 @@
+package com.example.product.infra.popularity;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class SpaceSavingSketch {
+
+    private final Map<UUID, Counter> counters;
+
+    private final Counter[] heap;
+
+    private int size;
+
+    public SpaceSavingSketch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.counters = new HashMap<>(capacity * 2);
+        this.heap = new Counter[capacity];
+    }
+
+    public void offer(UUID productId, long weight) {
+        Counter counter = counters.get(productId);
+        if (counter != null) {
+            counter.count += weight;
+            siftDown(counter.position);
+            return;
+        }
+
+        if (size < heap.length) {
+            counter = new Counter(productId, weight, 0);
+            counter.position = size;
+            heap[size++] = counter;
+            counters.put(productId, counter);
+            siftUp(counter.position);
+            return;
+        }
+
+        // evict the smallest counter and let the newcomer inherit its count as the error bound
+        Counter smallest = heap[0];
+        counters.remove(smallest.productId);
+        smallest.productId = productId;
+        smallest.error = smallest.count;
+        smallest.count += weight;
+        counters.put(productId, smallest);
+        siftDown(0);
+    }
+
+    public void decay() {
+        for (int i = 0; i < size; i++) {
+            heap[i].count >>= 1;
+            heap[i].error >>= 1;
+        }
+    }
+
+    public List<Estimate> top(int limit) {
+        return Arrays.stream(heap, 0, size)
+                .sorted(Comparator.comparingLong((Counter counter) -> counter.count).reversed())
+                .limit(limit)
+                .map(counter -> new Estimate(counter.productId, counter.count, counter.error))
+                .toList();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void siftUp(int position) {
+        Counter counter = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+            place(heap[parent], position);
+            position = parent;
+        }
+        place(counter, position);
+    }
+
+    private void siftDown(int position) {
+        Counter counter = heap[position];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            if (child + 1 < size && heap[child + 1].count < heap[child].count) {
+                child++;
+            }
+            if (counter.count <= heap[child].count) {
+                break;
+            }
+            place(heap[child], position);
+            position = child;
+        }
+        place(counter, position);
+    }
+
+    private void place(Counter counter, int position) {
+        heap[position] = counter;
+        counter.position = position;
+    }
+
+    public record Estimate(UUID productId, long count, long error) {
+    }
+
+    private static final class Counter {
+        private UUID productId;
+        private long count;
+        private long error;
+        private int position;
+
+        private Counter(UUID productId, long count, long error) {
+            this.productId = productId;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
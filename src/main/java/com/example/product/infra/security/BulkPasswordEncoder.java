@@ -0,0 +1,38 @@
+package com.example.product.infra.security;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+@Component
+public class BulkPasswordEncoder {
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final ForkJoinPool hashingPool;
+
+    @Autowired
+    public BulkPasswordEncoder(PasswordEncoder passwordEncoder,
+                               @Value("${productApi.user.bulk.hashing-parallelism:0}") int parallelism) {
+        this.passwordEncoder = passwordEncoder;
+        this.hashingPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    // runs on its own pool so a large batch cannot starve the common pool used by the catalog scans
+    public List<String> encodeAll(List<String> rawPasswords) {
+        return hashingPool.submit(() -> rawPasswords.parallelStream()
+                        .map(passwordEncoder::encode)
+                        .toList())
+                .join();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdown();
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.product.infra.security;
 
+import com.example.product.controller.ProductController;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -40,13 +42,19 @@ public class SecurityConfiguration {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize -> authorize
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(HttpMethod.POST,"/product").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST,"/product/*/stock").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT,"/product/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE,"/product/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST,"/user/register").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST,"/user/register/bulk").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST,"/user/login").permitAll()
+                        .requestMatchers(HttpMethod.POST,"/user/refresh").permitAll()
                         .requestMatchers("/error").permitAll()
-                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/health/liveness", "/actuator/health/readiness").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.GET,"/.well-known/jwks.json").permitAll()
                         .anyRequest().authenticated()
                 )
                 .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
@@ -70,6 +78,7 @@ public class SecurityConfiguration {
         configuration.setAllowedOrigins(List.of(frotendUrl));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
+        configuration.setExposedHeaders(List.of(ProductController.NEXT_CURSOR_HEADER));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
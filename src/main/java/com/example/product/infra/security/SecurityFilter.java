@@ -1,5 +1,6 @@
 package com.example.product.infra.security;
 
+import com.example.product.domain.user.UserAuthorityDTO;
 import com.example.product.repository.UserRepository;
 import com.example.product.service.TokenService;
 import jakarta.servlet.FilterChain;
@@ -9,43 +10,82 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Set;
 
 @Component
 public class SecurityFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private static final int MAX_TOKEN_LENGTH = 4096;
+
+    private static final Set<String> UNFILTERED_PATHS = Set.of("/actuator/health", "/user/login", "/user/refresh", "/.well-known/jwks.json");
+
     @Autowired
     TokenService tokenService;
 
     @Autowired
     UserRepository userRepository;
 
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return UNFILTERED_PATHS.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
-        String token = recoverToken(request);
-        if (token!=null){
-            try {
-                String username = tokenService.validateToken(token);
-                UserDetails user = userRepository.findByUsername(username);
-
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(user.getUsername(),null,user.getAuthorities());
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-            }catch (RuntimeException e){
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                response.getWriter().write("invalid Token.");
-                return;
-            }
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader == null){
+            filterChain.doFilter(request,response);
+            return;
+        }
 
+        String token = recoverToken(authHeader);
+        String username = token == null ? null : tokenService.validateToken(token);
+        UserAuthorityDTO user = username == null ? null : userRepository.findAuthorityByUsername(username);
+        if (user == null){
+            rejectToken(response);
+            return;
         }
+
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(user.username(),null,user.role().getAuthorities());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
         filterChain.doFilter(request,response);
     }
 
-    String recoverToken(HttpServletRequest request){
-        String authHeader = request.getHeader("Authorization");
-        if (authHeader == null) return null;
-        return authHeader.replace("Bearer ","");
+    // returns null for anything that cannot be a compact JWS, so junk headers never reach the verifier
+    String recoverToken(String authHeader){
+        int length = authHeader.length() - BEARER_PREFIX.length();
+        if (length <= 0 || length > MAX_TOKEN_LENGTH
+                || !authHeader.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())){
+            return null;
+        }
+
+        int dots = 0;
+        int segmentLength = 0;
+        for (int i = BEARER_PREFIX.length(); i < authHeader.length(); i++){
+            char c = authHeader.charAt(i);
+            if (c == '.'){
+                if (segmentLength == 0 || ++dots > 2) return null;
+                segmentLength = 0;
+            }else if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_'){
+                segmentLength++;
+            }else {
+                return null;
+            }
+        }
+        if (dots != 2 || segmentLength == 0) return null;
+
+        return authHeader.substring(BEARER_PREFIX.length());
+    }
+
+    private static void rejectToken(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.getWriter().write("invalid Token.");
     }
 }
@@ -0,0 +1,147 @@
+package com.example.product.infra.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.*;
+
+@Component
+public class SigningKeyRing {
+
+    public static final String ISSUER = "ProductApi";
+
+    @Value("${productApi.security.token.algorithm:HS256}")
+    private String algorithm = "HS256";
+
+    @Value("${productApi.security.token.secret}")
+    private String secret;
+
+    @Value("${productApi.security.token.keystore.path:}")
+    private String keystorePath = "";
+
+    @Value("${productApi.security.token.keystore.password:}")
+    private String keystorePassword = "";
+
+    @Value("${productApi.security.token.active-kid:}")
+    private String activeKid = "";
+
+    private volatile Keys keys;
+
+    @PostConstruct
+    public void reload() {
+        if ("ES256".equals(algorithm)) {
+            keys = loadEcKeys();
+        } else if ("HS256".equals(algorithm)) {
+            Algorithm hmac = Algorithm.HMAC256(secret);
+            keys = new Keys(null, hmac, Map.of(), JWT.require(hmac).withIssuer(ISSUER).build(), List.of());
+        } else {
+            throw new IllegalStateException("Unsupported token algorithm " + algorithm + ", expected HS256 or ES256.");
+        }
+    }
+
+    public String activeKid() {
+        return keys.activeKid();
+    }
+
+    public Algorithm signingAlgorithm() {
+        return keys.signing();
+    }
+
+    // a token without a kid is only accepted when signing with the shared secret
+    public JWTVerifier verifierFor(String kid) {
+        Keys current = keys;
+        return kid == null ? current.defaultVerifier() : current.verifiers().get(kid);
+    }
+
+    public List<Map<String, String>> publicJwks() {
+        return keys.jwks();
+    }
+
+    private Keys loadEcKeys() {
+        Map<String, KeyPair> keyPairs = keystorePath.isEmpty() ? generatedKeyPair() : keyPairsFromKeystore();
+        String signingKid = activeKid.isEmpty() ? keyPairs.keySet().iterator().next() : activeKid;
+        KeyPair signingKeyPair = keyPairs.get(signingKid);
+        if (signingKeyPair == null) {
+            throw new IllegalStateException("Active signing key " + signingKid + " not found in the key ring.");
+        }
+
+        Map<String, JWTVerifier> verifiers = new HashMap<>();
+        List<Map<String, String>> jwks = new ArrayList<>();
+        keyPairs.forEach((kid, keyPair) -> {
+            ECPublicKey publicKey = (ECPublicKey) keyPair.getPublic();
+            verifiers.put(kid, JWT.require(Algorithm.ECDSA256(publicKey, null)).withIssuer(ISSUER).build());
+            jwks.add(Map.of(
+                    "kty", "EC",
+                    "crv", "P-256",
+                    "use", "sig",
+                    "alg", "ES256",
+                    "kid", kid,
+                    "x", coordinate(publicKey.getW().getAffineX()),
+                    "y", coordinate(publicKey.getW().getAffineY())));
+        });
+
+        Algorithm signing = Algorithm.ECDSA256((ECPublicKey) signingKeyPair.getPublic(), (ECPrivateKey) signingKeyPair.getPrivate());
+        return new Keys(signingKid, signing, Map.copyOf(verifiers), null, List.copyOf(jwks));
+    }
+
+    // every alias in the keystore stays verifiable, so rotating means adding an alias and then switching active-kid
+    private Map<String, KeyPair> keyPairsFromKeystore() {
+        try (InputStream inputStream = new DefaultResourceLoader().getResource(keystorePath).getInputStream()) {
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            keyStore.load(inputStream, keystorePassword.toCharArray());
+
+            Map<String, KeyPair> keyPairs = new LinkedHashMap<>();
+            for (String alias : Collections.list(keyStore.aliases())) {
+                Key key = keyStore.getKey(alias, keystorePassword.toCharArray());
+                if (key instanceof ECPrivateKey privateKey) {
+                    keyPairs.put(alias, new KeyPair(keyStore.getCertificate(alias).getPublicKey(), privateKey));
+                }
+            }
+            if (keyPairs.isEmpty()) {
+                throw new IllegalStateException("No EC keys found in " + keystorePath + ".");
+            }
+            return keyPairs;
+        } catch (IOException | GeneralSecurityException exception) {
+            throw new IllegalStateException("Could not load signing keys from " + keystorePath + ".", exception);
+        }
+    }
+
+    // without a keystore the key only lives as long as this instance, which is enough for local runs and tests
+    private static Map<String, KeyPair> generatedKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            return Map.of(UUID.randomUUID().toString(), generator.generateKeyPair());
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    private record Keys(String activeKid, Algorithm signing, Map<String, JWTVerifier> verifiers,
+                        JWTVerifier defaultVerifier, List<Map<String, String>> jwks) {
+    }
+}
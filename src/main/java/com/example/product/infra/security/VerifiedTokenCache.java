@@ -0,0 +1,60 @@
+package com.example.product.infra.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+@Component
+public class VerifiedTokenCache {
+
+    private final AtomicReferenceArray<Entry> entries;
+
+    private final int mask;
+
+    private final long maxTtlMillis;
+
+    // direct-mapped by the token's hash: a lookup is one String.hashCode, one slot read and one equals, with no allocation
+    @Autowired
+    public VerifiedTokenCache(@Value("${productApi.security.token.cache.capacity:4096}") int capacity,
+                              @Value("${productApi.security.token.cache.max-ttl:PT5M}") Duration maxTtl) {
+        int slots = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        this.entries = new AtomicReferenceArray<>(slots);
+        this.mask = slots - 1;
+        this.maxTtlMillis = maxTtl.toMillis();
+    }
+
+    public String subjectFor(String token) {
+        Entry entry = entries.get(slotOf(token));
+        if (entry == null || !entry.token().equals(token)) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.compareAndSet(slotOf(token), entry, null);
+            return null;
+        }
+        return entry.subject();
+    }
+
+    public void put(String token, String subject, Instant expiresAt) {
+        long now = System.currentTimeMillis();
+        long expiresAtMillis = now + maxTtlMillis;
+        if (expiresAt != null) {
+            expiresAtMillis = Math.min(expiresAtMillis, expiresAt.toEpochMilli());
+        }
+        if (expiresAtMillis > now) {
+            entries.set(slotOf(token), new Entry(token, subject, expiresAtMillis));
+        }
+    }
+
+    private int slotOf(String token) {
+        int hash = token.hashCode();
+        return (hash ^ hash >>> 16) & mask;
+    }
+
+    private record Entry(String token, String subject, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.product.infra.startup;
+
+import com.example.product.domain.user.User;
+import com.example.product.domain.user.UserRole;
+import com.example.product.service.TokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+// drives the request paths that need no database, then exits so -XX:ArchiveClassesAtExit can dump the CDS archive
+@Component
+@ConditionalOnProperty(name = "productApi.cds.training-run", havingValue = "true")
+public class CdsTrainingRun {
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void run() {
+        tokenService.validateToken(tokenService.generateToken(new User(null, "cds-training", "", UserRole.COMMON)));
+
+        String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        HttpClient httpClient = HttpClient.newHttpClient();
+        send(httpClient, HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")));
+        send(httpClient, HttpRequest.newBuilder(URI.create(baseUrl + "/.well-known/jwks.json")));
+        send(httpClient, HttpRequest.newBuilder(URI.create(baseUrl + "/product")));
+        send(httpClient, HttpRequest.newBuilder(URI.create(baseUrl + "/product")).header("Authorization", "Bearer a.b.c"));
+        send(httpClient, HttpRequest.newBuilder(URI.create(baseUrl + "/user/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"\"}")));
+        send(httpClient, HttpRequest.newBuilder(URI.create(baseUrl + "/user/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{")));
+
+        new Thread(() -> System.exit(SpringApplication.exit(context))).start();
+    }
+
+    private static void send(HttpClient httpClient, HttpRequest.Builder request) {
+        try {
+            httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new IllegalStateException("CDS training request failed.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
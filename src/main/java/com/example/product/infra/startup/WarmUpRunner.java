@@ -0,0 +1,161 @@
+package com.example.product.infra.startup;
+
+import com.example.product.domain.product.Prices;
+import com.example.product.domain.product.Product;
+import com.example.product.domain.user.User;
+import com.example.product.repository.ProductRepository;
+import com.example.product.repository.UserRepository;
+import com.example.product.service.TokenService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// runners finish before readiness turns ACCEPTING_TRAFFIC, so the probe stays down until the replay is over
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "productApi.warm-up.enabled", havingValue = "true")
+public class WarmUpRunner implements ApplicationRunner {
+
+    @Autowired
+    private WebServerApplicationContext context;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${productApi.warm-up.username:admin}")
+    private String username = "admin";
+
+    @Value("${productApi.warm-up.min-rounds:200}")
+    private int minRounds = 200;
+
+    @Value("${productApi.warm-up.max-rounds:2000}")
+    private int maxRounds = 2000;
+
+    @Value("${productApi.warm-up.max-duration:PT60S}")
+    private Duration maxDuration = Duration.ofSeconds(60);
+
+    @Value("${productApi.warm-up.settled-compilation-time:PT0.005S}")
+    private Duration settledCompilationTime = Duration.ofMillis(5);
+
+    private final CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+
+    private volatile long durationMillis;
+    private volatile long compilationMillis;
+    private volatile long lastRoundCompilationMillis;
+    private volatile int rounds;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        TimeGauge.builder("warmup.duration", this, TimeUnit.MILLISECONDS, runner -> runner.durationMillis).register(meterRegistry);
+        Gauge.builder("warmup.rounds", this, runner -> runner.rounds).register(meterRegistry);
+        TimeGauge.builder("warmup.compilation.time", this, TimeUnit.MILLISECONDS, runner -> runner.compilationMillis).register(meterRegistry);
+        TimeGauge.builder("warmup.compilation.last-round", this, TimeUnit.MILLISECONDS, runner -> runner.lastRoundCompilationMillis).register(meterRegistry);
+
+        long start = System.nanoTime();
+        // warm-up only makes the first requests faster, so a failure must never keep the instance from starting
+        try {
+            replay(start);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Warm-up stopped after {} rounds, continuing startup without it.", rounds, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private void replay(long start) throws IOException, InterruptedException {
+        long deadline = start + maxDuration.toNanos();
+        long compilationAtStart = compilationTime();
+        HttpClient httpClient = HttpClient.newHttpClient();
+        List<HttpRequest> requestMix = requestMix();
+
+        while (rounds < maxRounds && System.nanoTime() < deadline) {
+            long compilationBeforeRound = compilationTime();
+            for (HttpRequest request : requestMix) {
+                httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            }
+            rounds++;
+            lastRoundCompilationMillis = compilationTime() - compilationBeforeRound;
+            compilationMillis = compilationTime() - compilationAtStart;
+            if (rounds >= minRounds && compilation.isCompilationTimeMonitoringSupported()
+                    && lastRoundCompilationMillis <= settledCompilationTime.toMillis()) {
+                break;
+            }
+        }
+    }
+
+    // only reads and rejected logins, so the replay never changes data
+    List<HttpRequest> requestMix() {
+        String baseUrl = "http://localhost:" + context.getWebServer().getPort();
+        List<HttpRequest> requestMix = new ArrayList<>();
+        requestMix.add(HttpRequest.newBuilder(URI.create(baseUrl + "/user/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"warm-up-" + UUID.randomUUID() + "\",\"password\":\"warm-up\"}"))
+                .build());
+
+        User user = (User) userRepository.findByUsername(username);
+        if (user == null) {
+            return requestMix;
+        }
+        String token = tokenService.generateToken(user);
+        // a bad signature misses the verified-token cache, so every round still pays for a full verification
+        String tamperedToken = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        List<Product> products = productRepository.findAll(PageRequest.of(0, 10)).getContent();
+        for (Product product : products) {
+            requestMix.add(get(baseUrl + "/product/" + product.getProductId(), token));
+        }
+        requestMix.add(get(baseUrl + "/product/" + UUID.randomUUID(), token));
+        requestMix.add(get(baseUrl + "/product/" + UUID.randomUUID(), tamperedToken));
+        if (!products.isEmpty()) {
+            Product product = products.get(0);
+            String price = Prices.format(product.getPrice());
+            requestMix.add(get(UriComponentsBuilder.fromUriString(baseUrl + "/product")
+                    .queryParam("name", product.getName())
+                    .queryParam("minPrice", price)
+                    .queryParam("maxPrice", price)
+                    .build().encode().toUriString(), token));
+        }
+        return requestMix;
+    }
+
+    private long compilationTime() {
+        return compilation.isCompilationTimeMonitoringSupported() ? compilation.getTotalCompilationTime() : 0;
+    }
+
+    private static HttpRequest get(String url, String token) {
+        return HttpRequest.newBuilder(URI.create(url)).header("Authorization", "Bearer " + token).build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.product.infra.stock;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class StripedStockCounter {
+
+    // 16 longs between stripes keeps each one on its own pair of cache lines
+    private static final int PADDING = 16;
+
+    private final AtomicLongArray quota;
+
+    private final int stripes;
+
+    private final LongAdder reserved = new LongAdder();
+
+    private volatile boolean soldOut;
+
+    private volatile long soldOutUntil;
+
+    public StripedStockCounter(int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("stripes must be positive");
+        }
+        this.stripes = stripes;
+        this.quota = new AtomicLongArray((stripes + 1) * PADDING);
+    }
+
+    public boolean tryReserve(long quantity) {
+        int home = homeStripe();
+        for (int i = 0; i < stripes; i++) {
+            int slot = slotOf((home + i) % stripes);
+            long current = quota.get(slot);
+            while (current >= quantity) {
+                long witness = quota.compareAndExchange(slot, current, current - quantity);
+                if (witness == current) {
+                    reserved.add(quantity);
+                    return true;
+                }
+                current = witness;
+            }
+        }
+        return false;
+    }
+
+    public void release(long quantity) {
+        quota.getAndAdd(slotOf(homeStripe()), quantity);
+        reserved.add(-quantity);
+    }
+
+    public void recordReserved(long quantity) {
+        reserved.add(quantity);
+    }
+
+    public void deposit(long quantity) {
+        long share = quantity / stripes;
+        long remainder = quantity % stripes;
+        for (int i = 0; i < stripes; i++) {
+            long amount = i < remainder ? share + 1 : share;
+            if (amount != 0) {
+                quota.getAndAdd(slotOf(i), amount);
+            }
+        }
+    }
+
+    public long drain() {
+        long drained = 0;
+        for (int i = 0; i < stripes; i++) {
+            drained += quota.getAndSet(slotOf(i), 0);
+        }
+        return drained;
+    }
+
+    public long available() {
+        long available = 0;
+        for (int i = 0; i < stripes; i++) {
+            available += quota.get(slotOf(i));
+        }
+        return available;
+    }
+
+    public long pendingReserved() {
+        return reserved.sum();
+    }
+
+    public long takePendingReserved() {
+        return reserved.sumThenReset();
+    }
+
+    public boolean isSoldOut(long now) {
+        return soldOut && now - soldOutUntil < 0;
+    }
+
+    public void markSoldOut(long until) {
+        soldOutUntil = until;
+        soldOut = true;
+    }
+
+    public void clearSoldOut() {
+        soldOut = false;
+    }
+
+    private int homeStripe() {
+        int hash = System.identityHashCode(Thread.currentThread());
+        return ((hash ^ hash >>> 16) & Integer.MAX_VALUE) % stripes;
+    }
+
+    private static int slotOf(int stripe) {
+        return (stripe + 1) * PADDING;
+    }
+}
@@ -2,19 +2,41 @@ package com.example.product.repository;
 
 import com.example.product.domain.product.Product;
 import com.example.product.domain.product.ProductResponseDTO;
+import com.example.product.domain.product.ProductSuggestionDTO;
+import com.example.product.infra.persistence.SecondLevelCacheConfiguration;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.UUID;
 
-public interface ProductRepository extends JpaRepository<Product, UUID> {
+public interface ProductRepository extends JpaRepository<Product, UUID>, ProductRepositoryCustom {
 
-    @Query("SELECT p FROM Product p " +
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = SecondLevelCacheConfiguration.PRODUCT_QUERY_REGION)
+    })
+    @Query("SELECT new com.example.product.domain.product.ProductResponseDTO(p.productId, p.name, p.price) FROM Product p " +
             "WHERE (:name IS NULL OR LOWER(name) LIKE '%' || LOWER(CAST(:name AS string)) || '%') AND " +
-            "((:minPrice IS NULL OR :minPrice <= price) AND (:maxPrice IS NULL OR :maxPrice >= price)) Order by p.name")
+            "((:minPrice IS NULL OR :minPrice <= price) AND (:maxPrice IS NULL OR :maxPrice >= price)) Order by p.name, p.productId")
     public List<ProductResponseDTO> getAllFiltered(@Param("name") String name,
-                                                   @Param("minPrice")  Double minPrice,
-                                                   @Param("maxPrice")  Double maxPrice);
+                                                   @Param("minPrice")  Long minPrice,
+                                                   @Param("maxPrice")  Long maxPrice);
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = SecondLevelCacheConfiguration.PRODUCT_QUERY_REGION)
+    })
+    @Query("SELECT new com.example.product.domain.product.ProductSuggestionDTO(p.productId, p.name) FROM Product p " +
+            "WHERE COLLATE_C(LOWER(p.name)) LIKE :lowerPrefixPattern ESCAPE '\\' Order by COLLATE_C(LOWER(p.name)), p.productId")
+    List<ProductSuggestionDTO> findSuggestions(@Param("lowerPrefixPattern") String lowerPrefixPattern, Limit limit);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHE_MODE, value = "IGNORE"))
+    @Query("SELECT new com.example.product.domain.product.ProductResponseDTO(p.productId, p.name, p.price) FROM Product p Order by p.name, p.productId")
+    List<ProductResponseDTO> findAllForCatalog();
 }
@@ -0,0 +1,16 @@
+package com.example.product.repository;
+
+import com.example.product.domain.product.Product;
+import com.example.product.domain.product.ProductCursor;
+import com.example.product.domain.product.ProductFields;
+import com.example.product.domain.product.ProductResponseDTO;
+import com.example.product.domain.product.ProductSort;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ProductRepositoryCustom {
+    List<Product> multiLoad(List<UUID> productIds);
+
+    List<ProductResponseDTO> getSorted(String name, Long minPrice, Long maxPrice, ProductSort sort, ProductCursor after, Integer limit, ProductFields fields);
+}
@@ -0,0 +1,71 @@
+package com.example.product.repository;
+
+import com.example.product.domain.product.Product;
+import com.example.product.domain.product.ProductCursor;
+import com.example.product.domain.product.ProductFields;
+import com.example.product.domain.product.ProductResponseDTO;
+import com.example.product.domain.product.ProductSort;
+import com.example.product.infra.persistence.SecondLevelCacheConfiguration;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private static final String FROM_FILTERED = " FROM Product p " +
+            "WHERE (:name IS NULL OR LOWER(p.name) LIKE '%' || LOWER(CAST(:name AS string)) || '%') AND " +
+            "((:minPrice IS NULL OR :minPrice <= p.price) AND (:maxPrice IS NULL OR :maxPrice >= p.price))";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // checks the session and second-level cache first, then loads the rest with one id = any(?) array query
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> multiLoad(List<UUID> productIds) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Product.class)
+                .with(CacheMode.NORMAL)
+                .enableSessionCheck(true)
+                .enableOrderedReturn(false)
+                .multiLoad(productIds);
+    }
+
+    // only whitelisted sorts reach here, and each one matches a (column, product_id) index that is walked forwards or backwards
+    @Override
+    public List<ProductResponseDTO> getSorted(String name, Long minPrice, Long maxPrice, ProductSort sort, ProductCursor after, Integer limit, ProductFields fields) {
+        String column = "p." + sort.getAttribute();
+        String direction = sort.isAscending() ? " ASC" : " DESC";
+
+        StringBuilder jpql = new StringBuilder("SELECT new com.example.product.domain.product.ProductResponseDTO(p.productId, ")
+                .append(fields.name() ? "p.name" : "CAST(NULL AS String)").append(", ")
+                .append(fields.price() ? "p.price" : "0L").append(")")
+                .append(FROM_FILTERED);
+        if (after != null) {
+            jpql.append(" AND (").append(column).append(", p.productId) ")
+                    .append(sort.isAscending() ? ">" : "<").append(" (:afterKey, :afterId)");
+        }
+        jpql.append(" ORDER BY ").append(column).append(direction).append(", p.productId").append(direction);
+
+        TypedQuery<ProductResponseDTO> query = entityManager.createQuery(jpql.toString(), ProductResponseDTO.class)
+                .setParameter("name", name)
+                .setParameter("minPrice", minPrice)
+                .setParameter("maxPrice", maxPrice)
+                .setHint(AvailableHints.HINT_CACHEABLE, true)
+                .setHint(AvailableHints.HINT_CACHE_REGION, SecondLevelCacheConfiguration.PRODUCT_QUERY_REGION);
+        if (after != null) {
+            query.setParameter("afterKey", after.key()).setParameter("afterId", after.productId());
+        }
+        if (limit != null) {
+            query.setMaxResults(limit);
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.product.repository;
+
+import com.example.product.domain.stock.ProductStock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+public interface ProductStockRepository extends JpaRepository<ProductStock, UUID>, ProductStockRepositoryCustom {
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProductStock s SET s.available = s.available + :quantity WHERE s.productId = :productId")
+    int addAvailable(@Param("productId") UUID productId, @Param("quantity") long quantity);
+}
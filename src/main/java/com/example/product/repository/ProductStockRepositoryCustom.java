@@ -0,0 +1,12 @@
+package com.example.product.repository;
+
+import com.example.product.domain.stock.StockDelta;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ProductStockRepositoryCustom {
+    long claim(UUID productId, long quantity);
+
+    List<UUID> applyDeltas(List<StockDelta> deltas);
+}
@@ -0,0 +1,58 @@
+package com.example.product.repository;
+
+import com.example.product.domain.stock.StockDelta;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class ProductStockRepositoryCustomImpl implements ProductStockRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String SELECT_AVAILABLE_FOR_UPDATE = "SELECT available FROM product_stock WHERE product_id = ? FOR UPDATE";
+
+    private static final String TAKE_AVAILABLE = "UPDATE product_stock SET available = available - ? WHERE product_id = ?";
+
+    // a release can reach the database before its reservation when another instance served the reserve
+    private static final String APPLY_DELTA = "UPDATE product_stock " +
+            "SET available = available + ?, reserved = GREATEST(reserved + ?, 0) WHERE product_id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public long claim(UUID productId, long quantity) {
+        Long available = jdbcTemplate.query(SELECT_AVAILABLE_FOR_UPDATE,
+                result -> result.next() ? result.getLong(1) : null, productId);
+        if (available == null || available == 0) {
+            return 0;
+        }
+        long claimed = Math.min(available, quantity);
+        jdbcTemplate.update(TAKE_AVAILABLE, claimed, productId);
+        return claimed;
+    }
+
+    @Override
+    @Transactional
+    public List<UUID> applyDeltas(List<StockDelta> deltas) {
+        int[][] updated = jdbcTemplate.batchUpdate(APPLY_DELTA, deltas, BATCH_SIZE, (statement, delta) -> {
+            statement.setLong(1, delta.available());
+            statement.setLong(2, delta.reserved());
+            statement.setObject(3, delta.productId());
+        });
+
+        // the row goes with its product on delete, so these products no longer exist
+        List<UUID> missing = new ArrayList<>();
+        for (int i = 0; i < deltas.size(); i++) {
+            if (updated[i / BATCH_SIZE][i % BATCH_SIZE] == 0) {
+                missing.add(deltas.get(i).productId());
+            }
+        }
+        return missing;
+    }
+}
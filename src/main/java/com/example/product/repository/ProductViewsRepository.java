@@ -0,0 +1,54 @@
+package com.example.product.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Repository
+public class ProductViewsRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String ADD_VIEWS = "UPDATE product_views SET views = views + ? WHERE product_id = ?";
+
+    // products deleted since they were viewed are skipped instead of failing the whole batch on the foreign key
+    private static final String CREATE_VIEWS = "INSERT INTO product_views(product_id, views) " +
+            "SELECT ?, ? WHERE EXISTS (SELECT 1 FROM product WHERE product_id = ?) " +
+            "AND NOT EXISTS (SELECT 1 FROM product_views WHERE product_id = ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public void addViews(Map<UUID, Long> views) {
+        // a fixed row order keeps instances flushing at the same time from deadlocking each other
+        List<Map.Entry<UUID, Long>> rows = views.entrySet().stream().sorted(Map.Entry.comparingByKey()).toList();
+        int[][] updated = jdbcTemplate.batchUpdate(ADD_VIEWS, rows, BATCH_SIZE, (statement, row) -> {
+            statement.setLong(1, row.getValue());
+            statement.setObject(2, row.getKey());
+        });
+
+        List<Map.Entry<UUID, Long>> missing = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (updated[i / BATCH_SIZE][i % BATCH_SIZE] == 0) {
+                missing.add(rows.get(i));
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        // two instances creating the same row fail one batch on the primary key, and its views go out with the next flush
+        jdbcTemplate.batchUpdate(CREATE_VIEWS, missing, BATCH_SIZE, (statement, row) -> {
+            statement.setObject(1, row.getKey());
+            statement.setLong(2, row.getValue());
+            statement.setObject(3, row.getKey());
+            statement.setObject(4, row.getKey());
+        });
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.product.repository;
+
+import com.example.product.domain.product.ProductCursor;
+import com.example.product.domain.product.ProductFields;
+import com.example.product.domain.product.ProductResponseDTO;
+import com.example.product.domain.product.ProductSort;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@Repository
+@ConditionalOnProperty(name = "productApi.reactive.r2dbc.url")
+public class ReactiveProductRepository {
+
+    @Autowired
+    private DatabaseClient reactiveDatabaseClient;
+
+    @Value("${productApi.reactive.r2dbc.fetch-size:256}")
+    private int fetchSize = 256;
+
+    public Flux<ProductResponseDTO> getAllFiltered(String name, Long minPrice, Long maxPrice, ProductSort sort, ProductCursor after, Integer limit, ProductFields fields) {
+        String column = sort.getAttribute();
+        String direction = sort.isAscending() ? " ASC" : " DESC";
+
+        StringBuilder sql = new StringBuilder("SELECT product_id, ")
+                .append(fields.name() ? "name" : "CAST(NULL AS VARCHAR) AS name").append(", ")
+                .append(fields.price() ? "price" : "CAST(0 AS BIGINT) AS price")
+                .append(" FROM product WHERE 1 = 1");
+        if (name != null) {
+            sql.append(" AND LOWER(name) LIKE '%' || LOWER(:name) || '%'");
+        }
+        if (minPrice != null) {
+            sql.append(" AND price >= :minPrice");
+        }
+        if (maxPrice != null) {
+            sql.append(" AND price <= :maxPrice");
+        }
+        if (after != null) {
+            sql.append(" AND (").append(column).append(", product_id) ")
+                    .append(sort.isAscending() ? ">" : "<").append(" (:afterKey, :afterId)");
+        }
+        sql.append(" ORDER BY ").append(column).append(direction).append(", product_id").append(direction);
+        if (limit != null) {
+            sql.append(" LIMIT ").append(limit.intValue());
+        }
+
+        DatabaseClient.GenericExecuteSpec query = reactiveDatabaseClient.sql(sql.toString())
+                // rows are pulled from the server in fetch-size chunks as the client consumes them
+                .filter(statement -> statement.fetchSize(fetchSize));
+        if (name != null) {
+            query = query.bind("name", name);
+        }
+        if (minPrice != null) {
+            query = query.bind("minPrice", minPrice);
+        }
+        if (maxPrice != null) {
+            query = query.bind("maxPrice", maxPrice);
+        }
+        if (after != null) {
+            query = query.bind("afterKey", after.key()).bind("afterId", after.productId());
+        }
+        return query.map(ReactiveProductRepository::toProductResponseDTO).all();
+    }
+
+    public Mono<ProductResponseDTO> findById(UUID productId) {
+        return reactiveDatabaseClient.sql("SELECT product_id, name, price FROM product WHERE product_id = :productId")
+                .bind("productId", productId)
+                .map(ReactiveProductRepository::toProductResponseDTO)
+                .one();
+    }
+
+    private static ProductResponseDTO toProductResponseDTO(Readable row) {
+        return new ProductResponseDTO(row.get("product_id", UUID.class), row.get("name", String.class), row.get("price", Long.class));
+    }
+}
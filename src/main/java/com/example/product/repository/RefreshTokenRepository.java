@@ -0,0 +1,24 @@
+package com.example.product.repository;
+
+import com.example.product.domain.user.RefreshToken;
+import com.example.product.domain.user.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    @Query("SELECT r FROM RefreshToken r JOIN FETCH r.user WHERE r.tokenHash = :tokenHash")
+    RefreshToken findWithUserByTokenHash(@Param("tokenHash") String tokenHash);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.user = :user AND r.expiresAt <= :now")
+    int deleteExpiredByUser(@Param("user") User user, @Param("now") Instant now);
+}
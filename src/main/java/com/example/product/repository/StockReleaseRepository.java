@@ -0,0 +1,24 @@
+package com.example.product.repository;
+
+import com.example.product.domain.stock.StockRelease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface StockReleaseRepository extends JpaRepository<StockRelease, UUID> {
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO stock_release(reservation_id, expires_at) VALUES (:reservationId, :expiresAt) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("reservationId") UUID reservationId, @Param("expiresAt") Instant expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM StockRelease r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
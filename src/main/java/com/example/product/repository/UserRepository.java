@@ -1,11 +1,51 @@
 package com.example.product.repository;
 
 import com.example.product.domain.user.User;
+import com.example.product.domain.user.UserAuthorityDTO;
+import com.example.product.infra.persistence.SecondLevelCacheConfiguration;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Set;
 import java.util.UUID;
 
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserRepositoryCustom {
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = SecondLevelCacheConfiguration.USER_QUERY_REGION),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
     UserDetails findByUsername(String username);
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = SecondLevelCacheConfiguration.USER_QUERY_REGION)
+    })
+    @Query("SELECT new com.example.product.domain.user.UserAuthorityDTO(u.username, u.role) FROM User u WHERE u.username = :username")
+    UserAuthorityDTO findAuthorityByUsername(@Param("username") String username);
+
+    boolean existsByUsername(String username);
+
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    Set<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    // without declared spaces Hibernate cannot tell what a native write touches and invalidates every cache region
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = "INSERT INTO users(user_id, username, password, role) " +
+            "VALUES (:userId, :username, :password, :role) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfUsernameAvailable(@Param("userId") UUID userId,
+                                  @Param("username") String username,
+                                  @Param("password") String password,
+                                  @Param("role") int role);
 }
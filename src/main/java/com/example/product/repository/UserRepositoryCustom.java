@@ -0,0 +1,9 @@
+package com.example.product.repository;
+
+import com.example.product.domain.user.User;
+
+import java.util.List;
+
+public interface UserRepositoryCustom {
+    int[] insertAllIfUsernameAvailable(List<User> users);
+}
@@ -0,0 +1,73 @@
+package com.example.product.repository;
+
+import com.example.product.domain.user.User;
+import com.example.product.infra.persistence.SecondLevelCacheConfiguration;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_IF_USERNAME_AVAILABLE = "INSERT INTO users(user_id, username, password, role) " +
+            "VALUES (?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public int[] insertAllIfUsernameAvailable(List<User> users) {
+        int[][] batches = jdbcTemplate.batchUpdate(INSERT_IF_USERNAME_AVAILABLE, users, BATCH_SIZE, (statement, user) -> {
+            statement.setObject(1, user.getUserId());
+            statement.setString(2, user.getUsername());
+            statement.setString(3, user.getPassword());
+            statement.setInt(4, user.getRole().ordinal());
+        });
+
+        int[] inserted = new int[users.size()];
+        int row = 0;
+        boolean countsUnknown = false;
+        for (int[] batch : batches) {
+            for (int count : batch) {
+                countsUnknown |= count == Statement.SUCCESS_NO_INFO;
+                inserted[row++] = count;
+            }
+        }
+
+        // with reWriteBatchedInserts the driver cannot tell which rows hit a conflict, but our ids are new, so look them up
+        if (countsUnknown) {
+            Set<UUID> insertedIds = insertedIds(users);
+            for (int i = 0; i < users.size(); i++) {
+                inserted[i] = insertedIds.contains(users.get(i).getUserId()) ? 1 : 0;
+            }
+        }
+
+        // Hibernate never sees these JDBC inserts, so cached lookups (including "no such user") must be dropped by hand
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(SecondLevelCacheConfiguration.USER_QUERY_REGION);
+        return inserted;
+    }
+
+    private Set<UUID> insertedIds(List<User> users) {
+        NamedParameterJdbcTemplate namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        Set<UUID> insertedIds = new HashSet<>();
+        for (int from = 0; from < users.size(); from += BATCH_SIZE) {
+            List<UUID> ids = users.subList(from, Math.min(from + BATCH_SIZE, users.size())).stream().map(User::getUserId).toList();
+            insertedIds.addAll(namedParameterJdbcTemplate.queryForList(
+                    "SELECT user_id FROM users WHERE user_id IN (:ids)", Map.of("ids", ids), UUID.class));
+        }
+        return insertedIds;
+    }
+}
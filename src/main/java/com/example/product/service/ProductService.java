@@ -1,14 +1,36 @@
 package com.example.product.service;
 
+import com.example.product.domain.product.HotProductDTO;
+import com.example.product.domain.product.Prices;
 import com.example.product.domain.product.Product;
+import com.example.product.domain.product.ProductCursor;
+import com.example.product.domain.product.ProductFields;
+import com.example.product.domain.product.ProductLookupResponseDTO;
+import com.example.product.domain.product.ProductPage;
 import com.example.product.domain.product.ProductRequestDTO;
 import com.example.product.domain.product.ProductResponseDTO;
+import com.example.product.domain.product.ProductSort;
+import com.example.product.domain.product.ProductSuggestionDTO;
+import com.example.product.exception.InvalidProductQueryException;
 import com.example.product.exception.ProductNotFoundException;
+import com.example.product.infra.catalog.OffHeapProductStore;
+import com.example.product.infra.catalog.ProductCatalog;
+import com.example.product.infra.popularity.ProductPopularity;
 import com.example.product.repository.ProductRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -17,21 +39,142 @@ public class ProductService {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private StockService stockService;
+
+    @Autowired(required = false)
+    private ProductCatalog productCatalog;
+
+    @Autowired(required = false)
+    private OffHeapProductStore offHeapProductStore;
+
+    @Autowired(required = false)
+    private ProductPopularity productPopularity;
+
+    @Value("${productApi.product.page.max-size:1000}")
+    private int maxPageSize = 1000;
+
+    @Value("${productApi.product.suggest.max-size:50}")
+    private int maxSuggestions = 50;
+
+    @Value("${productApi.popularity.hot.max-size:100}")
+    private int maxHotProducts = 100;
+
     public Product createProduct(ProductRequestDTO data){
         Product product = new Product();
         product.setName(data.name());
-        product.setPrice(data.price());
-        return productRepository.save(product);
+        product.setPrice(Prices.toCents(data.price()));
+        Product savedProduct = productRepository.save(product);
+        publishSaved(savedProduct);
+        return savedProduct;
     }
 
-    public List<ProductResponseDTO> getAllProducts(String name,Double minPrice,Double maxPrice){
-        List<ProductResponseDTO> allProducts = productRepository.getAllFiltered(name,minPrice,maxPrice);
-        return allProducts;
+    @Transactional(readOnly = true)
+    public ProductPage getAllProducts(String name,BigDecimal minPrice,BigDecimal maxPrice,String sort,String after,Integer limit,ProductFields fields){
+        ProductSort productSort = ProductSort.fromParameter(sort);
+        if (limit != null && (limit < 1 || limit > maxPageSize)) {
+            throw new InvalidProductQueryException("Invalid value provided for limit. It must be between 1 and " + maxPageSize + ".");
+        }
+        ProductCursor cursor = after == null ? null : ProductCursor.decode(productSort, after);
+        Long minPriceInCents = minPrice == null ? null : Prices.ceilToCents(minPrice);
+        Long maxPriceInCents = maxPrice == null ? null : Prices.floorToCents(maxPrice);
+
+        if (productSort == ProductSort.NAME && cursor == null && limit == null) {
+            if (productCatalog != null && productCatalog.isLoaded()) {
+                return new ProductPage(productCatalog.query(name,minPriceInCents,maxPriceInCents), null);
+            }
+            if (fields.isAll()) {
+                return new ProductPage(productRepository.getAllFiltered(name,minPriceInCents,maxPriceInCents), null);
+            }
+        }
+
+        // a full page needs the sort key of its last row for the cursor, even when the caller did not ask for it
+        ProductFields selectedFields = limit == null ? fields : fields.including(productSort.getAttribute());
+        List<ProductResponseDTO> products = productRepository.getSorted(name,minPriceInCents,maxPriceInCents,productSort,cursor,limit,selectedFields);
+        String nextCursor = limit != null && products.size() == limit ? ProductCursor.encode(productSort, products.get(products.size() - 1)) : null;
+        return new ProductPage(products, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductSuggestionDTO> suggestProducts(String prefix,int limit){
+        if (prefix == null || prefix.isBlank()) {
+            throw new InvalidProductQueryException("Invalid value provided for prefix. It must not be blank.");
+        }
+        if (limit < 1 || limit > maxSuggestions) {
+            throw new InvalidProductQueryException("Invalid value provided for limit. It must be between 1 and " + maxSuggestions + ".");
+        }
+        if (productCatalog != null && productCatalog.isLoaded()) {
+            return productCatalog.suggest(prefix,limit).stream().map(ProductSuggestionDTO::new).toList();
+        }
+        String lowerPrefixPattern = prefix.toLowerCase(Locale.ROOT)
+                .replace("\\","\\\\")
+                .replace("%","\\%")
+                .replace("_","\\_") + "%";
+        return productRepository.findSuggestions(lowerPrefixPattern,Limit.of(limit));
     }
 
+    @Transactional(readOnly = true)
     public ProductResponseDTO getProduct(UUID productId){
+        if (offHeapProductStore != null) {
+            ProductResponseDTO cachedProduct = offHeapProductStore.get(productId);
+            if (cachedProduct != null) {
+                recordView(productId);
+                return cachedProduct;
+            }
+        }
         Product product = productRepository.findById(productId).orElseThrow(() -> new ProductNotFoundException("Product not found."));
-        return new ProductResponseDTO(product);
+        ProductResponseDTO productResponseDTO = new ProductResponseDTO(product);
+        if (offHeapProductStore != null) {
+            offHeapProductStore.put(productResponseDTO);
+        }
+        recordView(productId);
+        return productResponseDTO;
+    }
+
+    public List<HotProductDTO> getHotProducts(int limit){
+        if (limit < 1 || limit > maxHotProducts) {
+            throw new InvalidProductQueryException("Invalid value provided for limit. It must be between 1 and " + maxHotProducts + ".");
+        }
+        if (productPopularity == null) {
+            return List.of();
+        }
+        return productPopularity.hotProducts(limit);
+    }
+
+    @Transactional(readOnly = true)
+    public ProductLookupResponseDTO lookupProducts(List<UUID> productIds){
+        Map<UUID, ProductResponseDTO> found = new HashMap<>();
+        Set<UUID> misses = new LinkedHashSet<>();
+        for (UUID productId : productIds) {
+            ProductResponseDTO cachedProduct = offHeapProductStore == null ? null : offHeapProductStore.get(productId);
+            if (cachedProduct != null) {
+                found.put(productId, cachedProduct);
+            } else {
+                misses.add(productId);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            for (Product product : productRepository.multiLoad(List.copyOf(misses))) {
+                ProductResponseDTO productResponseDTO = new ProductResponseDTO(product);
+                found.put(product.getProductId(), productResponseDTO);
+                if (offHeapProductStore != null) {
+                    offHeapProductStore.put(productResponseDTO);
+                }
+            }
+        }
+
+        List<ProductResponseDTO> products = new ArrayList<>(productIds.size());
+        List<UUID> missingIds = new ArrayList<>();
+        for (UUID productId : productIds) {
+            ProductResponseDTO product = found.get(productId);
+            if (product != null) {
+                products.add(product);
+            } else {
+                missingIds.add(productId);
+            }
+        }
+        return new ProductLookupResponseDTO(products, missingIds);
     }
 
     public Product updateProduct(UUID productId, ProductRequestDTO data){
@@ -40,14 +183,46 @@ public class ProductService {
             product.setName(data.name());
         }
         if (data.price()!=null) {
-            product.setPrice(data.price());
+            product.setPrice(Prices.toCents(data.price()));
         }
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        publishSaved(savedProduct);
+        return savedProduct;
     }
 
     public void deleteProduct(UUID productId){
         productRepository.findById(productId).orElseThrow(() -> new ProductNotFoundException("Product not found."));
 
         productRepository.deleteById(productId);
+        stockService.evict(productId);
+        publishDeleted(productId);
+    }
+
+    private void publishSaved(Product product){
+        if (productCatalog == null && offHeapProductStore == null) {
+            return;
+        }
+        ProductResponseDTO productResponseDTO = new ProductResponseDTO(product);
+        if (productCatalog != null) {
+            productCatalog.upsert(productResponseDTO);
+        }
+        if (offHeapProductStore != null) {
+            offHeapProductStore.put(productResponseDTO);
+        }
+    }
+
+    private void publishDeleted(UUID productId){
+        if (productCatalog != null) {
+            productCatalog.remove(productId);
+        }
+        if (offHeapProductStore != null) {
+            offHeapProductStore.remove(productId);
+        }
+    }
+
+    private void recordView(UUID productId){
+        if (productPopularity != null) {
+            productPopularity.recordView(productId);
+        }
     }
 }
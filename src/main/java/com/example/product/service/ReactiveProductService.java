@@ -0,0 +1,93 @@
+package com.example.product.service;
+
+import com.example.product.domain.product.Prices;
+import com.example.product.domain.product.ProductCursor;
+import com.example.product.domain.product.ProductFields;
+import com.example.product.domain.product.ProductResponseDTO;
+import com.example.product.domain.product.ProductSort;
+import com.example.product.domain.product.ProductStream;
+import com.example.product.exception.InvalidProductQueryException;
+import com.example.product.exception.ProductNotFoundException;
+import com.example.product.infra.catalog.OffHeapProductStore;
+import com.example.product.infra.catalog.ProductCatalog;
+import com.example.product.infra.popularity.ProductPopularity;
+import com.example.product.repository.ReactiveProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+@ConditionalOnProperty(name = "productApi.reactive.r2dbc.url")
+public class ReactiveProductService {
+
+    @Autowired
+    private ReactiveProductRepository reactiveProductRepository;
+
+    @Autowired(required = false)
+    private ProductCatalog productCatalog;
+
+    @Autowired(required = false)
+    private OffHeapProductStore offHeapProductStore;
+
+    @Autowired(required = false)
+    private ProductPopularity productPopularity;
+
+    @Value("${productApi.product.page.max-size:1000}")
+    private int maxPageSize = 1000;
+
+    public ProductStream getAllProducts(String name, BigDecimal minPrice, BigDecimal maxPrice, String sort, String after, Integer limit, ProductFields fields){
+        ProductSort productSort = ProductSort.fromParameter(sort);
+        if (limit != null && (limit < 1 || limit > maxPageSize)) {
+            throw new InvalidProductQueryException("Invalid value provided for limit. It must be between 1 and " + maxPageSize + ".");
+        }
+        ProductCursor cursor = after == null ? null : ProductCursor.decode(productSort, after);
+        Long minPriceInCents = minPrice == null ? null : Prices.ceilToCents(minPrice);
+        Long maxPriceInCents = maxPrice == null ? null : Prices.floorToCents(maxPrice);
+        if (productSort == ProductSort.NAME && cursor == null && limit == null && productCatalog != null && productCatalog.isLoaded()) {
+            return new ProductStream(Flux.fromIterable(productCatalog.query(name,minPriceInCents,maxPriceInCents)), Mono.empty());
+        }
+        ProductFields selectedFields = limit == null ? fields : fields.including(productSort.getAttribute());
+        Flux<ProductResponseDTO> products = reactiveProductRepository.getAllFiltered(name,minPriceInCents,maxPriceInCents,productSort,cursor,limit,selectedFields);
+        if (limit == null) {
+            return new ProductStream(products, Mono.empty());
+        }
+        // the rows are not held, so the last one is remembered as it goes by to build the cursor of a full page
+        AtomicInteger count = new AtomicInteger();
+        AtomicReference<ProductResponseDTO> last = new AtomicReference<>();
+        products = products.doOnNext(product -> {
+            count.incrementAndGet();
+            last.set(product);
+        });
+        Mono<String> nextCursor = Mono.fromSupplier(() -> count.get() == limit ? ProductCursor.encode(productSort, last.get()) : null);
+        return new ProductStream(products, nextCursor);
+    }
+
+    public Mono<ProductResponseDTO> getProduct(UUID productId){
+        if (offHeapProductStore != null) {
+            ProductResponseDTO cachedProduct = offHeapProductStore.get(productId);
+            if (cachedProduct != null) {
+                recordView(productId);
+                return Mono.just(cachedProduct);
+            }
+        }
+        Mono<ProductResponseDTO> product = reactiveProductRepository.findById(productId);
+        if (offHeapProductStore != null) {
+            product = product.doOnNext(offHeapProductStore::put);
+        }
+        return product.doOnNext(found -> recordView(productId)).switchIfEmpty(Mono.error(() -> new ProductNotFoundException("Product not found.")));
+    }
+
+    private void recordView(UUID productId){
+        if (productPopularity != null) {
+            productPopularity.recordView(productId);
+        }
+    }
+}
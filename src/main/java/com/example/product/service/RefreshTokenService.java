@@ -0,0 +1,67 @@
+package com.example.product.service;
+
+import com.example.product.domain.user.RefreshToken;
+import com.example.product.domain.user.User;
+import com.example.product.exception.InvalidRefreshTokenException;
+import com.example.product.repository.RefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+
+@Service
+public class RefreshTokenService {
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${productApi.security.refresh-token.ttl:P30D}")
+    private Duration refreshTokenTtl = Duration.ofDays(30);
+
+    @Transactional
+    public String issue(User user){
+        byte[] randomBytes = new byte[32];
+        secureRandom.nextBytes(randomBytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
+
+        Instant now = Instant.now();
+        refreshTokenRepository.deleteExpiredByUser(user, now);
+        refreshTokenRepository.save(new RefreshToken(hash(refreshToken), user, now.plus(refreshTokenTtl)));
+
+        return refreshToken;
+    }
+
+    @Transactional
+    public User consume(String refreshToken){
+        String tokenHash = hash(refreshToken);
+        RefreshToken stored = refreshTokenRepository.findWithUserByTokenHash(tokenHash);
+
+        if (stored == null || refreshTokenRepository.deleteByTokenHash(tokenHash) == 0){
+            throw new InvalidRefreshTokenException("Invalid refresh token.");
+        }
+        if (!stored.getExpiresAt().isAfter(Instant.now())){
+            throw new InvalidRefreshTokenException("Invalid refresh token.");
+        }
+        return stored.getUser();
+    }
+
+    static String hash(String refreshToken){
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(refreshToken.getBytes(StandardCharsets.US_ASCII)));
+        }catch (NoSuchAlgorithmException exception){
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.product.service;
+
+import com.example.product.domain.stock.ProductStock;
+import com.example.product.domain.stock.ReservationResponseDTO;
+import com.example.product.domain.stock.StockDelta;
+import com.example.product.domain.stock.StockReservation;
+import com.example.product.domain.stock.StockResponseDTO;
+import com.example.product.exception.InvalidStockReleaseException;
+import com.example.product.exception.OutOfStockException;
+import com.example.product.exception.ProductNotFoundException;
+import com.example.product.exception.ReservationNotFoundException;
+import com.example.product.infra.stock.StripedStockCounter;
+import com.example.product.repository.ProductRepository;
+import com.example.product.repository.ProductStockRepository;
+import com.example.product.repository.StockReleaseRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class StockService {
+
+    @Autowired
+    private ProductStockRepository productStockRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockReleaseRepository stockReleaseRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Value("${productApi.stock.chunk-size:100}")
+    private long chunkSize = 100;
+
+    @Value("${productApi.stock.stripes:0}")
+    private int stripes = 0;
+
+    @Value("${productApi.stock.flush-interval:PT1S}")
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    @Value("${productApi.stock.reservation-ttl:P1D}")
+    private Duration reservationTtl = Duration.ofDays(1);
+
+    private final ConcurrentHashMap<UUID, StripedStockCounter> counters = new ConcurrentHashMap<>();
+
+    public ReservationResponseDTO reserve(UUID productId, long quantity, String owner) {
+        take(productId, quantity);
+        StockReservation reservation = new StockReservation(UUID.randomUUID(), owner, productId, quantity, Instant.now().plus(reservationTtl));
+        return new ReservationResponseDTO(tokenService.generateReservationToken(reservation), reservation.expiresAt());
+    }
+
+    // the reservation carries its owner, product and quantity, so any instance can release it, and only once
+    public void release(UUID productId, String reservationId, String owner) {
+        StockReservation reservation = tokenService.validateReservationToken(reservationId);
+        if (reservation == null || !reservation.productId().equals(productId) || !reservation.owner().equals(owner)) {
+            throw new ReservationNotFoundException("Reservation not found.");
+        }
+        if (stockReleaseRepository.insertIfAbsent(reservation.reservationId(), reservation.expiresAt()) == 0) {
+            throw new InvalidStockReleaseException("Reservation already released.");
+        }
+        counterOf(productId).release(reservation.quantity());
+    }
+
+    public StockResponseDTO restock(UUID productId, long quantity) {
+        if (!productRepository.existsById(productId)) {
+            throw new ProductNotFoundException("Product not found.");
+        }
+        if (productStockRepository.addAvailable(productId, quantity) == 0) {
+            try {
+                productStockRepository.saveAndFlush(new ProductStock(productId, quantity, 0));
+            } catch (DataIntegrityViolationException concurrentRestock) {
+                productStockRepository.addAvailable(productId, quantity);
+            }
+        }
+        counterOf(productId).clearSoldOut();
+        return getStock(productId);
+    }
+
+    public StockResponseDTO getStock(UUID productId) {
+        ProductStock stock = productStockRepository.findById(productId).orElse(null);
+        if (stock == null && !productRepository.existsById(productId)) {
+            throw new ProductNotFoundException("Product not found.");
+        }
+        long available = stock == null ? 0 : stock.getAvailable();
+        long reserved = stock == null ? 0 : stock.getReserved();
+        StripedStockCounter counter = counters.get(productId);
+        if (counter != null) {
+            available += counter.available();
+            reserved += counter.pendingReserved();
+        }
+        return new StockResponseDTO(productId, available, reserved);
+    }
+
+    // the quota held for a deleted product must not be sold, and the next reserve checks the product again
+    public void evict(UUID productId) {
+        StripedStockCounter counter = counters.remove(productId);
+        if (counter == null) {
+            return;
+        }
+        synchronized (counter) {
+            counter.drain();
+            counter.takePendingReserved();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${productApi.stock.flush-interval:PT1S}")
+    public void flush() {
+        flush(chunkSize);
+    }
+
+    @Scheduled(fixedDelayString = "${productApi.stock.release-purge-interval:PT1H}")
+    public void purgeReleases() {
+        stockReleaseRepository.deleteExpired(Instant.now());
+    }
+
+    @PreDestroy
+    public void returnQuota() {
+        flush(0);
+    }
+
+    void flush(long keep) {
+        List<StockDelta> deltas = new ArrayList<>();
+        counters.forEach((productId, counter) -> {
+            long reserved;
+            long surplus;
+            synchronized (counter) {
+                reserved = counter.takePendingReserved();
+                // quota of products that went quiet goes back so other instances can sell it
+                long kept = reserved == 0 ? 0 : keep;
+                long local = counter.drain();
+                counter.deposit(Math.min(local, kept));
+                surplus = Math.max(local - kept, 0);
+            }
+            if (surplus != 0 || reserved != 0) {
+                deltas.add(new StockDelta(productId, surplus, reserved));
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<UUID> missing;
+        try {
+            missing = productStockRepository.applyDeltas(deltas);
+        } catch (RuntimeException ex) {
+            deltas.forEach(delta -> {
+                StripedStockCounter counter = counters.get(delta.productId());
+                if (counter != null) {
+                    counter.deposit(delta.available());
+                    counter.recordReserved(delta.reserved());
+                }
+            });
+            throw ex;
+        }
+        missing.forEach(this::evict);
+    }
+
+    private void take(UUID productId, long quantity) {
+        StripedStockCounter counter = counters.get(productId);
+        if (counter == null) {
+            // unknown ids would otherwise each leave a counter behind and lock a row that is not there
+            if (!productRepository.existsById(productId)) {
+                throw new ProductNotFoundException("Product not found.");
+            }
+            counter = counterOf(productId);
+        }
+        if (counter.tryReserve(quantity)) {
+            return;
+        }
+
+        synchronized (counter) {
+            if (counter.tryReserve(quantity)) {
+                return;
+            }
+            long local = counter.drain();
+            try {
+                local += claim(productId, counter, quantity - local);
+            } catch (RuntimeException ex) {
+                counter.deposit(local);
+                throw ex;
+            }
+            if (local < quantity) {
+                counter.deposit(local);
+                throw new OutOfStockException("Not enough stock for the requested quantity.");
+            }
+            counter.deposit(local - quantity);
+            counter.recordReserved(quantity);
+        }
+    }
+
+    private long claim(UUID productId, StripedStockCounter counter, long missing) {
+        if (missing <= 0 || counter.isSoldOut(System.nanoTime())) {
+            return 0;
+        }
+        long wanted = Math.max(missing, chunkSize);
+        long claimed = productStockRepository.claim(productId, wanted);
+        if (claimed < wanted) {
+            counter.markSoldOut(System.nanoTime() + flushInterval.toNanos());
+        }
+        return claimed;
+    }
+
+    private StripedStockCounter counterOf(UUID productId) {
+        return counters.computeIfAbsent(productId, id -> new StripedStockCounter(stripeCount()));
+    }
+
+    private int stripeCount() {
+        if (stripes > 0) {
+            return stripes;
+        }
+        return Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) << 1;
+    }
+}
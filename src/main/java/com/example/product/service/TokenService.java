@@ -1,50 +1,113 @@
 package com.example.product.service;
 
 import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.example.product.domain.stock.StockReservation;
 import com.example.product.domain.user.User;
+import com.example.product.infra.security.SigningKeyRing;
+import com.example.product.infra.security.VerifiedTokenCache;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.UUID;
 
 @Service
 public class TokenService {
 
-    @Value("${productApi.security.token.secret}")
-    private String secret;
+    private static final String RESERVATION_OWNER = "owner";
+    private static final String RESERVATION_PRODUCT = "productId";
+    private static final String RESERVATION_QUANTITY = "quantity";
+
+    @Autowired
+    private SigningKeyRing signingKeyRing;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Value("${productApi.security.token.ttl:PT15M}")
+    private Duration accessTokenTtl = Duration.ofMinutes(15);
 
     public String generateToken(User user){
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
             return JWT.create()
-                    .withIssuer("ProductApi")
+                    .withKeyId(signingKeyRing.activeKid())
+                    .withIssuer(SigningKeyRing.ISSUER)
                     .withSubject(user.getUsername())
                     .withExpiresAt(generateExpirationDate())
-                    .sign(algorithm);
+                    .sign(signingKeyRing.signingAlgorithm());
         }catch (JWTCreationException exception){
             throw new JWTCreationException("Error While generation token",exception);
         }
     }
 
     public String validateToken(String token){
+        String cachedSubject = verifiedTokenCache.subjectFor(token);
+        if (cachedSubject != null){
+            return cachedSubject;
+        }
+
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("ProductApi")
-                    .build()
-                    .verify(token)
-                    .getSubject();
+            DecodedJWT decodedJWT = JWT.decode(token);
+            JWTVerifier verifier = signingKeyRing.verifierFor(decodedJWT.getKeyId());
+            if (verifier == null){
+                return null;
+            }
+
+            DecodedJWT verified = verifier.verify(decodedJWT);
+            if (verified.getSubject() != null){
+                verifiedTokenCache.put(token, verified.getSubject(), verified.getExpiresAtAsInstant());
+            }
+            return verified.getSubject();
         }catch (JWTVerificationException exception){
             return null;
         }
     }
 
+    // no subject, so a reservation never passes validateToken as an access token
+    public String generateReservationToken(StockReservation reservation){
+        try {
+            return JWT.create()
+                    .withKeyId(signingKeyRing.activeKid())
+                    .withIssuer(SigningKeyRing.ISSUER)
+                    .withJWTId(reservation.reservationId().toString())
+                    .withClaim(RESERVATION_OWNER, reservation.owner())
+                    .withClaim(RESERVATION_PRODUCT, reservation.productId().toString())
+                    .withClaim(RESERVATION_QUANTITY, reservation.quantity())
+                    .withExpiresAt(reservation.expiresAt())
+                    .sign(signingKeyRing.signingAlgorithm());
+        }catch (JWTCreationException exception){
+            throw new JWTCreationException("Error While generation token",exception);
+        }
+    }
+
+    public StockReservation validateReservationToken(String token){
+        try {
+            DecodedJWT decodedJWT = JWT.decode(token);
+            JWTVerifier verifier = signingKeyRing.verifierFor(decodedJWT.getKeyId());
+            if (verifier == null){
+                return null;
+            }
+
+            DecodedJWT verified = verifier.verify(decodedJWT);
+            String owner = verified.getClaim(RESERVATION_OWNER).asString();
+            String productId = verified.getClaim(RESERVATION_PRODUCT).asString();
+            Long quantity = verified.getClaim(RESERVATION_QUANTITY).asLong();
+            if (verified.getSubject() != null || verified.getId() == null || owner == null || productId == null || quantity == null){
+                return null;
+            }
+            return new StockReservation(UUID.fromString(verified.getId()), owner, UUID.fromString(productId), quantity, verified.getExpiresAtAsInstant());
+        }catch (JWTVerificationException | IllegalArgumentException exception){
+            return null;
+        }
+    }
+
     private Instant generateExpirationDate(){
-        return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
+        return Instant.now().plus(accessTokenTtl);
     }
 }
@@ -2,6 +2,8 @@ package com.example.product.service;
 
 import com.example.product.domain.user.*;
 import com.example.product.exception.UsernameAlreadyInUseException;
+import com.example.product.infra.persistence.UuidV7Generator;
+import com.example.product.infra.security.BulkPasswordEncoder;
 import com.example.product.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,6 +13,9 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
 
 @Service
 public class UserService {
@@ -24,26 +29,79 @@ public class UserService {
     @Autowired
     private TokenService tokenService;
 
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
-    public void create(RegisterRequestDTO data){
-        if (userRepository.findByUsername(data.username())==null){
-            User newUser = new User();
+    @Autowired
+    private BulkPasswordEncoder bulkPasswordEncoder;
 
-            newUser.setUsername(data.username());
+    public void create(RegisterRequestDTO data){
+        // a taken username must not cost a password hash; the insert below still settles concurrent registrations
+        if (userRepository.existsByUsername(data.username())){
+            throw new UsernameAlreadyInUseException("This username is already in use.");
+        }
 
-            String encryptedPassword = passwordEncoder.encode(data.password());
-            newUser.setPassword(encryptedPassword);
+        String encryptedPassword = passwordEncoder.encode(data.password());
 
-            newUser.setRole(data.role());
+        int inserted = userRepository.insertIfUsernameAvailable(
+                UuidV7Generator.next(), data.username(), encryptedPassword, data.role().ordinal());
 
-            userRepository.save(newUser);
-        }else{
+        if (inserted == 0){
             throw new UsernameAlreadyInUseException("This username is already in use.");
         }
     }
 
+    public List<BulkRegisterResultDTO> createAll(List<RegisterRequestDTO> data){
+        Map<String, Integer> firstOccurrences = new HashMap<>();
+        for (int i = 0; i < data.size(); i++) {
+            firstOccurrences.putIfAbsent(data.get(i).username(), i);
+        }
+
+        Set<String> existingUsernames = userRepository.findExistingUsernames(firstOccurrences.keySet());
+
+        List<RegisterRequestDTO> candidates = new ArrayList<>();
+        for (int i = 0; i < data.size(); i++) {
+            RegisterRequestDTO registerRequestDTO = data.get(i);
+            if (firstOccurrences.get(registerRequestDTO.username()) == i && !existingUsernames.contains(registerRequestDTO.username())) {
+                candidates.add(registerRequestDTO);
+            }
+        }
+
+        List<String> encryptedPasswords = bulkPasswordEncoder.encodeAll(candidates.stream().map(RegisterRequestDTO::password).toList());
+
+        List<User> newUsers = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            RegisterRequestDTO candidate = candidates.get(i);
+            newUsers.add(new User(UuidV7Generator.next(), candidate.username(), encryptedPasswords.get(i), candidate.role()));
+        }
+
+        int[] inserted = newUsers.isEmpty() ? new int[0] : userRepository.insertAllIfUsernameAvailable(newUsers);
+
+        Map<String, BulkRegisterStatus> insertedStatuses = new HashMap<>();
+        for (int i = 0; i < newUsers.size(); i++) {
+            insertedStatuses.put(newUsers.get(i).getUsername(),
+                    inserted[i] == 0 ? BulkRegisterStatus.USERNAME_IN_USE : BulkRegisterStatus.CREATED);
+        }
+
+        List<BulkRegisterResultDTO> results = new ArrayList<>(data.size());
+        for (int i = 0; i < data.size(); i++) {
+            String username = data.get(i).username();
+            BulkRegisterStatus status;
+            if (firstOccurrences.get(username) != i) {
+                status = BulkRegisterStatus.DUPLICATED_IN_REQUEST;
+            } else if (existingUsernames.contains(username)) {
+                status = BulkRegisterStatus.USERNAME_IN_USE;
+            } else {
+                status = insertedStatuses.get(username);
+            }
+            results.add(new BulkRegisterResultDTO(username, status));
+        }
+        return results;
+    }
+
     public LoginResponseDTO login(LoginRequestDTO data) {
         UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(data.username(), data.password());
 
@@ -53,11 +111,22 @@ public class UserService {
             User user = (User) authentication.getPrincipal();
 
             String token = tokenService.generateToken(user);
+            String refreshToken = refreshTokenService.issue(user);
 
-            return new LoginResponseDTO(token, data.username(), user.getRole());
+            return new LoginResponseDTO(token, data.username(), user.getRole(), refreshToken);
         }catch (InternalAuthenticationServiceException e){
             throw new BadCredentialsException("User or password incorrect.");
         }
 
     }
+
+    @Transactional
+    public LoginResponseDTO refresh(RefreshRequestDTO data){
+        User user = refreshTokenService.consume(data.refreshToken());
+
+        String token = tokenService.generateToken(user);
+        String refreshToken = refreshTokenService.issue(user);
+
+        return new LoginResponseDTO(token, user.getUsername(), user.getRole(), refreshToken);
+    }
 }
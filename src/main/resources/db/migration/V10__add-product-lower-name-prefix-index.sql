@@ -0,0 +1 @@
+CREATE INDEX product_lower_name_prefix_idx ON product(lower(name) text_pattern_ops);
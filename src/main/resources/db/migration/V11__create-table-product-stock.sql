@@ -0,0 +1,5 @@
+CREATE TABLE product_stock(
+    product_id UUID PRIMARY KEY REFERENCES product(product_id) ON DELETE CASCADE,
+    available BIGINT NOT NULL DEFAULT 0 CHECK (available >= 0),
+    reserved BIGINT NOT NULL DEFAULT 0 CHECK (reserved >= 0)
+);
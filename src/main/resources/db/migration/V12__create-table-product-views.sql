@@ -0,0 +1,4 @@
+CREATE TABLE product_views(
+    product_id UUID PRIMARY KEY REFERENCES product(product_id) ON DELETE CASCADE,
+    views BIGINT NOT NULL DEFAULT 0
+);
@@ -0,0 +1,6 @@
+CREATE TABLE stock_release(
+    reservation_id UUID PRIMARY KEY,
+    expires_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX stock_release_expires_at_idx ON stock_release(expires_at);
@@ -0,0 +1,2 @@
+DROP INDEX product_lower_name_prefix_idx;
+CREATE INDEX product_lower_name_prefix_idx ON product((lower(name) COLLATE "C"), product_id);
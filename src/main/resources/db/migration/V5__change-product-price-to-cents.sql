@@ -0,0 +1,2 @@
+ALTER TABLE product
+ALTER COLUMN price TYPE BIGINT USING ROUND(price * 100)::BIGINT;
\ No newline at end of file
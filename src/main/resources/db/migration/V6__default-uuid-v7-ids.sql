@@ -0,0 +1,19 @@
+CREATE OR REPLACE FUNCTION uuid_generate_v7()
+RETURNS UUID
+AS $$
+DECLARE
+    uuid_bytes BYTEA;
+BEGIN
+    uuid_bytes = substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::BIGINT) FROM 3)
+        || gen_random_bytes(10);
+    uuid_bytes = set_byte(uuid_bytes, 6, (b'0111' || get_byte(uuid_bytes, 6)::BIT(4))::BIT(8)::INT);
+    uuid_bytes = set_byte(uuid_bytes, 8, (b'10' || get_byte(uuid_bytes, 8)::BIT(6))::BIT(8)::INT);
+    RETURN encode(uuid_bytes, 'hex')::UUID;
+END
+$$ LANGUAGE plpgsql VOLATILE;
+
+ALTER TABLE product
+ALTER COLUMN product_id SET DEFAULT uuid_generate_v7();
+
+ALTER TABLE users
+ALTER COLUMN user_id SET DEFAULT uuid_generate_v7();
\ No newline at end of file
@@ -0,0 +1,7 @@
+CREATE TABLE refresh_token(
+    token_hash CHAR(64) PRIMARY KEY,
+    user_id UUID NOT NULL REFERENCES users(user_id) ON DELETE CASCADE,
+    expires_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX refresh_token_user_id_idx ON refresh_token(user_id);
\ No newline at end of file
@@ -0,0 +1,2 @@
+CREATE INDEX product_name_product_id_idx ON product(name, product_id);
+CREATE INDEX product_price_product_id_idx ON product(price, product_id);
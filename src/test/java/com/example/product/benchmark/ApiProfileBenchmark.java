@@ -0,0 +1,152 @@
+package com.example.product.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.ProcessBuilder.Redirect;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// needs the database from application.properties and `mvn package`; run with -p adminPassword=<password of the admin user>.
+// prod adds the core-sized pool, the pgJDBC statement cache, reWriteBatchedInserts and Hibernate batching on top of the defaults
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Threads(16)
+@Fork(1)
+public class ApiProfileBenchmark {
+
+    private static final String JAR = "target/product-0.0.1-SNAPSHOT.jar";
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\":\"([^\"]+)\"");
+
+    private static final int SEEDED_PRODUCTS = 1_000;
+
+    private static final int BULK_SIZE = 50;
+
+    @Param({"default", "prod"})
+    String profile;
+
+    @Param({"18081"})
+    int port;
+
+    @Param({"4"})
+    int databaseCores;
+
+    @Param({""})
+    String adminPassword;
+
+    HttpClient httpClient;
+
+    Process application;
+
+    String token;
+
+    AtomicLong usernames;
+
+    @Setup
+    public void setUp() throws Exception {
+        if (adminPassword.isBlank()) {
+            throw new IllegalStateException("Run with -p adminPassword=<password of the admin user>.");
+        }
+        httpClient = HttpClient.newHttpClient();
+        application = new ProcessBuilder("java", "-jar", JAR,
+                "--server.port=" + port,
+                "--spring.profiles.active=" + profile,
+                "--productApi.datasource.pool.database-cores=" + databaseCores,
+                "--productApi.warm-up.enabled=false")
+                .redirectErrorStream(true)
+                .redirectOutput(Redirect.DISCARD)
+                .start();
+        waitUntilHealthy();
+
+        HttpResponse<String> login = httpClient.send(post("/user/login",
+                "{\"username\":\"admin\",\"password\":\"" + adminPassword + "\"}"), HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(login.body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("Login failed with " + login.statusCode() + ": " + login.body());
+        }
+        token = matcher.group(1);
+
+        for (int i = 0; i < SEEDED_PRODUCTS; i++) {
+            send(post("/product", "{\"name\":\"Benchmark product " + i + "\",\"price\":" + (i + 1) + ".50}"));
+        }
+        usernames = new AtomicLong(System.nanoTime());
+    }
+
+    @TearDown
+    public void stop() throws Exception {
+        application.destroy();
+        application.waitFor();
+    }
+
+    @Benchmark
+    public int getPage() throws Exception {
+        return send(get("/product?sort=price&limit=20"));
+    }
+
+    @Benchmark
+    public int searchByName() throws Exception {
+        return send(get("/product?name=product%201&sort=price&limit=20"));
+    }
+
+    // BCrypt dominates this one on both profiles, so the gap is the batched, rewritten insert
+    @Benchmark
+    public int registerBulk() throws Exception {
+        List<String> users = new ArrayList<>(BULK_SIZE);
+        for (int i = 0; i < BULK_SIZE; i++) {
+            users.add("{\"username\":\"bench-" + usernames.incrementAndGet() + "\",\"password\":\"benchmark\",\"role\":\"COMMON\"}");
+        }
+        return send(post("/user/register/bulk", "{\"users\":[" + String.join(",", users) + "]}"));
+    }
+
+    private void waitUntilHealthy() throws Exception {
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health")).build();
+        while (application.isAlive()) {
+            try {
+                if (httpClient.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException notListeningYet) {
+                // retried below
+            }
+            Thread.sleep(50);
+        }
+        throw new IllegalStateException(profile + " profile exited with " + application.exitValue());
+    }
+
+    private int send(HttpRequest request) throws Exception {
+        int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status >= 300) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " returned " + status);
+        }
+        return status;
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "application/json")
+                .build();
+    }
+
+    private HttpRequest post(String path, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.product.benchmark;
+
+import com.example.product.infra.security.BulkPasswordEncoder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class BulkPasswordEncoderBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    int parallelism;
+
+    BulkPasswordEncoder bulkPasswordEncoder;
+
+    List<String> passwords;
+
+    @Setup
+    public void setUp() {
+        bulkPasswordEncoder = new BulkPasswordEncoder(new BCryptPasswordEncoder(), parallelism);
+        passwords = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            passwords.add("password" + i);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(64)
+    public List<String> encodeAll() {
+        return bulkPasswordEncoder.encodeAll(passwords);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.product.benchmark;
+
+import com.example.product.domain.product.ProductResponseDTO;
+import com.example.product.infra.catalog.OffHeapProductStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms8g", "-Xmx8g", "-XX:MaxDirectMemorySize=4g"})
+public class OffHeapProductStoreBenchmark {
+
+    @Param({"1000000"})
+    int products;
+
+    OffHeapProductStore offHeapStore;
+
+    Map<UUID, ProductResponseDTO> onHeapStore;
+
+    UUID[] ids;
+
+    int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        offHeapStore = new OffHeapProductStore();
+        onHeapStore = new ConcurrentHashMap<>(products * 2);
+        ids = new UUID[products];
+        for (int i = 0; i < products; i++) {
+            ProductResponseDTO product = new ProductResponseDTO(UUID.randomUUID(), "Product " + i, random.nextInt(1_000_000));
+            ids[i] = product.productId();
+            offHeapStore.put(product);
+            onHeapStore.put(product.productId(), product);
+        }
+        System.out.printf("%noff-heap footprint: %d bytes (%.1f bytes/product)%n",
+                offHeapStore.footprintBytes(), (double) offHeapStore.footprintBytes() / products);
+    }
+
+    @Benchmark
+    public ProductResponseDTO offHeapLookup() {
+        return offHeapStore.get(ids[next++ % ids.length]);
+    }
+
+    @Benchmark
+    public ProductResponseDTO onHeapLookup() {
+        return onHeapStore.get(ids[next++ % ids.length]);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.product.benchmark;
+
+import com.example.product.domain.product.ProductResponseDTO;
+import com.example.product.infra.catalog.ProductCatalog;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms6g", "-Xmx6g"})
+public class ProductCatalogBenchmark {
+
+    private static final String[] WORDS = {"smartphone", "notebook", "monitor", "keyboard", "mouse", "headset", "tablet", "camera"};
+
+    @Param({"1000000", "5000000"})
+    int products;
+
+    ProductCatalog catalog;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<ProductResponseDTO> catalogProducts = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            catalogProducts.add(new ProductResponseDTO(UUID.randomUUID(), name, random.nextInt(1_000_000)));
+        }
+        catalog = new ProductCatalog();
+        catalog.load(catalogProducts);
+        System.out.printf("%ncatalog footprint: %d bytes (%.1f bytes/product)%n",
+                catalog.footprintBytes(), (double) catalog.footprintBytes() / products);
+    }
+
+    @Benchmark
+    public List<ProductResponseDTO> narrowPriceRange() {
+        return catalog.query(null, 10000L, 10100L);
+    }
+
+    @Benchmark
+    public List<ProductResponseDTO> selectiveNameFilter() {
+        return catalog.query("99999", null, null);
+    }
+
+    @Benchmark
+    public List<ProductResponseDTO> nameAndPriceFilter() {
+        return catalog.query("camera", 10000L, 20000L);
+    }
+
+    @Benchmark
+    public List<ProductResponseDTO> suggestShortPrefix() {
+        return catalog.suggest("ca", 10);
+    }
+
+    @Benchmark
+    public List<ProductResponseDTO> suggestLongPrefix() {
+        return catalog.suggest("camera mouse 12", 10);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.product.benchmark;
+
+import com.example.product.domain.product.ProductFields;
+import com.example.product.domain.product.ProductResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms3g", "-Xmx3g"})
+public class ProductFieldsBenchmark {
+
+    private static final String[] WORDS = {"smartphone", "notebook", "monitor", "keyboard", "mouse", "headset", "tablet", "camera"};
+
+    @Param({"1000000"})
+    int products;
+
+    @Param({"productId,name,price", "productId,price"})
+    String fields;
+
+    List<ProductResponseDTO> rows;
+
+    ObjectWriter writer;
+
+    Connection connection;
+
+    String sql;
+
+    @Setup
+    public void setUp() throws Exception {
+        Random random = new Random(42);
+        rows = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            rows.add(new ProductResponseDTO(UUID.randomUUID(), name, random.nextInt(1_000_000)));
+        }
+
+        ProductFields productFields = ProductFields.fromParameter(fields);
+        ObjectMapper objectMapper = new ObjectMapper();
+        writer = productFields.isAll() ? objectMapper.writer() : objectMapper.writerWithView(productFields.view());
+        CountingOutputStream payload = new CountingOutputStream();
+        writer.writeValue(payload, rows);
+        System.out.printf("%npayload: %d bytes (%.1f bytes/product)%n", payload.count, (double) payload.count / products);
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:fields;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS product");
+            statement.execute("CREATE TABLE product(product_id UUID PRIMARY KEY, name VARCHAR(250) NOT NULL, price BIGINT NOT NULL)");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO product VALUES (?, ?, ?)")) {
+            for (int i = 0; i < products; i++) {
+                insert.setObject(1, rows.get(i).productId());
+                insert.setString(2, rows.get(i).name());
+                insert.setLong(3, rows.get(i).price());
+                insert.addBatch();
+                if (i % 10_000 == 9_999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        sql = productFields.name() ? "SELECT product_id, name, price FROM product" : "SELECT product_id, price FROM product";
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public long serialize() throws IOException {
+        CountingOutputStream payload = new CountingOutputStream();
+        writer.writeValue(payload, rows);
+        return payload.count;
+    }
+
+    @Benchmark
+    public List<ProductResponseDTO> query() throws SQLException {
+        boolean withName = sql.contains("name");
+        List<ProductResponseDTO> result = new ArrayList<>(products);
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                result.add(new ProductResponseDTO(resultSet.getObject(1, UUID.class),
+                        withName ? resultSet.getString(2) : null, resultSet.getLong(withName ? 3 : 2)));
+            }
+        }
+        return result;
+    }
+
+    static final class CountingOutputStream extends OutputStream {
+
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
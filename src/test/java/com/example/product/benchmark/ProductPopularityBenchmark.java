@@ -0,0 +1,64 @@
+package com.example.product.benchmark;
+
+import com.example.product.infra.popularity.ProductPopularity;
+import com.example.product.infra.popularity.SpaceSavingSketch;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class ProductPopularityBenchmark {
+
+    @Param({"10000"})
+    int products;
+
+    ProductPopularity popularity;
+
+    SpaceSavingSketch sketch;
+
+    UUID[] views;
+
+    int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        UUID[] ids = new UUID[products];
+        for (int i = 0; i < products; i++) {
+            ids[i] = UUID.randomUUID();
+        }
+        // skewed towards the first ids, like a catalog with a handful of hot products
+        views = new UUID[1 << 16];
+        for (int i = 0; i < views.length; i++) {
+            views[i] = ids[(int) (products * Math.pow(random.nextDouble(), 4))];
+        }
+        popularity = new ProductPopularity();
+        popularity.startCounting();
+        sketch = new SpaceSavingSketch(1000);
+    }
+
+    @Benchmark
+    public UUID baseline() {
+        return views[next++ & (views.length - 1)];
+    }
+
+    @Benchmark
+    public void recordView() {
+        popularity.recordView(views[next++ & (views.length - 1)]);
+    }
+
+    @Benchmark
+    public void synchronizedSketchOffer() {
+        UUID productId = views[next++ & (views.length - 1)];
+        synchronized (sketch) {
+            sketch.offer(productId, 1);
+        }
+    }
+}
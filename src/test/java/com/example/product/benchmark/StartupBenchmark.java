@@ -0,0 +1,98 @@
+package com.example.product.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.ProcessBuilder.Redirect;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// needs the database from application.properties, plus `mvn -Pnative package` and `mvn -Pnative native:compile` for the aot and native builds;
+// jvm-cds extracts the jar and records its archive with the cds-training profile the first time it runs
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final String JAR = "target/product-0.0.1-SNAPSHOT.jar";
+    private static final String EXTRACTED_JAR = "target/extracted/application.jar";
+    private static final String CDS_ARCHIVE = "target/extracted/application.jsa";
+
+    @Param({"jvm", "jvm-cds", "jvm-aot", "native"})
+    String build;
+
+    @Param({"18080"})
+    int port;
+
+    HttpClient httpClient;
+
+    Process application;
+
+    @Setup
+    public void setUp() throws Exception {
+        httpClient = HttpClient.newHttpClient();
+        if (build.equals("jvm-cds") && !Files.exists(Path.of(CDS_ARCHIVE))) {
+            runToCompletion("java", "-Djarmode=tools", "-jar", JAR, "extract", "--force",
+                    "--destination", "target/extracted", "--application-filename", "application.jar");
+            runToCompletion("java", "-XX:ArchiveClassesAtExit=" + CDS_ARCHIVE, "-Dspring.profiles.active=cds-training", "-jar", EXTRACTED_JAR);
+        }
+    }
+
+    @Benchmark
+    public int startUntilHealthy() throws Exception {
+        application = new ProcessBuilder(command())
+                .redirectErrorStream(true)
+                .redirectOutput(Redirect.DISCARD)
+                .start();
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health")).build();
+        while (application.isAlive()) {
+            try {
+                return httpClient.send(health, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException notListeningYet) {
+                Thread.sleep(5);
+            }
+        }
+        throw new IllegalStateException(build + " build exited with " + application.exitValue());
+    }
+
+    @TearDown(Level.Invocation)
+    public void stop() throws Exception {
+        System.out.printf("%n%s RSS after startup: %s%n", build, residentSetSize(application.pid()));
+        application.destroy();
+        application.waitFor();
+    }
+
+    private List<String> command() {
+        String serverPort = "--server.port=" + port;
+        return switch (build) {
+            case "jvm" -> List.of("java", "-jar", JAR, serverPort);
+            case "jvm-cds" -> List.of("java", "-XX:SharedArchiveFile=" + CDS_ARCHIVE, "-jar", EXTRACTED_JAR, serverPort);
+            case "jvm-aot" -> List.of("java", "-Dspring.aot.enabled=true", "-jar", JAR, serverPort);
+            default -> List.of("target/product-api", serverPort);
+        };
+    }
+
+    private static void runToCompletion(String... command) throws Exception {
+        Process process = new ProcessBuilder(command).inheritIO().start();
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException(String.join(" ", command) + " exited with " + process.exitValue());
+        }
+    }
+
+    private static String residentSetSize(long pid) throws IOException {
+        return Files.readAllLines(Path.of("/proc", Long.toString(pid), "status")).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> line.substring("VmRSS:".length()).trim())
+                .findFirst()
+                .orElse("unknown");
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.product.benchmark;
+
+import com.example.product.infra.stock.StripedStockCounter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class StockContentionBenchmark {
+
+    private static final long REFILL = 1_000_000;
+
+    StripedStockCounter striped;
+
+    AtomicLong single;
+
+    long locked;
+
+    @Setup
+    public void setUp() {
+        striped = new StripedStockCounter(Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1);
+        striped.deposit(REFILL);
+        single = new AtomicLong(REFILL);
+        locked = REFILL;
+    }
+
+    @Benchmark
+    public boolean stripedCounter() {
+        if (striped.tryReserve(1)) {
+            return true;
+        }
+        synchronized (this) {
+            striped.deposit(REFILL);
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean singleAtomicCounter() {
+        long current = single.get();
+        while (current >= 1) {
+            long witness = single.compareAndExchange(current, current - 1);
+            if (witness == current) {
+                return true;
+            }
+            current = witness;
+        }
+        single.addAndGet(REFILL);
+        return false;
+    }
+
+    @Benchmark
+    public synchronized boolean synchronizedCounter() {
+        if (locked >= 1) {
+            locked--;
+            return true;
+        }
+        locked += REFILL;
+        return false;
+    }
+}
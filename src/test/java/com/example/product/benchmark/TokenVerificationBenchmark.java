@@ -0,0 +1,59 @@
+package com.example.product.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.example.product.infra.security.SigningKeyRing;
+import com.example.product.infra.security.VerifiedTokenCache;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenVerificationBenchmark {
+
+    @Param({"HS256", "ES256"})
+    String algorithm;
+
+    SigningKeyRing signingKeyRing;
+
+    VerifiedTokenCache verifiedTokenCache;
+
+    String token;
+
+    @Setup
+    public void setUp() {
+        signingKeyRing = new SigningKeyRing();
+        ReflectionTestUtils.setField(signingKeyRing, "algorithm", algorithm);
+        ReflectionTestUtils.setField(signingKeyRing, "secret", "benchmark-secret");
+        signingKeyRing.reload();
+
+        token = JWT.create()
+                .withKeyId(signingKeyRing.activeKid())
+                .withIssuer(SigningKeyRing.ISSUER)
+                .withSubject("admin")
+                .withExpiresAt(Instant.now().plus(Duration.ofHours(1)))
+                .sign(signingKeyRing.signingAlgorithm());
+
+        verifiedTokenCache = new VerifiedTokenCache(4096, Duration.ofMinutes(5));
+        verifiedTokenCache.put(token, "admin", Instant.now().plus(Duration.ofHours(1)));
+    }
+
+    // a fresh String per call, like the Authorization header of each request, so the hash is not cached
+    @Benchmark
+    public String cacheHit() {
+        return verifiedTokenCache.subjectFor(new String(token));
+    }
+
+    @Benchmark
+    public String fullVerify() {
+        String requestToken = new String(token);
+        return signingKeyRing.verifierFor(JWT.decode(requestToken).getKeyId()).verify(requestToken).getSubject();
+    }
+}
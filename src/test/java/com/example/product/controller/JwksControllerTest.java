@@ -0,0 +1,55 @@
+package com.example.product.controller;
+
+import com.example.product.infra.security.SecurityConfiguration;
+import com.example.product.infra.security.SigningKeyRing;
+import com.example.product.repository.UserRepository;
+import com.example.product.service.TokenService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@Import(SecurityConfiguration.class)
+@WebMvcTest(controllers = JwksController.class)
+class JwksControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SigningKeyRing signingKeyRing;
+
+    @MockitoBean
+    private TokenService tokenService;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    @DisplayName("Should return 200, the public keys and cache headers without authentication.")
+    @Test
+    void jwks_Return200KeysAndCacheHeaders() throws Exception{
+        //ARRANGE
+        when(signingKeyRing.publicJwks()).thenReturn(List.of(Map.of("kid","key-1","kty","EC")));
+
+        //ACT
+        mockMvc.perform(get("/.well-known/jwks.json"))
+
+                //ASSERT
+
+                .andExpect(status().isOk())
+
+                .andExpect(header().string("Cache-Control","max-age=900, public"))
+                .andExpect(jsonPath("$.keys[0].kid").value("key-1"))
+                .andExpect(jsonPath("$.keys[0].kty").value("EC"));
+    }
+}
@@ -1,8 +1,16 @@
 package com.example.product.controller;
 
+import com.example.product.domain.product.HotProductDTO;
+import com.example.product.domain.product.Prices;
 import com.example.product.domain.product.Product;
+import com.example.product.domain.product.ProductFields;
+import com.example.product.domain.product.ProductLookupRequestDTO;
+import com.example.product.domain.product.ProductLookupResponseDTO;
+import com.example.product.domain.product.ProductPage;
 import com.example.product.domain.product.ProductRequestDTO;
 import com.example.product.domain.product.ProductResponseDTO;
+import com.example.product.domain.product.ProductSuggestionDTO;
+import com.example.product.exception.InvalidProductQueryException;
 import com.example.product.exception.ProductNotFoundException;
 import com.example.product.infra.security.SecurityConfiguration;
 import com.example.product.repository.UserRepository;
@@ -19,6 +27,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
 
@@ -55,8 +64,8 @@ class ProductControllerTest {
         @DisplayName("Should return 201 and the product created when receive correct body.")
         void create_WhenCorrectBody_Return201() throws Exception {
             //ARRANGE
-            ProductRequestDTO productRequestDTO = new ProductRequestDTO("Smartphone",10.5);
-            Product productMock = new Product(UUID.randomUUID(),"Smartphone",10.5);
+            ProductRequestDTO productRequestDTO = new ProductRequestDTO("Smartphone",new BigDecimal("10.5"));
+            Product productMock = new Product(UUID.randomUUID(),"Smartphone",1050);
 
             when(productService.createProduct(productRequestDTO)).thenReturn(productMock);
 
@@ -108,11 +117,32 @@ class ProductControllerTest {
                     .andDo(result -> verify(productService,never()).createProduct(any(ProductRequestDTO.class)));
         }
 
+        @Test
+        @DisplayName("Should return 400 when the price has more than two decimal places.")
+        void create_WhenPriceHasMoreThanTwoDecimals_Return400() throws Exception {
+            //ARRANGE
+            ProductRequestDTO productRequestDTO = new ProductRequestDTO("Smartphone",new BigDecimal("10.555"));
+
+            //ACT
+            mockMvc.perform(post(PRODUCT_API_URL)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(productRequestDTO))
+                            .with(user("UserTest").roles("ADMIN")))
+
+
+                    //ASSERT
+                    .andExpect(status().isBadRequest())
+
+                    .andExpect(jsonPath("$[?(@.field == 'price')].message").value("The price must have at most two decimal places."))
+
+                    .andDo(result -> verify(productService,never()).createProduct(any(ProductRequestDTO.class)));
+        }
+
         @Test
         @DisplayName("Should return 403 when users role is common.")
         void create_WhenUserIsCommon_Return403() throws Exception {
             //ARRANGE
-            ProductRequestDTO productRequestDTO = new ProductRequestDTO("Smartphone",10.5);
+            ProductRequestDTO productRequestDTO = new ProductRequestDTO("Smartphone",new BigDecimal("10.5"));
 
             //ACT
             mockMvc.perform(post(PRODUCT_API_URL)
@@ -131,7 +161,7 @@ class ProductControllerTest {
         @DisplayName("Should return 401 when user isn't authenticated.")
         void create_WhenUserNotAuthenticated_Return401() throws Exception {
             //ARRANGE
-            ProductRequestDTO productRequestDTO = new ProductRequestDTO("Smartphone",10.5);
+            ProductRequestDTO productRequestDTO = new ProductRequestDTO("Smartphone",new BigDecimal("10.5"));
 
             //ACT
             mockMvc.perform(post(PRODUCT_API_URL)
@@ -153,12 +183,12 @@ class ProductControllerTest {
         @DisplayName("Should return 200 and a list of found products when not receive filter parameters")
         void getAll_WithoutFilters_Return200AndProductList() throws Exception {
             //ARRANGE
-            ProductResponseDTO productResponseDTO0 = new ProductResponseDTO(UUID.randomUUID(), "Smartphone 0", 11.0);
-            ProductResponseDTO productResponseDTO1 = new ProductResponseDTO(UUID.randomUUID(), "Smartphone 1", 13.0);
+            ProductResponseDTO productResponseDTO0 = new ProductResponseDTO(UUID.randomUUID(), "Smartphone 0", 1100);
+            ProductResponseDTO productResponseDTO1 = new ProductResponseDTO(UUID.randomUUID(), "Smartphone 1", 1300);
 
             List<ProductResponseDTO> productResponseDTOListMock = List.of(productResponseDTO0, productResponseDTO1);
 
-            when(productService.getAllProducts(null, null, null)).thenReturn(productResponseDTOListMock);
+            when(productService.getAllProducts(null, null, null, "name", null, null, ProductFields.ALL)).thenReturn(new ProductPage(productResponseDTOListMock, null));
 
             //ACT
             mockMvc.perform(get(PRODUCT_API_URL)
@@ -169,30 +199,30 @@ class ProductControllerTest {
 
                     .andExpect(jsonPath("$[0].productId").value(productResponseDTO0.productId().toString()))
                     .andExpect(jsonPath("$[0].name").value(productResponseDTO0.name()))
-                    .andExpect(jsonPath("$[0].price").value(productResponseDTO0.price().toString()))
+                    .andExpect(jsonPath("$[0].price").value(Prices.format(productResponseDTO0.price())))
 
                     .andExpect(jsonPath("$[1].productId").value(productResponseDTO1.productId().toString()))
                     .andExpect(jsonPath("$[1].name").value(productResponseDTO1.name()))
-                    .andExpect(jsonPath("$[1].price").value(productResponseDTO1.price().toString()))
+                    .andExpect(jsonPath("$[1].price").value(Prices.format(productResponseDTO1.price())))
 
                     .andExpect(jsonPath("$.length()").value(2))
 
-                    .andDo(result -> verify(productService, times(1)).getAllProducts(isNull(), isNull(), isNull()));
+                    .andDo(result -> verify(productService, times(1)).getAllProducts(isNull(), isNull(), isNull(), eq("name"), isNull(), isNull(), eq(ProductFields.ALL)));
         }
 
         @Test
         @DisplayName("Should return 200 and a list of found products when receive all filter parameters")
         void getAll_WithAllFilters_Return200AndProductList() throws Exception {
             //ARRANGE
-            ProductResponseDTO productResponseDTO0 = new ProductResponseDTO(UUID.randomUUID(), "Smartphone 0", 11.0);
-            ProductResponseDTO productResponseDTO1 = new ProductResponseDTO(UUID.randomUUID(), "Smartphone 1", 13.0);
+            ProductResponseDTO productResponseDTO0 = new ProductResponseDTO(UUID.randomUUID(), "Smartphone 0", 1100);
+            ProductResponseDTO productResponseDTO1 = new ProductResponseDTO(UUID.randomUUID(), "Smartphone 1", 1300);
             String name = "Smartphone";
-            Double minPrice = 10.0;
-            Double maxPrice = 15.0;
+            BigDecimal minPrice = new BigDecimal("10.0");
+            BigDecimal maxPrice = new BigDecimal("15.0");
 
             List<ProductResponseDTO> productResponseDTOListMock = List.of(productResponseDTO0, productResponseDTO1);
 
-            when(productService.getAllProducts(name, minPrice, maxPrice)).thenReturn(productResponseDTOListMock);
+            when(productService.getAllProducts(name, minPrice, maxPrice, "name", null, null, ProductFields.ALL)).thenReturn(new ProductPage(productResponseDTOListMock, null));
 
             //ACT
             mockMvc.perform(get(PRODUCT_API_URL)
@@ -207,15 +237,15 @@ class ProductControllerTest {
 
                     .andExpect(jsonPath("$[0].productId").value(productResponseDTO0.productId().toString()))
                     .andExpect(jsonPath("$[0].name").value(productResponseDTO0.name()))
-                    .andExpect(jsonPath("$[0].price").value(productResponseDTO0.price().toString()))
+                    .andExpect(jsonPath("$[0].price").value(Prices.format(productResponseDTO0.price())))
 
                     .andExpect(jsonPath("$[1].productId").value(productResponseDTO1.productId().toString()))
                     .andExpect(jsonPath("$[1].name").value(productResponseDTO1.name()))
-                    .andExpect(jsonPath("$[1].price").value(productResponseDTO1.price().toString()))
+                    .andExpect(jsonPath("$[1].price").value(Prices.format(productResponseDTO1.price())))
 
                     .andExpect(jsonPath("$.length()").value(2))
 
-                    .andDo(result -> verify(productService, times(1)).getAllProducts(name, minPrice, maxPrice));
+                    .andDo(result -> verify(productService, times(1)).getAllProducts(name, minPrice, maxPrice, "name", null, null, ProductFields.ALL));
         }
 
         @Test
@@ -223,10 +253,10 @@ class ProductControllerTest {
         void getAll_WithAllFilters_Return200AndEmptyList() throws Exception {
             //ARRANGE
             String name = "Smartphone";
-            Double minPrice = 10.0;
-            Double maxPrice = 15.0;
+            BigDecimal minPrice = new BigDecimal("10.0");
+            BigDecimal maxPrice = new BigDecimal("15.0");
 
-            when(productService.getAllProducts(name, minPrice, maxPrice)).thenReturn(List.of());
+            when(productService.getAllProducts(name, minPrice, maxPrice, "name", null, null, ProductFields.ALL)).thenReturn(new ProductPage(List.of(), null));
 
             //ACT
             mockMvc.perform(get(PRODUCT_API_URL)
@@ -241,7 +271,100 @@ class ProductControllerTest {
 
                     .andExpect(jsonPath("$.length()").value(0))
 
-                    .andDo(result -> verify(productService, times(1)).getAllProducts(name, minPrice, maxPrice));
+                    .andDo(result -> verify(productService, times(1)).getAllProducts(name, minPrice, maxPrice, "name", null, null, ProductFields.ALL));
+        }
+
+        @Test
+        @DisplayName("Should return 200 and the next cursor header when the sorted page is full")
+        void getAll_SortedPage_Return200AndNextCursor() throws Exception {
+            //ARRANGE
+            ProductResponseDTO productResponseDTO0 = new ProductResponseDTO(UUID.randomUUID(), "Smartphone 0", 1300);
+
+            when(productService.getAllProducts(null, null, null, "-price", "cursor", 1, ProductFields.ALL)).thenReturn(new ProductPage(List.of(productResponseDTO0), "nextCursor"));
+
+            //ACT
+            mockMvc.perform(get(PRODUCT_API_URL)
+                            .param("sort","-price")
+                            .param("after","cursor")
+                            .param("limit","1")
+                            .with(user("UserTest").roles("COMMON")))
+
+                    //ASSERT
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(ProductController.NEXT_CURSOR_HEADER, "nextCursor"))
+
+                    .andExpect(jsonPath("$[0].productId").value(productResponseDTO0.productId().toString()))
+                    .andExpect(jsonPath("$.length()").value(1));
+        }
+
+        @Test
+        @DisplayName("Should return 200 without the next cursor header when there is no next page")
+        void getAll_LastPage_Return200WithoutNextCursor() throws Exception {
+            //ARRANGE
+            when(productService.getAllProducts(null, null, null, "price", null, 10, ProductFields.ALL)).thenReturn(new ProductPage(List.of(), null));
+
+            //ACT
+            mockMvc.perform(get(PRODUCT_API_URL)
+                            .param("sort","price")
+                            .param("limit","10")
+                            .with(user("UserTest").roles("COMMON")))
+
+                    //ASSERT
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(ProductController.NEXT_CURSOR_HEADER));
+        }
+
+        @Test
+        @DisplayName("Should return 200 and only the requested fields when receive the fields parameter")
+        void getAll_WithFields_Return200AndOnlyRequestedFields() throws Exception {
+            //ARRANGE
+            ProductResponseDTO productResponseDTO0 = new ProductResponseDTO(UUID.randomUUID(), null, 1100);
+            ProductFields priceOnly = new ProductFields(false, true);
+
+            when(productService.getAllProducts(null, null, null, "name", null, null, priceOnly)).thenReturn(new ProductPage(List.of(productResponseDTO0), null));
+
+            //ACT
+            mockMvc.perform(get(PRODUCT_API_URL)
+                            .param("fields","productId,price")
+                            .with(user("UserTest").roles("COMMON")))
+
+                    //ASSERT
+                    .andExpect(status().isOk())
+
+                    .andExpect(jsonPath("$[0].productId").value(productResponseDTO0.productId().toString()))
+                    .andExpect(jsonPath("$[0].price").value(Prices.format(productResponseDTO0.price())))
+                    .andExpect(jsonPath("$[0].name").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the fields parameter has an unknown field")
+        void getAll_InvalidFields_Return400() throws Exception {
+
+            //ACT
+            mockMvc.perform(get(PRODUCT_API_URL)
+                            .param("fields","productId,stock")
+                            .with(user("UserTest").roles("COMMON")))
+
+                    //ASSERT
+                    .andExpect(status().isBadRequest())
+
+                    .andDo(result -> verify(productService,never()).getAllProducts(any(),any(),any(),any(),any(),any(),any()));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the sort is not allowed")
+        void getAll_InvalidSort_Return400() throws Exception {
+            //ARRANGE
+            when(productService.getAllProducts(null, null, null, "productId", null, null, ProductFields.ALL)).thenThrow(new InvalidProductQueryException("Invalid value provided for sort."));
+
+            //ACT
+            mockMvc.perform(get(PRODUCT_API_URL)
+                            .param("sort","productId")
+                            .with(user("UserTest").roles("COMMON")))
+
+                    //ASSERT
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().string("Invalid value provided for sort."));
         }
 
         @Test
@@ -254,11 +377,156 @@ class ProductControllerTest {
                     //ASSERT
                     .andExpect(status().isUnauthorized())
 
-                    .andDo(result -> verify(productService,never()).getAllProducts(any(),any(),any()));
+                    .andDo(result -> verify(productService,never()).getAllProducts(any(),any(),any(),any(),any(),any(),any()));
         }
 
     }
 
+    @Nested
+    class suggest{
+
+        @Test
+        @DisplayName("Should return 200 and the suggestions for the prefix")
+        void suggest_Prefix_Return200AndSuggestions() throws Exception {
+            //ARRANGE
+            ProductSuggestionDTO suggestion = new ProductSuggestionDTO(UUID.randomUUID(), "Smartphone");
+
+            when(productService.suggestProducts("smart", 5)).thenReturn(List.of(suggestion));
+
+            //ACT
+            mockMvc.perform(get(PRODUCT_API_URL + "/suggest")
+                            .param("prefix","smart")
+                            .param("limit","5")
+                            .with(user("UserTest").roles("COMMON")))
+
+                    //ASSERT
+                    .andExpect(status().isOk())
+
+                    .andExpect(jsonPath("$[0].productId").value(suggestion.productId().toString()))
+                    .andExpect(jsonPath("$[0].name").value("Smartphone"))
+                    .andExpect(jsonPath("$.length()").value(1));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the prefix parameter is missing")
+        void suggest_WithoutPrefix_Return400() throws Exception {
+
+            //ACT
+            mockMvc.perform(get(PRODUCT_API_URL + "/suggest")
+                            .with(user("UserTest").roles("COMMON")))
+
+                    //ASSERT
+                    .andExpect(status().isBadRequest())
+
+                    .andDo(result -> verify(productService,never()).suggestProducts(any(),anyInt()));
+        }
+    }
+
+    @Nested
+    class hot{
+
+        @Test
+        @DisplayName("Should return 200 and the hot products with their views")
+        void hot_Limit_Return200AndHotProducts() throws Exception {
+            //ARRANGE
+            HotProductDTO hotProduct = new HotProductDTO(UUID.randomUUID(), "Smartphone", 1050, 42);
+
+            when(productService.getHotProducts(5)).thenReturn(List.of(hotProduct));
+
+            //ACT
+            mockMvc.perform(get(PRODUCT_API_URL + "/hot")
+                            .param("limit","5")
+                            .with(user("UserTest").roles("COMMON")))
+
+                    //ASSERT
+                    .andExpect(status().isOk())
+
+                    .andExpect(jsonPath("$[0].productId").value(hotProduct.productId().toString()))
+                    .andExpect(jsonPath("$[0].price").value(Prices.format(hotProduct.price())))
+                    .andExpect(jsonPath("$[0].views").value(42))
+                    .andExpect(jsonPath("$.length()").value(1));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the limit is out of range")
+        void hot_LimitOutOfRange_Return400() throws Exception {
+            //ARRANGE
+            when(productService.getHotProducts(0)).thenThrow(new InvalidProductQueryException("Invalid value provided for limit. It must be between 1 and 100."));
+
+            //ACT
+            mockMvc.perform(get(PRODUCT_API_URL + "/hot")
+                            .param("limit","0")
+                            .with(user("UserTest").roles("COMMON")))
+
+                    //ASSERT
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    class lookup{
+
+        @Test
+        @DisplayName("Should return 200 with the found products and the missing ids")
+        void lookup_ValidIds_Return200AndProducts() throws Exception {
+            //ARRANGE
+            ProductResponseDTO productResponseDTO = new ProductResponseDTO(UUID.randomUUID(), "Smartphone", 1050);
+            UUID missingId = UUID.randomUUID();
+            ProductLookupRequestDTO productLookupRequestDTO = new ProductLookupRequestDTO(List.of(productResponseDTO.productId(), missingId));
+
+            when(productService.lookupProducts(productLookupRequestDTO.productIds()))
+                    .thenReturn(new ProductLookupResponseDTO(List.of(productResponseDTO), List.of(missingId)));
+
+            //ACT
+            mockMvc.perform(post(PRODUCT_API_URL + "/lookup")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(productLookupRequestDTO))
+                            .with(user("UserTest").roles("COMMON")))
+
+                    //ASSERT
+                    .andExpect(status().isOk())
+
+                    .andExpect(jsonPath("$.products[0].productId").value(productResponseDTO.productId().toString()))
+                    .andExpect(jsonPath("$.products[0].name").value(productResponseDTO.name()))
+                    .andExpect(jsonPath("$.products[0].price").value(Prices.format(productResponseDTO.price())))
+                    .andExpect(jsonPath("$.products.length()").value(1))
+
+                    .andExpect(jsonPath("$.missingIds[0]").value(missingId.toString()));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the id list is empty")
+        void lookup_EmptyIds_Return400() throws Exception {
+
+            //ACT
+            mockMvc.perform(post(PRODUCT_API_URL + "/lookup")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"productIds\":[]}")
+                            .with(user("UserTest").roles("COMMON")))
+
+                    //ASSERT
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$[0].field").value("productIds"))
+
+                    .andDo(result -> verify(productService,never()).lookupProducts(any()));
+        }
+
+        @Test
+        @DisplayName("Should return 401 when user isn't authenticated.")
+        void lookup_WhenUserNotAuthenticated_Return401() throws Exception {
+
+            //ACT
+            mockMvc.perform(post(PRODUCT_API_URL + "/lookup")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"productIds\":[\"" + UUID.randomUUID() + "\"]}"))
+
+                    //ASSERT
+                    .andExpect(status().isUnauthorized())
+
+                    .andDo(result -> verify(productService,never()).lookupProducts(any()));
+        }
+    }
+
     @Nested
     class get{
 
@@ -267,7 +535,7 @@ class ProductControllerTest {
         void get_ValidUUID_Return200AndProduct() throws Exception {
             //ARRANGE
             UUID productID = UUID.randomUUID();
-            ProductResponseDTO productResponseDTO = new ProductResponseDTO(productID, "Smartphone", 10.5);
+            ProductResponseDTO productResponseDTO = new ProductResponseDTO(productID, "Smartphone", 1050);
 
             when(productService.getProduct(productID)).thenReturn(productResponseDTO);
 
@@ -280,11 +548,32 @@ class ProductControllerTest {
 
                     .andExpect(jsonPath("$.productId").value(productResponseDTO.productId().toString()))
                     .andExpect(jsonPath("$.name").value(productResponseDTO.name()))
-                    .andExpect(jsonPath("$.price").value(productResponseDTO.price().toString()))
+                    .andExpect(jsonPath("$.price").value(Prices.format(productResponseDTO.price())))
 
                     .andDo(result -> verify(productService, times(1)).getProduct(productID));
         }
 
+        @Test
+        @DisplayName("Should return 200 and only the requested fields of the product when receive the fields parameter")
+        void get_WithFields_Return200AndOnlyRequestedFields() throws Exception {
+            //ARRANGE
+            UUID productID = UUID.randomUUID();
+
+            when(productService.getProduct(productID)).thenReturn(new ProductResponseDTO(productID, "Smartphone", 1050));
+
+            //ACT
+            mockMvc.perform(get(PRODUCT_API_URL + "/{id}", productID)
+                            .param("fields","name")
+                            .with(user("UserTest").roles("COMMON")))
+
+                    //ASSERT
+                    .andExpect(status().isOk())
+
+                    .andExpect(jsonPath("$.productId").value(productID.toString()))
+                    .andExpect(jsonPath("$.name").value("Smartphone"))
+                    .andExpect(jsonPath("$.price").doesNotExist());
+        }
+
         @Test
         @DisplayName("Should return 404 when UUID is valid and non existent")
         void get_ValidNonExistentUUID_Return404() throws Exception {
@@ -350,8 +639,8 @@ class ProductControllerTest {
         void update_AllParametersAndValidUUID_Return200AndProductUpdated() throws Exception {
             //ARRANGE
             UUID productID = UUID.randomUUID();
-            ProductRequestDTO productRequestDTO = new ProductRequestDTO("Smartphone X",10.7);
-            Product productMock = new Product(productID, "Smartphone X", 10.7);
+            ProductRequestDTO productRequestDTO = new ProductRequestDTO("Smartphone X",new BigDecimal("10.7"));
+            Product productMock = new Product(productID, "Smartphone X", 1070);
 
             when(productService.updateProduct(productID,productRequestDTO)).thenReturn(productMock);
 
@@ -377,7 +666,7 @@ class ProductControllerTest {
         void update_ValidNonExistentUUID_Return404() throws Exception {
             //ARRANGE
             UUID nonExistentId = UUID.randomUUID();
-            ProductRequestDTO productRequestDTO = new ProductRequestDTO("Smartphone X",10.7);
+            ProductRequestDTO productRequestDTO = new ProductRequestDTO("Smartphone X",new BigDecimal("10.7"));
 
             String expectedMessage = "Product not found.";
 
@@ -402,7 +691,7 @@ class ProductControllerTest {
         void update_InvalidUUID_Return400() throws Exception {
             //ARRANGE
             String invalidFormatId = "Id in Invalid Format";
-            ProductRequestDTO productRequestDTO = new ProductRequestDTO("Smartphone X",10.7);
+            ProductRequestDTO productRequestDTO = new ProductRequestDTO("Smartphone X",new BigDecimal("10.7"));
 
 
             //ACT
@@ -425,7 +714,7 @@ class ProductControllerTest {
             //ARRANGE
             UUID productID = UUID.randomUUID();
             ProductRequestDTO productRequestDTO = new ProductRequestDTO("Smartphone X",null);
-            Product productMock = new Product(productID, "Smartphone X", 10.5);
+            Product productMock = new Product(productID, "Smartphone X", 1050);
 
             when(productService.updateProduct(productID,productRequestDTO)).thenReturn(productMock);
 
@@ -440,7 +729,7 @@ class ProductControllerTest {
 
                     .andExpect(jsonPath("$.productId").value(productID.toString()))
                     .andExpect(jsonPath("$.name").value(productRequestDTO.name()))
-                    .andExpect(jsonPath("$.price").value(productMock.getPrice().toString()))
+                    .andExpect(jsonPath("$.price").value(Prices.format(productMock.getPrice())))
 
                     .andDo(result -> verify(productService, times(1)).updateProduct(productID,productRequestDTO));
         }
@@ -450,8 +739,8 @@ class ProductControllerTest {
         void update_OnlyPrice_Return200AndProductUpdated() throws Exception {
             //ARRANGE
             UUID productID = UUID.randomUUID();
-            ProductRequestDTO productRequestDTO = new ProductRequestDTO(null,10.7);
-            Product productMock = new Product(productID, "Smartphone", 10.7);
+            ProductRequestDTO productRequestDTO = new ProductRequestDTO(null,new BigDecimal("10.7"));
+            Product productMock = new Product(productID, "Smartphone", 1070);
 
             when(productService.updateProduct(productID,productRequestDTO)).thenReturn(productMock);
 
@@ -476,7 +765,7 @@ class ProductControllerTest {
         void update_WhenUserIsCommon_Return403() throws Exception {
             //ARRANGE
             UUID productID = UUID.randomUUID();
-            ProductRequestDTO productRequestDTO = new ProductRequestDTO("Smartphone X",10.7);
+            ProductRequestDTO productRequestDTO = new ProductRequestDTO("Smartphone X",new BigDecimal("10.7"));
 
             //ACT
             mockMvc.perform(put(PRODUCT_API_URL + "/{id}", productID)
@@ -496,7 +785,7 @@ class ProductControllerTest {
         void update_WhenUserNotAuthenticated_Return401() throws Exception {
             //ARRANGE
             UUID productID = UUID.randomUUID();
-            ProductRequestDTO productRequestDTO = new ProductRequestDTO("Smartphone X",10.7);
+            ProductRequestDTO productRequestDTO = new ProductRequestDTO("Smartphone X",new BigDecimal("10.7"));
 
             //ACT
             mockMvc.perform(put(PRODUCT_API_URL + "/{id}", productID)
@@ -0,0 +1,201 @@
+package com.example.product.controller;
+
+import com.example.product.domain.product.ProductFields;
+import com.example.product.domain.product.ProductPage;
+import com.example.product.domain.product.ProductResponseDTO;
+import com.example.product.domain.product.ProductStream;
+import com.example.product.exception.ProductNotFoundException;
+import com.example.product.infra.security.SecurityConfiguration;
+import com.example.product.repository.UserRepository;
+import com.example.product.service.ProductService;
+import com.example.product.service.ReactiveProductService;
+import com.example.product.service.TokenService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@Import(SecurityConfiguration.class)
+@WebMvcTest(controllers = {ProductController.class, ReactiveProductController.class},
+        properties = "productApi.reactive.r2dbc.url=r2dbc:h2:mem:///reactiveControllerTestDB")
+class ReactiveProductControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ReactiveProductService reactiveProductService;
+
+    @MockitoBean
+    private ProductService productService;
+
+    @MockitoBean
+    private TokenService tokenService;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    private final String PRODUCT_API_URL = "/product";
+
+    @Nested
+    class getAll{
+
+        @Test
+        @DisplayName("Should stream the products as ndjson when the client accepts ndjson.")
+        void getAll_AcceptNdjson_StreamsProducts() throws Exception {
+            //ARRANGE
+            List<ProductResponseDTO> products = List.of(
+                    new ProductResponseDTO(UUID.randomUUID(),"Notebook",5050),
+                    new ProductResponseDTO(UUID.randomUUID(),"Smartphone",1050));
+
+            when(reactiveProductService.getAllProducts("o",new BigDecimal("10"),null,"name",null,null,ProductFields.ALL)).thenReturn(new ProductStream(Flux.fromIterable(products),Mono.empty()));
+
+            //ACT
+            MvcResult result = mockMvc.perform(get(PRODUCT_API_URL)
+                            .param("name","o")
+                            .param("minPrice","10")
+                            .accept(MediaType.APPLICATION_NDJSON)
+                            .with(user("UserTest").roles("COMMON")))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            //ASSERT
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                    .andExpect(content().string(String.format(
+                            "{\"productId\":\"%s\",\"name\":\"Notebook\",\"price\":50.5}\n{\"productId\":\"%s\",\"name\":\"Smartphone\",\"price\":10.5}\n",
+                            products.get(0).productId(),products.get(1).productId())))
+
+                    .andDo(ignored -> verify(productService,never()).getAllProducts(any(),any(),any(),any(),any(),any(),any()));
+        }
+
+        @Test
+        @DisplayName("Should keep serving a json array from ProductController when the client accepts json.")
+        void getAll_AcceptJson_UsesProductController() throws Exception {
+            //ARRANGE
+            when(productService.getAllProducts(null,null,null,"name",null,null,ProductFields.ALL)).thenReturn(new ProductPage(List.of(new ProductResponseDTO(UUID.randomUUID(),"Smartphone",1050)),null));
+
+            //ACT
+            mockMvc.perform(get(PRODUCT_API_URL)
+                            .accept(MediaType.APPLICATION_JSON)
+                            .with(user("UserTest").roles("COMMON")))
+
+                    //ASSERT
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].name").value("Smartphone"))
+
+                    .andDo(ignored -> verify(reactiveProductService,never()).getAllProducts(any(),any(),any(),any(),any(),any(),any()));
+        }
+
+        @Test
+        @DisplayName("Should write only the requested fields on each ndjson line.")
+        void getAll_FieldsAsNdjson_StreamsNarrowedProducts() throws Exception {
+            //ARRANGE
+            ProductFields productFields = new ProductFields(true,false);
+            List<ProductResponseDTO> products = List.of(
+                    new ProductResponseDTO(UUID.randomUUID(),"Notebook",0),
+                    new ProductResponseDTO(UUID.randomUUID(),"Smartphone",0));
+
+            when(reactiveProductService.getAllProducts(null,null,null,"name",null,null,productFields)).thenReturn(new ProductStream(Flux.fromIterable(products),Mono.empty()));
+
+            //ACT
+            MvcResult result = mockMvc.perform(get(PRODUCT_API_URL)
+                            .param("fields","name")
+                            .accept(MediaType.APPLICATION_NDJSON)
+                            .with(user("UserTest").roles("COMMON")))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            //ASSERT
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(String.format(
+                            "{\"productId\":\"%s\",\"name\":\"Notebook\"}\n{\"productId\":\"%s\",\"name\":\"Smartphone\"}\n",
+                            products.get(0).productId(),products.get(1).productId())));
+        }
+
+        @Test
+        @DisplayName("Should end the stream with a nextCursor line when the page is full.")
+        void getAll_FullPage_EndsWithNextCursor() throws Exception {
+            //ARRANGE
+            ProductResponseDTO product = new ProductResponseDTO(UUID.randomUUID(),"Smartphone",1050);
+
+            when(reactiveProductService.getAllProducts(null,null,null,"price",null,1,ProductFields.ALL))
+                    .thenReturn(new ProductStream(Flux.just(product),Mono.just("nextCursorTest")));
+
+            //ACT
+            MvcResult result = mockMvc.perform(get(PRODUCT_API_URL)
+                            .param("sort","price")
+                            .param("limit","1")
+                            .accept(MediaType.APPLICATION_NDJSON)
+                            .with(user("UserTest").roles("COMMON")))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            //ASSERT
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(String.format(
+                            "{\"productId\":\"%s\",\"name\":\"Smartphone\",\"price\":10.5}\n{\"nextCursor\":\"nextCursorTest\"}\n",
+                            product.productId())));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when fields has an unknown value.")
+        void getAll_InvalidFields_Return400() throws Exception {
+            //ACT
+            mockMvc.perform(get(PRODUCT_API_URL)
+                            .param("fields","stock")
+                            .accept(MediaType.APPLICATION_NDJSON)
+                            .with(user("UserTest").roles("COMMON")))
+
+                    //ASSERT
+                    .andExpect(status().isBadRequest())
+
+                    .andDo(ignored -> verify(reactiveProductService,never()).getAllProducts(any(),any(),any(),any(),any(),any(),any()));
+        }
+    }
+
+    @Nested
+    class get{
+
+        @Test
+        @DisplayName("Should return 404 when the product is not found.")
+        void get_NotFound_Return404() throws Exception {
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+
+            when(reactiveProductService.getProduct(productId)).thenReturn(Mono.error(new ProductNotFoundException("Product not found.")));
+
+            //ACT
+            MvcResult result = mockMvc.perform(get(PRODUCT_API_URL + "/" + productId)
+                            .accept(MediaType.APPLICATION_NDJSON)
+                            .with(user("UserTest").roles("COMMON")))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            //ASSERT
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isNotFound())
+                    .andExpect(content().string("Product not found."));
+        }
+    }
+}
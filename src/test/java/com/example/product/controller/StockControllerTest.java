@@ -0,0 +1,242 @@
+package com.example.product.controller;
+
+import com.example.product.domain.stock.ReleaseRequestDTO;
+import com.example.product.domain.stock.ReservationResponseDTO;
+import com.example.product.domain.stock.StockRequestDTO;
+import com.example.product.domain.stock.StockResponseDTO;
+import com.example.product.exception.InvalidStockReleaseException;
+import com.example.product.exception.OutOfStockException;
+import com.example.product.exception.ProductNotFoundException;
+import com.example.product.exception.ReservationNotFoundException;
+import com.example.product.infra.security.SecurityConfiguration;
+import com.example.product.repository.UserRepository;
+import com.example.product.service.StockService;
+import com.example.product.service.TokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@Import(SecurityConfiguration.class)
+@WebMvcTest(controllers = StockController.class)
+class StockControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private StockService stockService;
+
+    @MockitoBean
+    private TokenService tokenService;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    private String stockUrl(UUID productId) {
+        return "/product/" + productId + "/stock";
+    }
+
+    @Nested
+    class get{
+
+        @Test
+        @DisplayName("Should return 200 and the stock of the product.")
+        void get_ExistentProduct_Return200() throws Exception {
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            when(stockService.getStock(productId)).thenReturn(new StockResponseDTO(productId, 90, 10));
+
+            //ACT
+            mockMvc.perform(get(stockUrl(productId))
+                            .with(user("UserTest").roles("COMMON")))
+
+                    //ASSERT
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.available").value(90))
+                    .andExpect(jsonPath("$.reserved").value(10));
+        }
+
+        @Test
+        @DisplayName("Should return 404 when the product does not exist.")
+        void get_NonExistentProduct_Return404() throws Exception {
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            when(stockService.getStock(productId)).thenThrow(new ProductNotFoundException("Product not found."));
+
+            //ACT
+            mockMvc.perform(get(stockUrl(productId))
+                            .with(user("UserTest").roles("COMMON")))
+
+                    //ASSERT
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    class restock{
+
+        @Test
+        @DisplayName("Should return 200 and the updated stock when the user is admin.")
+        void restock_WhenUserIsAdmin_Return200() throws Exception {
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            when(stockService.restock(productId, 50)).thenReturn(new StockResponseDTO(productId, 50, 0));
+
+            //ACT
+            mockMvc.perform(post(stockUrl(productId))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new StockRequestDTO(50L)))
+                            .with(user("UserTest").roles("ADMIN")))
+
+                    //ASSERT
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.available").value(50));
+        }
+
+        @Test
+        @DisplayName("Should return 403 when users role is common.")
+        void restock_WhenUserIsCommon_Return403() throws Exception {
+            //ACT
+            mockMvc.perform(post(stockUrl(UUID.randomUUID()))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new StockRequestDTO(50L)))
+                            .with(user("UserTest").roles("COMMON")))
+
+                    //ASSERT
+                    .andExpect(status().isForbidden())
+
+                    .andDo(result -> verify(stockService, never()).restock(any(), anyLong()));
+        }
+    }
+
+    @Nested
+    class reserve{
+
+        @Test
+        @DisplayName("Should return 200 and the reservation id when the reservation succeeds.")
+        void reserve_EnoughStock_Return200() throws Exception {
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            when(stockService.reserve(productId, 2, "UserTest")).thenReturn(new ReservationResponseDTO("reservation-token", Instant.parse("2030-01-01T00:00:00Z")));
+
+            //ACT
+            mockMvc.perform(post(stockUrl(productId) + "/reserve")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new StockRequestDTO(2L)))
+                            .with(user("UserTest").roles("COMMON")))
+
+                    //ASSERT
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.reservationId").value("reservation-token"));
+        }
+
+        @Test
+        @DisplayName("Should return 409 when there is not enough stock.")
+        void reserve_NotEnoughStock_Return409() throws Exception {
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            when(stockService.reserve(productId, 2, "UserTest")).thenThrow(new OutOfStockException("Not enough stock for the requested quantity."));
+
+            //ACT
+            mockMvc.perform(post(stockUrl(productId) + "/reserve")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new StockRequestDTO(2L)))
+                            .with(user("UserTest").roles("COMMON")))
+
+                    //ASSERT
+                    .andExpect(status().isConflict())
+                    .andExpect(content().string("Not enough stock for the requested quantity."));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the quantity is not positive.")
+        void reserve_NonPositiveQuantity_Return400() throws Exception {
+            //ACT
+            mockMvc.perform(post(stockUrl(UUID.randomUUID()) + "/reserve")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new StockRequestDTO(0L)))
+                            .with(user("UserTest").roles("COMMON")))
+
+                    //ASSERT
+                    .andExpect(status().isBadRequest())
+
+                    .andDo(result -> verify(stockService, never()).reserve(any(), anyLong(), any()));
+        }
+    }
+
+    @Nested
+    class release{
+
+        @Test
+        @DisplayName("Should return 204 when the reservation is released.")
+        void release_OwnReservation_Return204() throws Exception {
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+
+            //ACT
+            mockMvc.perform(post(stockUrl(productId) + "/release")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new ReleaseRequestDTO("reservation-token")))
+                            .with(user("UserTest").roles("COMMON")))
+
+                    //ASSERT
+                    .andExpect(status().isNoContent())
+
+                    .andDo(result -> verify(stockService).release(productId, "reservation-token", "UserTest"));
+        }
+
+        @Test
+        @DisplayName("Should return 404 when the reservation is not one of the user's reservations for the product.")
+        void release_UnknownReservation_Return404() throws Exception {
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            doThrow(new ReservationNotFoundException("Reservation not found.")).when(stockService).release(productId, "reservation-token", "UserTest");
+
+            //ACT
+            mockMvc.perform(post(stockUrl(productId) + "/release")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new ReleaseRequestDTO("reservation-token")))
+                            .with(user("UserTest").roles("COMMON")))
+
+                    //ASSERT
+                    .andExpect(status().isNotFound())
+                    .andExpect(content().string("Reservation not found."));
+        }
+
+        @Test
+        @DisplayName("Should return 409 when the reservation was already released.")
+        void release_AlreadyReleased_Return409() throws Exception {
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            doThrow(new InvalidStockReleaseException("Reservation already released.")).when(stockService).release(productId, "reservation-token", "UserTest");
+
+            //ACT
+            mockMvc.perform(post(stockUrl(productId) + "/release")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new ReleaseRequestDTO("reservation-token")))
+                            .with(user("UserTest").roles("COMMON")))
+
+                    //ASSERT
+                    .andExpect(status().isConflict())
+                    .andExpect(content().string("Reservation already released."));
+        }
+    }
+}
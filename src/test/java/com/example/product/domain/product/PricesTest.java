@@ -0,0 +1,53 @@
+package com.example.product.domain.product;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PricesTest {
+
+    @Nested
+    class toCents {
+
+        @DisplayName("Should convert decimal prices to cents, rounding half up.")
+        @Test
+        void toCents_DecimalPrice_ReturnsCents() {
+            assertEquals(1050, Prices.toCents(new BigDecimal("10.5")));
+            assertEquals(1000, Prices.toCents(new BigDecimal("10")));
+            assertEquals(1056, Prices.toCents(new BigDecimal("10.555")));
+        }
+
+        @DisplayName("Should round range bounds inward so integer comparisons keep the decimal semantics.")
+        @Test
+        void ceilAndFloorToCents_FractionalCents_RoundInward() {
+            assertEquals(1056, Prices.ceilToCents(new BigDecimal("10.551")));
+            assertEquals(1055, Prices.floorToCents(new BigDecimal("10.559")));
+        }
+
+        @DisplayName("Should clamp range bounds beyond the long range instead of overflowing.")
+        @Test
+        void ceilAndFloorToCents_OutOfRange_Clamps() {
+            assertEquals(Long.MAX_VALUE, Prices.floorToCents(new BigDecimal("1e20")));
+            assertEquals(Long.MAX_VALUE, Prices.ceilToCents(new BigDecimal("1e20")));
+            assertEquals(Long.MIN_VALUE, Prices.ceilToCents(new BigDecimal("-1e20")));
+            assertEquals(Long.MIN_VALUE, Prices.floorToCents(new BigDecimal("-1e20")));
+        }
+    }
+
+    @Nested
+    class format {
+
+        @DisplayName("Should format cents the same way the previous Double price was written.")
+        @Test
+        void format_Cents_ReturnsDecimalText() {
+            assertEquals("10.5", Prices.format(1050));
+            assertEquals("10.0", Prices.format(1000));
+            assertEquals("10.55", Prices.format(1055));
+            assertEquals("0.05", Prices.format(5));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.product.domain.product;
+
+import com.example.product.exception.InvalidProductQueryException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCursorTest {
+
+    @Nested
+    class decode {
+
+        @DisplayName("Should read back the sort key and id of the product the cursor was encoded from.")
+        @Test
+        void decode_EncodedCursor_ReturnsKeyAndId() {
+            ProductResponseDTO product = new ProductResponseDTO(UUID.randomUUID(), "Smartphone | Ç", 1050);
+
+            assertEquals(new ProductCursor(1050L, product.productId()),
+                    ProductCursor.decode(ProductSort.PRICE_DESC, ProductCursor.encode(ProductSort.PRICE_DESC, product)));
+            assertEquals(new ProductCursor("Smartphone | Ç", product.productId()),
+                    ProductCursor.decode(ProductSort.NAME, ProductCursor.encode(ProductSort.NAME, product)));
+        }
+
+        @DisplayName("Should reject cursors that are malformed or were issued for another sort.")
+        @Test
+        void decode_InvalidCursor_ThrowsException() {
+            String priceCursor = ProductCursor.encode(ProductSort.PRICE, new ProductResponseDTO(UUID.randomUUID(), "Smartphone", 1050));
+
+            assertThrows(InvalidProductQueryException.class, () -> ProductCursor.decode(ProductSort.PRICE_DESC, priceCursor));
+            assertThrows(InvalidProductQueryException.class, () -> ProductCursor.decode(ProductSort.PRICE, "not a cursor"));
+            assertThrows(InvalidProductQueryException.class, () -> ProductCursor.decode(ProductSort.PRICE, "cHJpY2V8eHx5"));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.product.domain.product;
+
+import com.example.product.exception.InvalidProductQueryException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductFieldsTest {
+
+    @Nested
+    class fromParameter {
+
+        @DisplayName("Should select every field when the parameter is absent.")
+        @Test
+        void fromParameter_Absent_ReturnsAllFields() {
+            assertEquals(ProductFields.ALL, ProductFields.fromParameter(null));
+            assertEquals(ProductFields.AllView.class, ProductFields.fromParameter("name,price").view());
+        }
+
+        @DisplayName("Should select only the listed fields, always keeping productId.")
+        @Test
+        void fromParameter_ListedFields_ReturnsNarrowedFields() {
+            assertEquals(new ProductFields(false, true), ProductFields.fromParameter("productId, price"));
+            assertEquals(ProductFields.PriceView.class, ProductFields.fromParameter("price").view());
+            assertEquals(ProductFields.NameView.class, ProductFields.fromParameter("name").view());
+            assertEquals(ProductFields.ProductIdView.class, ProductFields.fromParameter("productId").view());
+        }
+
+        @DisplayName("Should reject unknown fields.")
+        @Test
+        void fromParameter_UnknownField_ThrowsException() {
+            assertThrows(InvalidProductQueryException.class, () -> ProductFields.fromParameter("price,stock"));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.product.infra.aot;
+
+import com.example.product.domain.error.ValidationErrorDTO;
+import com.example.product.domain.user.UserRole;
+import com.example.product.infra.persistence.UuidV7Generator;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductApiRuntimeHintsTest {
+
+    @DisplayName("Should register the types Hibernate and Jackson reach only through reflection.")
+    @Test
+    void registerHints_RegistersReflectiveTypes() throws Exception {
+        //ARRANGE
+        RuntimeHints hints = new RuntimeHints();
+
+        //ACT
+        new ProductApiRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        //ASSERT
+        assertTrue(RuntimeHintsPredicates.reflection().onConstructor(UuidV7Generator.class.getConstructor()).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onConstructor(JCacheRegionFactory.class.getConstructor()).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(UserRole.class, "values").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(ValidationErrorDTO.class, "field").test(hints));
+    }
+}
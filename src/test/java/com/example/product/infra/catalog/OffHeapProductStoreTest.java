@@ -0,0 +1,144 @@
+package com.example.product.infra.catalog;
+
+import com.example.product.domain.product.ProductResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapProductStoreTest {
+
+    OffHeapProductStore offHeapProductStore;
+
+    @BeforeEach
+    void setUp() {
+        offHeapProductStore = new OffHeapProductStore();
+    }
+
+    @Nested
+    class get {
+
+        @DisplayName("Should return the stored product when its id is found.")
+        @Test
+        void get_StoredProduct_ReturnsProduct() {
+            //ARRANGE
+            ProductResponseDTO product = new ProductResponseDTO(UUID.randomUUID(), "Smartphone Ç", 1050);
+            offHeapProductStore.put(product);
+
+            //ACT
+            ProductResponseDTO result = offHeapProductStore.get(product.productId());
+
+            //ASSERT
+            assertEquals(product, result);
+        }
+
+        @DisplayName("Should return null once the stored product outlives the ttl.")
+        @Test
+        void get_ExpiredProduct_ReturnsNull() {
+            //ARRANGE
+            ReflectionTestUtils.setField(offHeapProductStore, "ttl", Duration.ZERO);
+            ProductResponseDTO product = new ProductResponseDTO(UUID.randomUUID(), "Smartphone", 1050);
+            offHeapProductStore.put(product);
+
+            //ACT
+            ProductResponseDTO result = offHeapProductStore.get(product.productId());
+
+            //ASSERT
+            assertNull(result);
+        }
+
+        @DisplayName("Should return null when the id is not stored.")
+        @Test
+        void get_UnknownId_ReturnsNull() {
+            //ACT
+            ProductResponseDTO result = offHeapProductStore.get(UUID.randomUUID());
+
+            //ASSERT
+            assertNull(result);
+        }
+    }
+
+    @Nested
+    class writes {
+
+        @DisplayName("Should replace the stored product when the same id is put again.")
+        @Test
+        void put_ExistingId_ReplacesProduct() {
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            offHeapProductStore.put(new ProductResponseDTO(productId, "Smartphone", 1050));
+            ProductResponseDTO updatedProduct = new ProductResponseDTO(productId, "Smartphone X", 1070);
+
+            //ACT
+            offHeapProductStore.put(updatedProduct);
+
+            //ASSERT
+            assertEquals(updatedProduct, offHeapProductStore.get(productId));
+            assertEquals(1, offHeapProductStore.size());
+        }
+
+        @DisplayName("Should not return a product after it is removed.")
+        @Test
+        void remove_StoredProduct_ReturnsNullAfterwards() {
+            //ARRANGE
+            ProductResponseDTO product = new ProductResponseDTO(UUID.randomUUID(), "Smartphone", 1050);
+            offHeapProductStore.put(product);
+
+            //ACT
+            offHeapProductStore.remove(product.productId());
+
+            //ASSERT
+            assertNull(offHeapProductStore.get(product.productId()));
+            assertEquals(0, offHeapProductStore.size());
+        }
+
+        @DisplayName("Should drop expired products to make room when the store is full.")
+        @Test
+        void put_FullStoreWithExpiredProducts_StoresNewProduct() {
+            //ARRANGE
+            ReflectionTestUtils.setField(offHeapProductStore, "maxProducts", 2);
+            ReflectionTestUtils.setField(offHeapProductStore, "ttl", Duration.ZERO);
+            offHeapProductStore.put(new ProductResponseDTO(UUID.randomUUID(), "Smartphone", 1050));
+            offHeapProductStore.put(new ProductResponseDTO(UUID.randomUUID(), "Notebook", 2050));
+            ReflectionTestUtils.setField(offHeapProductStore, "ttl", Duration.ofMinutes(1));
+            ProductResponseDTO product = new ProductResponseDTO(UUID.randomUUID(), "Monitor", 3050);
+
+            //ACT
+            offHeapProductStore.put(product);
+
+            //ASSERT
+            assertEquals(product, offHeapProductStore.get(product.productId()));
+            assertEquals(1, offHeapProductStore.size());
+        }
+
+        @DisplayName("Should keep every product readable after the buffers grow and names are compacted.")
+        @Test
+        void put_ManyProducts_AllReadable() {
+            //ARRANGE
+            List<ProductResponseDTO> products = new ArrayList<>();
+            for (int i = 0; i < 20_000; i++) {
+                products.add(new ProductResponseDTO(UUID.randomUUID(), "Product " + i + " " + "x".repeat(100), i));
+            }
+
+            //ACT
+            products.forEach(offHeapProductStore::put);
+            products.subList(0, 15_000).forEach(product -> offHeapProductStore.remove(product.productId()));
+            products.subList(15_000, 20_000).forEach(offHeapProductStore::put);
+
+            //ASSERT
+            assertEquals(5_000, offHeapProductStore.size());
+            for (int i = 0; i < products.size(); i++) {
+                ProductResponseDTO expected = i < 15_000 ? null : products.get(i);
+                assertEquals(expected, offHeapProductStore.get(products.get(i).productId()));
+            }
+        }
+    }
+}
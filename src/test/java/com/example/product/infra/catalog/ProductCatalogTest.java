@@ -0,0 +1,248 @@
+package com.example.product.infra.catalog;
+
+import com.example.product.domain.product.ProductResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCatalogTest {
+
+    ProductCatalog productCatalog;
+
+    ProductResponseDTO smartphoneX = new ProductResponseDTO(UUID.randomUUID(), "Smartphone X", 1050);
+    ProductResponseDTO smartphoneY = new ProductResponseDTO(UUID.randomUUID(), "Smartphone Y", 2050);
+    ProductResponseDTO notebookX = new ProductResponseDTO(UUID.randomUUID(), "Notebook X", 5050);
+    ProductResponseDTO notebookY = new ProductResponseDTO(UUID.randomUUID(), "Notebook Y", 10060);
+
+    @BeforeEach
+    void setUp() {
+        productCatalog = new ProductCatalog();
+        productCatalog.load(List.of(smartphoneY, notebookY, smartphoneX, notebookX));
+    }
+
+    @Nested
+    class query {
+
+        @DisplayName("Should return all products sorted by name when is called without filters.")
+        @Test
+        void query_NoFilters_ReturnsAllProductsSortedByName() {
+            //ACT
+            List<ProductResponseDTO> result = productCatalog.query(null, null, null);
+
+            //ASSERT
+            assertEquals(List.of(notebookX, notebookY, smartphoneX, smartphoneY), result);
+        }
+
+        @DisplayName("Should order products with the same name by id, comparing ids as unsigned like the database.")
+        @Test
+        void query_DuplicateNames_TieBreaksOnProductId() {
+            //ARRANGE
+            ProductResponseDTO low = new ProductResponseDTO(UUID.fromString("00000000-0000-7000-8000-000000000001"), "Monitor", 100);
+            ProductResponseDTO middle = new ProductResponseDTO(UUID.fromString("7fffffff-0000-7000-8000-000000000001"), "Monitor", 100);
+            ProductResponseDTO high = new ProductResponseDTO(UUID.fromString("ffffffff-0000-7000-8000-000000000001"), "Monitor", 100);
+            ProductResponseDTO changed = new ProductResponseDTO(UUID.fromString("80000000-0000-7000-8000-000000000001"), "Monitor", 100);
+            productCatalog.load(List.of(high, low, middle));
+
+            //ACT
+            productCatalog.upsert(changed);
+            List<ProductResponseDTO> result = productCatalog.query("monitor", null, null);
+
+            //ASSERT
+            assertEquals(List.of(low, middle, changed, high), result);
+        }
+
+        @DisplayName("Should return products filtered by name (case-insensitive substring).")
+        @Test
+        void query_WithNameFilter_ReturnsMatchingProducts() {
+            //ACT
+            List<ProductResponseDTO> result = productCatalog.query("PHONE", null, null);
+
+            //ASSERT
+            assertEquals(List.of(smartphoneX, smartphoneY), result);
+        }
+
+        @DisplayName("Should return products within the inclusive price range.")
+        @Test
+        void query_WithPriceRange_ReturnsProductsInRange() {
+            //ACT
+            List<ProductResponseDTO> result = productCatalog.query(null, 2050L, 5050L);
+
+            //ASSERT
+            assertEquals(List.of(notebookX, smartphoneY), result);
+        }
+
+        @DisplayName("Should return products who match with all filters when is called with all filters.")
+        @Test
+        void query_WithAllFilters_ReturnsCombinedResults() {
+            //ACT
+            List<ProductResponseDTO> result = productCatalog.query("x", 1100L, 6050L);
+
+            //ASSERT
+            assertEquals(List.of(notebookX), result);
+        }
+
+        @DisplayName("Should return an empty list when min price is greater than max price.")
+        @Test
+        void query_InvertedPriceRange_ReturnsEmptyList() {
+            //ACT
+            List<ProductResponseDTO> result = productCatalog.query(null, 6000L, 1000L);
+
+            //ASSERT
+            assertTrue(result.isEmpty());
+        }
+
+        @DisplayName("Should split large scans into chunks and keep results sorted by name.")
+        @Test
+        void query_LargeCatalog_ReturnsSameResultsAsSequentialScan() {
+            //ARRANGE
+            List<ProductResponseDTO> products = new ArrayList<>();
+            for (int i = 0; i < 50_000; i++) {
+                products.add(new ProductResponseDTO(UUID.randomUUID(), "Product " + i, i));
+            }
+            ProductCatalog largeCatalog = new ProductCatalog();
+            largeCatalog.load(products);
+
+            List<ProductResponseDTO> expected = new ArrayList<>(products);
+            expected.removeIf(product -> !product.name().contains("12") || product.price() < 10000);
+            expected.sort(Comparator.comparing(ProductResponseDTO::name));
+
+            //ACT
+            List<ProductResponseDTO> result = largeCatalog.query("12", 10000L, null);
+
+            //ASSERT
+            assertEquals(expected, result);
+        }
+    }
+
+    @Nested
+    class suggest {
+
+        @DisplayName("Should return products whose name starts with the prefix, ignoring case.")
+        @Test
+        void suggest_Prefix_ReturnsMatchingProductsSortedByName() {
+            //ACT
+            List<ProductResponseDTO> result = productCatalog.suggest("SMART", 10);
+
+            //ASSERT
+            assertEquals(List.of(smartphoneX, smartphoneY), result);
+            assertEquals(List.of(), productCatalog.suggest("phone", 10));
+        }
+
+        @DisplayName("Should return only the first products up to the limit.")
+        @Test
+        void suggest_Limit_ReturnsFirstProducts() {
+            //ACT
+            List<ProductResponseDTO> result = productCatalog.suggest("n", 1);
+
+            //ASSERT
+            assertEquals(List.of(notebookX), result);
+        }
+
+        @DisplayName("Should merge created, updated and removed products with the loaded ones.")
+        @Test
+        void suggest_AfterWrites_ReturnsMergedProducts() {
+            //ARRANGE
+            ProductResponseDTO smartwatch = new ProductResponseDTO(UUID.randomUUID(), "smartwatch", 3000);
+            ProductResponseDTO updatedNotebookX = new ProductResponseDTO(notebookX.productId(), "Smart TV", 9990);
+
+            //ACT
+            productCatalog.upsert(smartwatch);
+            productCatalog.upsert(updatedNotebookX);
+            productCatalog.remove(smartphoneX.productId());
+
+            //ASSERT
+            assertEquals(List.of(updatedNotebookX, smartphoneY, smartwatch), productCatalog.suggest("smart", 10));
+            assertEquals(List.of(updatedNotebookX, smartphoneY), productCatalog.suggest("smart", 2));
+            assertEquals(List.of(notebookY), productCatalog.suggest("note", 10));
+        }
+
+        @DisplayName("Should order products with the same lowercase name by id, in the snapshot and in the written changes.")
+        @Test
+        void suggest_SameLowercaseName_TieBreaksOnProductId() {
+            //ARRANGE
+            ProductResponseDTO lowerCase = new ProductResponseDTO(UUID.fromString("00000000-0000-7000-8000-000000000001"), "monitor", 100);
+            ProductResponseDTO upperCase = new ProductResponseDTO(UUID.fromString("ffffffff-0000-7000-8000-000000000001"), "Monitor", 100);
+            ProductResponseDTO writtenUpperCase = new ProductResponseDTO(UUID.fromString("7fffffff-0000-7000-8000-000000000001"), "MONITOR", 100);
+            productCatalog.load(List.of(upperCase, lowerCase));
+
+            //ACT
+            List<ProductResponseDTO> loaded = productCatalog.suggest("mon", 10);
+            productCatalog.upsert(writtenUpperCase);
+            List<ProductResponseDTO> merged = productCatalog.suggest("mon", 10);
+
+            //ASSERT
+            assertEquals(List.of(lowerCase, upperCase), loaded);
+            assertEquals(List.of(lowerCase, writtenUpperCase, upperCase), merged);
+        }
+
+        @DisplayName("Should return the same products as a sorted scan on a large catalog.")
+        @Test
+        void suggest_LargeCatalog_ReturnsSameResultsAsSortedScan() {
+            //ARRANGE
+            List<ProductResponseDTO> products = new ArrayList<>();
+            for (int i = 0; i < 50_000; i++) {
+                products.add(new ProductResponseDTO(UUID.randomUUID(), (i % 2 == 0 ? "Product " : "product ") + i, i));
+            }
+            ProductCatalog largeCatalog = new ProductCatalog();
+            largeCatalog.load(products);
+
+            List<ProductResponseDTO> expected = products.stream()
+                    .filter(product -> product.name().toLowerCase().startsWith("product 12"))
+                    .sorted(Comparator.comparing((ProductResponseDTO product) -> product.name().toLowerCase())
+                            .thenComparing(ProductResponseDTO::productId, CatalogSnapshot::compareUnsigned))
+                    .limit(20)
+                    .toList();
+
+            //ACT
+            List<ProductResponseDTO> result = largeCatalog.suggest("Product 12", 20);
+
+            //ASSERT
+            assertEquals(expected, result);
+        }
+    }
+
+    @Nested
+    class writes {
+
+        @DisplayName("Should reflect created, updated and removed products in later queries.")
+        @Test
+        void upsertAndRemove_ReflectedInQueries() {
+            //ARRANGE
+            ProductResponseDTO tablet = new ProductResponseDTO(UUID.randomUUID(), "Tablet", 3000);
+            ProductResponseDTO updatedSmartphoneX = new ProductResponseDTO(smartphoneX.productId(), "Smartphone X Pro", 9990);
+
+            //ACT
+            productCatalog.upsert(tablet);
+            productCatalog.upsert(updatedSmartphoneX);
+            productCatalog.remove(notebookY.productId());
+
+            //ASSERT
+            assertEquals(List.of(notebookX, updatedSmartphoneX, smartphoneY, tablet), productCatalog.query(null, null, null));
+            assertEquals(List.of(updatedSmartphoneX), productCatalog.query("pro", 9000L, null));
+        }
+
+        @DisplayName("Should keep writes received before the catalog finished loading.")
+        @Test
+        void upsertBeforeLoad_KeptAfterLoad() {
+            //ARRANGE
+            ProductCatalog loadingCatalog = new ProductCatalog();
+            ProductResponseDTO updatedNotebookX = new ProductResponseDTO(notebookX.productId(), "Notebook X", 4500);
+
+            //ACT
+            loadingCatalog.upsert(updatedNotebookX);
+            loadingCatalog.load(List.of(notebookX, smartphoneX));
+
+            //ASSERT
+            assertTrue(loadingCatalog.isLoaded());
+            assertEquals(List.of(updatedNotebookX, smartphoneX), loadingCatalog.query(null, null, null));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.product.infra.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HikariPoolSizerTest {
+
+    MockEnvironment environment;
+
+    HikariPoolSizer hikariPoolSizer;
+
+    @BeforeEach
+    void setUp() {
+        environment = new MockEnvironment().withProperty("productApi.datasource.pool.database-cores", "4");
+        hikariPoolSizer = new HikariPoolSizer();
+        ReflectionTestUtils.setField(hikariPoolSizer, "environment", environment);
+    }
+
+    @DisplayName("Should size the primary pool as twice the database cores plus one.")
+    @Test
+    void postProcessBeforeInitialization_PrimaryPool_SizesFromCores() {
+        //ARRANGE
+        HikariDataSource dataSource = new HikariDataSource();
+
+        //ACT
+        hikariPoolSizer.postProcessBeforeInitialization(dataSource, "dataSource");
+
+        //ASSERT
+        assertEquals(9, dataSource.getMaximumPoolSize());
+        assertEquals(9, dataSource.getMinimumIdle());
+    }
+
+    @DisplayName("Should keep the pool size when it is configured explicitly or the pool is the replica.")
+    @Test
+    void postProcessBeforeInitialization_ExplicitSizeOrReplica_KeepsSize() {
+        //ARRANGE
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("replica");
+        replica.setMaximumPoolSize(3);
+        HikariDataSource primary = new HikariDataSource();
+        primary.setMaximumPoolSize(5);
+        environment.setProperty("spring.datasource.hikari.maximum-pool-size", "5");
+
+        //ACT
+        hikariPoolSizer.postProcessBeforeInitialization(replica, "replicaDataSource");
+        hikariPoolSizer.postProcessBeforeInitialization(primary, "dataSource");
+
+        //ASSERT
+        assertEquals(3, replica.getMaximumPoolSize());
+        assertEquals(5, primary.getMaximumPoolSize());
+    }
+
+    @DisplayName("Should fail fast when the database core count is not set.")
+    @Test
+    void postProcessBeforeInitialization_DatabaseCoresMissing_ThrowsIllegalStateException() {
+        //ARRANGE
+        ReflectionTestUtils.setField(hikariPoolSizer, "environment", new MockEnvironment().withProperty("productApi.datasource.pool.database-cores", ""));
+        HikariDataSource dataSource = new HikariDataSource();
+
+        //ACT & ASSERT
+        assertThrows(IllegalStateException.class, () -> hikariPoolSizer.postProcessBeforeInitialization(dataSource, "dataSource"));
+    }
+}
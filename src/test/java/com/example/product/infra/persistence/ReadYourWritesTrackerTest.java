@@ -0,0 +1,61 @@
+package com.example.product.infra.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReadYourWritesTrackerTest {
+
+    @DisplayName("Should remember the user of a committed write only for the read-your-writes window.")
+    @Test
+    void afterCommit_WriteTransaction_RecordsUser() {
+        //ARRANGE
+        ReadYourWritesTracker readYourWritesTracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+        ReadYourWritesTracker expiredTracker = new ReadYourWritesTracker(Duration.ZERO);
+        TransactionExecution transaction = mock(TransactionExecution.class);
+        when(transaction.isReadOnly()).thenReturn(false);
+        when(transaction.isNewTransaction()).thenReturn(true);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("userTest", null, List.of()));
+
+        try {
+            //ACT
+            readYourWritesTracker.afterCommit(transaction, null);
+            expiredTracker.afterCommit(transaction, null);
+
+            //ASSERT
+            assertTrue(readYourWritesTracker.wroteRecently("userTest"));
+            assertFalse(readYourWritesTracker.wroteRecently("otherUser"));
+            assertFalse(expiredTracker.wroteRecently("userTest"));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @DisplayName("Should ignore read-only transactions.")
+    @Test
+    void afterCommit_ReadOnlyTransaction_RecordsNothing() {
+        //ARRANGE
+        ReadYourWritesTracker readYourWritesTracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+        TransactionExecution transaction = mock(TransactionExecution.class);
+        when(transaction.isReadOnly()).thenReturn(true);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("userTest", null, List.of()));
+
+        try {
+            //ACT
+            readYourWritesTracker.afterCommit(transaction, null);
+
+            //ASSERT
+            assertFalse(readYourWritesTracker.wroteRecently("userTest"));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.product.infra.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaLagMonitorTest {
+
+    @Mock
+    private JdbcTemplate replicaJdbcTemplate;
+
+    @DisplayName("Should use the replica only while its lag is within the limit and it answers.")
+    @Test
+    void checkLag_UpdatesReplicaUsable() {
+        //ARRANGE
+        ReplicaLagMonitor replicaLagMonitor = new ReplicaLagMonitor(replicaJdbcTemplate, Duration.ofSeconds(5));
+        when(replicaJdbcTemplate.queryForObject(anyString(), eq(Double.class)))
+                .thenReturn(1.5)
+                .thenReturn(7.0)
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        //ACT & ASSERT
+        assertFalse(replicaLagMonitor.isReplicaUsable());
+
+        replicaLagMonitor.checkLag();
+        assertTrue(replicaLagMonitor.isReplicaUsable());
+
+        replicaLagMonitor.checkLag();
+        assertFalse(replicaLagMonitor.isReplicaUsable());
+
+        replicaLagMonitor.checkLag();
+        assertFalse(replicaLagMonitor.isReplicaUsable());
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.product.infra.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Mock
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @AfterEach
+    void clear() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    ReplicaRoutingDataSource routingDataSource() {
+        return new ReplicaRoutingDataSource(primary, replica, replicaLagMonitor, readYourWritesTracker);
+    }
+
+    @DisplayName("Should route read-only transactions to the replica when it is usable.")
+    @Test
+    void determineCurrentLookupKey_ReadOnlyAndReplicaUsable_ReturnsReplica() {
+        //ARRANGE
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("userTest", null, List.of()));
+        when(replicaLagMonitor.isReplicaUsable()).thenReturn(true);
+        when(readYourWritesTracker.wroteRecently("userTest")).thenReturn(false);
+
+        //ACT & ASSERT
+        assertEquals(ReplicaRoutingDataSource.Target.REPLICA, routingDataSource().determineCurrentLookupKey());
+    }
+
+    @DisplayName("Should route writes to the primary.")
+    @Test
+    void determineCurrentLookupKey_ReadWrite_ReturnsPrimary() {
+        //ACT & ASSERT
+        assertEquals(ReplicaRoutingDataSource.Target.PRIMARY, routingDataSource().determineCurrentLookupKey());
+        verifyNoInteractions(replicaLagMonitor);
+    }
+
+    @DisplayName("Should fall back to the primary when the replica lags too much.")
+    @Test
+    void determineCurrentLookupKey_ReplicaLagging_ReturnsPrimary() {
+        //ARRANGE
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replicaLagMonitor.isReplicaUsable()).thenReturn(false);
+
+        //ACT & ASSERT
+        assertEquals(ReplicaRoutingDataSource.Target.PRIMARY, routingDataSource().determineCurrentLookupKey());
+    }
+
+    @DisplayName("Should read from the primary right after the same user wrote.")
+    @Test
+    void determineCurrentLookupKey_RecentWriter_ReturnsPrimary() {
+        //ARRANGE
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("userTest", null, List.of()));
+        when(replicaLagMonitor.isReplicaUsable()).thenReturn(true);
+        when(readYourWritesTracker.wroteRecently("userTest")).thenReturn(true);
+
+        //ACT & ASSERT
+        assertEquals(ReplicaRoutingDataSource.Target.PRIMARY, routingDataSource().determineCurrentLookupKey());
+    }
+}
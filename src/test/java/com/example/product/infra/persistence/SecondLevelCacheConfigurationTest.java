@@ -0,0 +1,44 @@
+package com.example.product.infra.persistence;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecondLevelCacheConfigurationTest {
+
+    @DisplayName("Should create every region with the configured size and ttl, falling back to the defaults.")
+    @Test
+    void secondLevelCacheManager_ConfiguredRegions() {
+        //ARRANGE
+        SecondLevelCacheConfiguration configuration = new SecondLevelCacheConfiguration();
+        ReflectionTestUtils.setField(configuration, "environment", new MockEnvironment()
+                .withProperty("productApi.cache.product.max-size", "42")
+                .withProperty("productApi.cache.product.ttl", "PT30S"));
+
+        //ACT
+        try (CacheManager cacheManager = configuration.secondLevelCacheManager()) {
+
+            //ASSERT
+            @SuppressWarnings("unchecked")
+            CaffeineConfiguration<Object, Object> product = cacheManager
+                    .getCache(SecondLevelCacheConfiguration.PRODUCT_REGION)
+                    .getConfiguration(CaffeineConfiguration.class);
+            assertEquals(OptionalLong.of(42), product.getMaximumSize());
+            assertEquals(OptionalLong.of(Duration.ofSeconds(30).toNanos()), product.getExpireAfterWrite());
+
+            @SuppressWarnings("unchecked")
+            CaffeineConfiguration<Object, Object> userQueries = cacheManager
+                    .getCache(SecondLevelCacheConfiguration.USER_QUERY_REGION)
+                    .getConfiguration(CaffeineConfiguration.class);
+            assertEquals(OptionalLong.of(10_000), userQueries.getMaximumSize());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.product.infra.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+    @DisplayName("Should generate version 7 ids with the RFC variant.")
+    @Test
+    void next_ReturnsVersion7Uuid() {
+        //ACT
+        UUID result = UuidV7Generator.next();
+
+        //ASSERT
+        assertEquals(7, result.version());
+        assertEquals(2, result.variant());
+    }
+
+    @DisplayName("Should generate strictly increasing ids carrying the current timestamp.")
+    @Test
+    void next_ManyIds_AreTimeOrdered() {
+        //ARRANGE
+        long before = System.currentTimeMillis();
+
+        //ACT
+        UUID[] ids = new UUID[10_000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = UuidV7Generator.next();
+        }
+
+        //ASSERT
+        for (int i = 1; i < ids.length; i++) {
+            assertTrue(Long.compareUnsigned(ids[i - 1].getMostSignificantBits(), ids[i].getMostSignificantBits()) < 0);
+        }
+        assertTrue(ids[0].getMostSignificantBits() >>> 16 >= before);
+    }
+}
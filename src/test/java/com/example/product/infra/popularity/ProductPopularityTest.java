@@ -0,0 +1,181 @@
+package com.example.product.infra.popularity;
+
+import com.example.product.domain.product.HotProductDTO;
+import com.example.product.domain.product.Product;
+import com.example.product.repository.ProductRepository;
+import com.example.product.repository.ProductViewsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductPopularityTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductViewsRepository productViewsRepository;
+
+    @InjectMocks
+    private ProductPopularity productPopularity;
+
+    @BeforeEach
+    void setUp() {
+        productPopularity.startCounting();
+    }
+
+    @Nested
+    class flush {
+
+        @DisplayName("Should write the views counted since the last flush in one batch.")
+        @Test
+        void flush_CountedViews_WritesBatch() {
+            //ARRANGE
+            Product first = new Product(UUID.randomUUID(), "Smartphone", 1050);
+            Product second = new Product(UUID.randomUUID(), "Notebook", 2050);
+            when(productRepository.multiLoad(anyList())).thenReturn(List.of(first, second));
+            for (int i = 0; i < 3; i++) {
+                productPopularity.recordView(first.getProductId());
+            }
+            productPopularity.recordView(second.getProductId());
+
+            //ACT
+            productPopularity.flush();
+
+            //ASSERT
+            verify(productViewsRepository).addViews(Map.of(first.getProductId(), 3L, second.getProductId(), 1L));
+        }
+
+        @DisplayName("Should rank the hot products by views and skip products that no longer exist.")
+        @Test
+        void flush_CountedViews_RanksHotProducts() {
+            //ARRANGE
+            Product first = new Product(UUID.randomUUID(), "Smartphone", 1050);
+            Product second = new Product(UUID.randomUUID(), "Notebook", 2050);
+            UUID deletedId = UUID.randomUUID();
+            when(productRepository.multiLoad(anyList())).thenReturn(List.of(first, second));
+            productPopularity.recordView(first.getProductId());
+            for (int i = 0; i < 5; i++) {
+                productPopularity.recordView(second.getProductId());
+                productPopularity.recordView(deletedId);
+            }
+
+            //ACT
+            productPopularity.flush();
+
+            //ASSERT
+            assertEquals(List.of(new HotProductDTO(second, 5), new HotProductDTO(first, 1)), productPopularity.hotProducts(10));
+            assertEquals(List.of(new HotProductDTO(second, 5)), productPopularity.hotProducts(1));
+        }
+
+        @DisplayName("Should keep the views of a failed batch and write them with the next one.")
+        @Test
+        void flush_BatchFails_RetriesViews() {
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            when(productRepository.multiLoad(anyList())).thenReturn(List.of());
+            doThrow(new QueryTimeoutException("timeout")).doNothing().when(productViewsRepository).addViews(anyMap());
+            productPopularity.recordView(productId);
+            assertThrows(QueryTimeoutException.class, () -> productPopularity.flush());
+            productPopularity.recordView(productId);
+
+            //ACT
+            productPopularity.flush();
+
+            //ASSERT
+            verify(productViewsRepository).addViews(Map.of(productId, 2L));
+        }
+
+        @DisplayName("Should stop keeping views of new products once too many are waiting for a failed batch.")
+        @Test
+        void flush_BatchKeepsFailing_CapsUnsavedViews() {
+            //ARRANGE
+            ReflectionTestUtils.setField(productPopularity, "maxUnsaved", 1);
+            UUID waitingId = UUID.randomUUID();
+            UUID droppedId = UUID.randomUUID();
+            when(productRepository.multiLoad(anyList())).thenReturn(List.of());
+            doThrow(new QueryTimeoutException("timeout")).doNothing().when(productViewsRepository).addViews(anyMap());
+            productPopularity.recordView(waitingId);
+            assertThrows(QueryTimeoutException.class, () -> productPopularity.flush());
+            productPopularity.recordView(waitingId);
+            productPopularity.recordView(droppedId);
+
+            //ACT
+            productPopularity.flush();
+
+            //ASSERT
+            verify(productViewsRepository).addViews(Map.of(waitingId, 2L));
+        }
+
+        @DisplayName("Should still write the views and keep the previous ranking when the hot products cannot be loaded.")
+        @Test
+        void flush_LookupFails_WritesViewsAndKeepsRanking() {
+            //ARRANGE
+            Product product = new Product(UUID.randomUUID(), "Smartphone", 1050);
+            UUID otherId = UUID.randomUUID();
+            when(productRepository.multiLoad(anyList())).thenReturn(List.of(product)).thenThrow(new QueryTimeoutException("timeout")).thenReturn(List.of(product));
+            productPopularity.recordView(product.getProductId());
+            productPopularity.flush();
+            productPopularity.recordView(otherId);
+
+            //ACT
+            productPopularity.flush();
+
+            //ASSERT
+            verify(productViewsRepository).addViews(Map.of(otherId, 1L));
+            assertEquals(List.of(new HotProductDTO(product, 1)), productPopularity.hotProducts(10));
+            productPopularity.flush();
+            verify(productRepository, times(3)).multiLoad(anyList());
+        }
+
+        @DisplayName("Should not touch the database when there were no views.")
+        @Test
+        void flush_NoViews_SkipsBatch() {
+            //ACT
+            productPopularity.flush();
+
+            //ASSERT
+            verify(productViewsRepository, never()).addViews(anyMap());
+            verify(productRepository, never()).multiLoad(anyList());
+        }
+    }
+
+    @Nested
+    class recordView {
+
+        @DisplayName("Should not count views before the application is ready, like the warm-up replay.")
+        @Test
+        void recordView_BeforeReady_NotCounted() {
+            //ARRANGE
+            ProductPopularity startingPopularity = new ProductPopularity();
+            ReflectionTestUtils.setField(startingPopularity, "productRepository", productRepository);
+            ReflectionTestUtils.setField(startingPopularity, "productViewsRepository", productViewsRepository);
+            UUID productId = UUID.randomUUID();
+
+            //ACT
+            startingPopularity.recordView(productId);
+            startingPopularity.flush();
+
+            //ASSERT
+            verify(productViewsRepository, never()).addViews(anyMap());
+            assertEquals(List.of(), startingPopularity.hotProducts(10));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.product.infra.popularity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingSketchTest {
+
+    @Nested
+    class offer {
+
+        @DisplayName("Should count exactly while there are fewer products than counters.")
+        @Test
+        void offer_BelowCapacity_CountsExactly() {
+            //ARRANGE
+            SpaceSavingSketch sketch = new SpaceSavingSketch(4);
+            UUID first = UUID.randomUUID();
+            UUID second = UUID.randomUUID();
+
+            //ACT
+            sketch.offer(first, 3);
+            sketch.offer(second, 5);
+            sketch.offer(first, 4);
+
+            //ASSERT
+            assertEquals(List.of(
+                    new SpaceSavingSketch.Estimate(first, 7, 0),
+                    new SpaceSavingSketch.Estimate(second, 5, 0)), sketch.top(10));
+        }
+
+        @DisplayName("Should evict the smallest counter and carry its count as the error of the newcomer.")
+        @Test
+        void offer_AtCapacity_ReplacesSmallest() {
+            //ARRANGE
+            SpaceSavingSketch sketch = new SpaceSavingSketch(2);
+            UUID heavy = UUID.randomUUID();
+            UUID light = UUID.randomUUID();
+            UUID newcomer = UUID.randomUUID();
+            sketch.offer(heavy, 10);
+            sketch.offer(light, 2);
+
+            //ACT
+            sketch.offer(newcomer, 1);
+
+            //ASSERT
+            assertEquals(2, sketch.size());
+            assertEquals(List.of(
+                    new SpaceSavingSketch.Estimate(heavy, 10, 0),
+                    new SpaceSavingSketch.Estimate(newcomer, 3, 2)), sketch.top(10));
+        }
+
+        @DisplayName("Should keep the heavy hitters of a skewed stream much larger than its capacity.")
+        @Test
+        void offer_SkewedStream_FindsHeavyHitters() {
+            //ARRANGE
+            SpaceSavingSketch sketch = new SpaceSavingSketch(50);
+            List<UUID> hot = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+            Random random = new Random(42);
+
+            //ACT
+            for (int i = 0; i < 100_000; i++) {
+                UUID productId = random.nextInt(10) < 3 ? hot.get(random.nextInt(hot.size())) : UUID.randomUUID();
+                sketch.offer(productId, 1);
+            }
+
+            //ASSERT
+            List<UUID> top = sketch.top(3).stream().map(SpaceSavingSketch.Estimate::productId).toList();
+            assertTrue(top.containsAll(hot));
+        }
+    }
+
+    @Nested
+    class decay {
+
+        @DisplayName("Should halve counts and errors while keeping the ranking.")
+        @Test
+        void decay_HalvesCounts() {
+            //ARRANGE
+            SpaceSavingSketch sketch = new SpaceSavingSketch(4);
+            UUID first = UUID.randomUUID();
+            UUID second = UUID.randomUUID();
+            sketch.offer(first, 8);
+            sketch.offer(second, 5);
+
+            //ACT
+            sketch.decay();
+
+            //ASSERT
+            assertEquals(List.of(
+                    new SpaceSavingSketch.Estimate(first, 4, 0),
+                    new SpaceSavingSketch.Estimate(second, 2, 0)), sketch.top(10));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.product.infra.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.KeyFactory;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SigningKeyRingTest {
+
+    SigningKeyRing signingKeyRing(String algorithm) {
+        SigningKeyRing signingKeyRing = new SigningKeyRing();
+        ReflectionTestUtils.setField(signingKeyRing, "algorithm", algorithm);
+        ReflectionTestUtils.setField(signingKeyRing, "secret", "test-key");
+        signingKeyRing.reload();
+        return signingKeyRing;
+    }
+
+    @Nested
+    class es256 {
+
+        @DisplayName("Should sign with the active kid and verify with the verifier cached for it.")
+        @Test
+        void es256_SignedToken_VerifiedByKid() {
+            //ARRANGE
+            SigningKeyRing signingKeyRing = signingKeyRing("ES256");
+            String token = JWT.create()
+                    .withKeyId(signingKeyRing.activeKid())
+                    .withIssuer(SigningKeyRing.ISSUER)
+                    .withSubject("UserTest")
+                    .sign(signingKeyRing.signingAlgorithm());
+
+            //ACT
+            DecodedJWT decodedJWT = JWT.decode(token);
+
+            //ASSERT
+            assertEquals("ES256", decodedJWT.getAlgorithm());
+            assertSame(signingKeyRing.verifierFor(decodedJWT.getKeyId()), signingKeyRing.verifierFor(decodedJWT.getKeyId()));
+            assertEquals("UserTest", signingKeyRing.verifierFor(decodedJWT.getKeyId()).verify(decodedJWT).getSubject());
+            assertNull(signingKeyRing.verifierFor(null));
+            assertNull(signingKeyRing.verifierFor("unknown"));
+        }
+
+        @DisplayName("Should publish a JWK that verifies the tokens signed by the ring.")
+        @Test
+        void publicJwks_VerifiesSignedToken() throws Exception {
+            //ARRANGE
+            SigningKeyRing signingKeyRing = signingKeyRing("ES256");
+            String token = JWT.create()
+                    .withKeyId(signingKeyRing.activeKid())
+                    .withIssuer(SigningKeyRing.ISSUER)
+                    .sign(signingKeyRing.signingAlgorithm());
+
+            //ACT
+            List<Map<String, String>> jwks = signingKeyRing.publicJwks();
+
+            //ASSERT
+            assertEquals(1, jwks.size());
+            Map<String, String> jwk = jwks.get(0);
+            assertEquals(signingKeyRing.activeKid(), jwk.get("kid"));
+            assertEquals("EC", jwk.get("kty"));
+
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec("secp256r1"));
+            ECPoint point = new ECPoint(
+                    new BigInteger(1, Base64.getUrlDecoder().decode(jwk.get("x"))),
+                    new BigInteger(1, Base64.getUrlDecoder().decode(jwk.get("y"))));
+            ECPublicKey publicKey = (ECPublicKey) KeyFactory.getInstance("EC")
+                    .generatePublic(new ECPublicKeySpec(point, parameters.getParameterSpec(ECParameterSpec.class)));
+
+            assertDoesNotThrow(() -> JWT.require(Algorithm.ECDSA256(publicKey, null)).build().verify(token));
+        }
+    }
+
+    @Nested
+    class hs256 {
+
+        @DisplayName("Should verify tokens without kid and publish no keys when signing with the shared secret.")
+        @Test
+        void hs256_TokenWithoutKid_Verified() {
+            //ARRANGE
+            SigningKeyRing signingKeyRing = signingKeyRing("HS256");
+            String token = JWT.create()
+                    .withIssuer(SigningKeyRing.ISSUER)
+                    .withSubject("UserTest")
+                    .sign(Algorithm.HMAC256("test-key"));
+
+            //ACT
+            String subject = signingKeyRing.verifierFor(null).verify(token).getSubject();
+
+            //ASSERT
+            assertEquals("UserTest", subject);
+            assertTrue(signingKeyRing.publicJwks().isEmpty());
+        }
+
+        @DisplayName("Should refuse to start with an unsupported algorithm.")
+        @Test
+        void reload_UnsupportedAlgorithm_ThrowsException() {
+            //ACT & ASSERT
+            assertThrows(IllegalStateException.class, () -> signingKeyRing("RS256"));
+        }
+    }
+}
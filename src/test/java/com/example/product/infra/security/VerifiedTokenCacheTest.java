@@ -0,0 +1,54 @@
+package com.example.product.infra.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(16, Duration.ofMinutes(5));
+
+    @DisplayName("Should return the cached subject for the same token.")
+    @Test
+    void subjectFor_CachedToken_ReturnsSubject() {
+        //ARRANGE
+        verifiedTokenCache.put("token", "UserTest", Instant.now().plusSeconds(60));
+
+        //ACT
+        String subject = verifiedTokenCache.subjectFor(new String("token".toCharArray()));
+
+        //ASSERT
+        assertEquals("UserTest", subject);
+    }
+
+    @DisplayName("Should return null for a different token, even when it maps to the same slot.")
+    @Test
+    void subjectFor_OtherToken_ReturnsNull() {
+        //ARRANGE
+        verifiedTokenCache.put("Aa", "UserTest", Instant.now().plusSeconds(60));
+
+        //ACT
+        String subject = verifiedTokenCache.subjectFor("BB");
+
+        //ASSERT
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertNull(subject);
+    }
+
+    @DisplayName("Should not return a subject once the token has expired.")
+    @Test
+    void subjectFor_ExpiredToken_ReturnsNull() {
+        //ARRANGE
+        verifiedTokenCache.put("expired", "UserTest", Instant.now().minusSeconds(1));
+        VerifiedTokenCache shortLivedCache = new VerifiedTokenCache(16, Duration.ZERO);
+        shortLivedCache.put("capped", "UserTest", Instant.now().plusSeconds(60));
+
+        //ACT & ASSERT
+        assertNull(verifiedTokenCache.subjectFor("expired"));
+        assertNull(shortLivedCache.subjectFor("capped"));
+    }
+}
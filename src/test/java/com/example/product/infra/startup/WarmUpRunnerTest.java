@@ -0,0 +1,68 @@
+package com.example.product.infra.startup;
+
+import com.example.product.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.net.ServerSocket;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WarmUpRunnerTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private WebServerApplicationContext context;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private WarmUpRunner warmUpRunner;
+
+    @Nested
+    class run {
+
+        @DisplayName("Should finish without throwing when the warm-up requests cannot connect.")
+        @Test
+        void run_ConnectionRefused_FinishesWithoutThrowing() throws Exception {
+            //ARRANGE
+            int closedPort;
+            try (ServerSocket socket = new ServerSocket(0)) {
+                closedPort = socket.getLocalPort();
+            }
+            when(context.getWebServer().getPort()).thenReturn(closedPort);
+
+            //ACT & ASSERT
+            assertDoesNotThrow(() -> warmUpRunner.run(new DefaultApplicationArguments()));
+            assertEquals(0, meterRegistry.get("warmup.rounds").gauge().value());
+        }
+
+        @DisplayName("Should finish without throwing when the sample data cannot be read.")
+        @Test
+        void run_RepositoryFails_FinishesWithoutThrowing() {
+            //ARRANGE
+            when(context.getWebServer().getPort()).thenReturn(8080);
+            when(userRepository.findByUsername("admin")).thenThrow(new DataAccessResourceFailureException("database down"));
+
+            //ACT & ASSERT
+            assertDoesNotThrow(() -> warmUpRunner.run(new DefaultApplicationArguments()));
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.product.infra.stock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedStockCounterTest {
+
+    @Nested
+    class tryReserve {
+
+        @DisplayName("Should take the quantity from the local quota and count it as reserved.")
+        @Test
+        void tryReserve_EnoughQuota_ReservesQuantity() {
+            //ARRANGE
+            StripedStockCounter counter = new StripedStockCounter(4);
+            counter.deposit(100);
+
+            //ACT
+            boolean reserved = counter.tryReserve(10);
+
+            //ASSERT
+            assertTrue(reserved);
+            assertEquals(90, counter.available());
+            assertEquals(10, counter.pendingReserved());
+        }
+
+        @DisplayName("Should refuse a quantity no single stripe holds and leave the quota untouched.")
+        @Test
+        void tryReserve_QuotaSpreadThin_Refuses() {
+            //ARRANGE
+            StripedStockCounter counter = new StripedStockCounter(4);
+            counter.deposit(8);
+
+            //ACT
+            boolean reserved = counter.tryReserve(3);
+
+            //ASSERT
+            assertFalse(reserved);
+            assertEquals(8, counter.available());
+            assertEquals(0, counter.pendingReserved());
+        }
+
+        @DisplayName("Should never hand out more than was deposited when many threads reserve at once.")
+        @Test
+        void tryReserve_ConcurrentReservations_NeverOversells() throws Exception {
+            //ARRANGE
+            StripedStockCounter counter = new StripedStockCounter(8);
+            counter.deposit(10_000);
+            int threads = 8;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Long>> results = new ArrayList<>();
+
+            //ACT
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    long taken = 0;
+                    for (int attempt = 0; attempt < 5_000; attempt++) {
+                        if (counter.tryReserve(1)) {
+                            taken++;
+                        }
+                    }
+                    return taken;
+                }));
+            }
+            start.countDown();
+            long taken = 0;
+            for (Future<Long> result : results) {
+                taken += result.get();
+            }
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+
+            //ASSERT
+            assertEquals(10_000, taken + counter.available());
+            assertEquals(taken, counter.pendingReserved());
+            assertTrue(taken <= 10_000);
+        }
+    }
+
+    @Nested
+    class release {
+
+        @DisplayName("Should return the quantity to the quota and take it off the reserved count.")
+        @Test
+        void release_ReservedQuantity_ReturnsQuota() {
+            //ARRANGE
+            StripedStockCounter counter = new StripedStockCounter(2);
+            counter.deposit(10);
+            counter.tryReserve(4);
+
+            //ACT
+            counter.release(4);
+
+            //ASSERT
+            assertEquals(10, counter.available());
+            assertEquals(0, counter.pendingReserved());
+        }
+    }
+
+    @Nested
+    class drain {
+
+        @DisplayName("Should take the quota of every stripe and leave the counter empty.")
+        @Test
+        void drain_SpreadQuota_TakesEverything() {
+            //ARRANGE
+            StripedStockCounter counter = new StripedStockCounter(4);
+            counter.deposit(7);
+
+            //ACT
+            long drained = counter.drain();
+
+            //ASSERT
+            assertEquals(7, drained);
+            assertEquals(0, counter.available());
+        }
+    }
+
+    @Nested
+    class takePendingReserved {
+
+        @DisplayName("Should return the reserved delta once and reset it.")
+        @Test
+        void takePendingReserved_AfterReservations_ResetsDelta() {
+            //ARRANGE
+            StripedStockCounter counter = new StripedStockCounter(1);
+            counter.deposit(10);
+            counter.tryReserve(3);
+            counter.tryReserve(2);
+
+            //ACT
+            long first = counter.takePendingReserved();
+            long second = counter.takePendingReserved();
+
+            //ASSERT
+            assertEquals(5, first);
+            assertEquals(0, second);
+        }
+    }
+}
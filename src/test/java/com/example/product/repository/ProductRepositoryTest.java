@@ -1,18 +1,32 @@
 package com.example.product.repository;
 
 import com.example.product.domain.product.Product;
+import com.example.product.domain.product.ProductFields;
+import com.example.product.domain.product.ProductCursor;
 import com.example.product.domain.product.ProductResponseDTO;
+import com.example.product.domain.product.ProductSort;
+import com.example.product.domain.product.ProductSuggestionDTO;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -26,15 +40,18 @@ class ProductRepositoryTest {
     @Autowired
     TestEntityManager testEntityManager;
 
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
     @Nested
     class getAllFiltered{
 
         List<Product> createAndPersistProducts(){
             return new ArrayList<>(List.of(
-                    testEntityManager.persistAndFlush(new Product(null,"Smartphone X",10.5)),
-                    testEntityManager.persistAndFlush(new Product(null,"Smartphone Y",20.5)),
-                    testEntityManager.persistAndFlush(new Product(null,"Notebook X",50.5)),
-                    testEntityManager.persistAndFlush(new Product(null,"Notebook Y",100.6))
+                    testEntityManager.persistAndFlush(new Product(null,"Smartphone X",1050)),
+                    testEntityManager.persistAndFlush(new Product(null,"Smartphone Y",2050)),
+                    testEntityManager.persistAndFlush(new Product(null,"Notebook X",5050)),
+                    testEntityManager.persistAndFlush(new Product(null,"Notebook Y",10060))
             ));
         }
 
@@ -94,7 +111,7 @@ class ProductRepositoryTest {
             List<Product> productList = createAndPersistProducts();
             productList = getSortedListByName(productList);
 
-            Double minPriceFilter = 50.5;
+            Long minPriceFilter = 5050L;
 
             productList.removeIf(product -> product.getPrice() <  minPriceFilter);
 
@@ -118,7 +135,7 @@ class ProductRepositoryTest {
             List<Product> productList = createAndPersistProducts();
             productList = getSortedListByName(productList);
 
-            Double maxPriceFilter = 20.5;
+            Long maxPriceFilter = 2050L;
 
             productList.removeIf(product -> product.getPrice() >  maxPriceFilter);
 
@@ -143,8 +160,8 @@ class ProductRepositoryTest {
             productList = getSortedListByName(productList);
 
             String nameFilter = "x";
-            Double minPriceFilter = 11.0;
-            Double maxPriceFilter = 60.5;
+            Long minPriceFilter = 1100L;
+            Long maxPriceFilter = 6050L;
 
             productList.removeIf(product -> !product.getName().toLowerCase().contains(nameFilter.toLowerCase()));
             productList.removeIf(product -> product.getPrice() <  minPriceFilter);
@@ -164,4 +181,223 @@ class ProductRepositoryTest {
         }
 
     }
-}
\ No newline at end of file
+
+    @Nested
+    class getSorted{
+
+        void createAndPersistProducts(){
+            testEntityManager.persistAndFlush(new Product(null,"Smartphone X",1050));
+            testEntityManager.persistAndFlush(new Product(null,"Smartphone Y",2050));
+            testEntityManager.persistAndFlush(new Product(null,"Smartphone Z",2050));
+            testEntityManager.persistAndFlush(new Product(null,"Notebook X",5050));
+            testEntityManager.persistAndFlush(new Product(null,"Notebook Y",2050));
+        }
+
+        @DisplayName("Should return products ordered by descending price when sorted by -price.")
+        @Test
+        void getSorted_PriceDescending_ReturnsProductsByDescendingPrice(){
+            //ARRANGE
+            createAndPersistProducts();
+
+            //ACT
+            List<ProductResponseDTO> result = productRepository.getSorted(null,null,null,ProductSort.PRICE_DESC,null,null,ProductFields.ALL);
+
+            //ASSERT
+            assertEquals(List.of(5050L,2050L,2050L,2050L,1050L), result.stream().map(ProductResponseDTO::price).toList());
+        }
+
+        @DisplayName("Should return every product exactly once when paging through ties on the sort key with cursors.")
+        @Test
+        void getSorted_PagedWithCursor_ReturnsSameOrderAsSingleQuery(){
+            //ARRANGE
+            createAndPersistProducts();
+            List<ProductResponseDTO> expected = productRepository.getSorted("o",1050L,null,ProductSort.PRICE,null,null,ProductFields.ALL);
+
+            //ACT
+            List<ProductResponseDTO> result = new ArrayList<>();
+            ProductCursor cursor = null;
+            List<ProductResponseDTO> page;
+            do {
+                page = productRepository.getSorted("o",1050L,null,ProductSort.PRICE,cursor,2,ProductFields.ALL);
+                result.addAll(page);
+                cursor = page.isEmpty() ? null : ProductCursor.decode(ProductSort.PRICE, ProductCursor.encode(ProductSort.PRICE, page.get(page.size() - 1)));
+            } while (page.size() == 2);
+
+            //ASSERT
+            assertEquals(5, expected.size());
+            assertEquals(expected, result);
+        }
+
+        @DisplayName("Should select only the requested fields, leaving the others empty.")
+        @Test
+        void getSorted_NarrowedFields_ReturnsOnlyRequestedFields(){
+            //ARRANGE
+            createAndPersistProducts();
+
+            //ACT
+            List<ProductResponseDTO> priceOnly = productRepository.getSorted(null,null,null,ProductSort.PRICE,null,null,new ProductFields(false,true));
+            List<ProductResponseDTO> idOnly = productRepository.getSorted(null,null,null,ProductSort.PRICE,null,null,new ProductFields(false,false));
+
+            //ASSERT
+            assertEquals(List.of(1050L,2050L,2050L,2050L,5050L), priceOnly.stream().map(ProductResponseDTO::price).toList());
+            assertTrue(priceOnly.stream().allMatch(product -> product.name() == null && product.productId() != null));
+            assertEquals(priceOnly.stream().map(ProductResponseDTO::productId).toList(), idOnly.stream().map(ProductResponseDTO::productId).toList());
+            assertTrue(idOnly.stream().allMatch(product -> product.name() == null && product.price() == 0));
+        }
+
+        @DisplayName("Should continue after the cursor when sorted by descending name.")
+        @Test
+        void getSorted_NameDescendingAfterCursor_ReturnsRemainingProducts(){
+            //ARRANGE
+            createAndPersistProducts();
+            List<ProductResponseDTO> firstPage = productRepository.getSorted(null,null,null,ProductSort.NAME_DESC,null,2,ProductFields.ALL);
+            ProductCursor cursor = new ProductCursor(firstPage.get(1).name(), firstPage.get(1).productId());
+
+            //ACT
+            List<ProductResponseDTO> result = productRepository.getSorted(null,null,null,ProductSort.NAME_DESC,cursor,null,ProductFields.ALL);
+
+            //ASSERT
+            assertEquals(List.of("Smartphone Z","Smartphone Y"), firstPage.stream().map(ProductResponseDTO::name).toList());
+            assertEquals(List.of("Smartphone X","Notebook Y","Notebook X"), result.stream().map(ProductResponseDTO::name).toList());
+        }
+    }
+
+    @Nested
+    class findSuggestions{
+
+        @DisplayName("Should return products whose lowercase name starts with the pattern, sorted and limited.")
+        @Test
+        void findSuggestions_PrefixPattern_ReturnsMatchingProducts(){
+            //ARRANGE
+            Product smartphoneY = testEntityManager.persistAndFlush(new Product(null,"Smartphone Y",2050));
+            Product smartphoneX = testEntityManager.persistAndFlush(new Product(null,"smartphone X",1050));
+            testEntityManager.persistAndFlush(new Product(null,"Smartwatch",3050));
+            testEntityManager.persistAndFlush(new Product(null,"Notebook Smartphone",5050));
+
+            //ACT
+            List<ProductSuggestionDTO> result = productRepository.findSuggestions("smartphone%", Limit.of(5));
+            List<ProductSuggestionDTO> limited = productRepository.findSuggestions("smart%", Limit.of(1));
+
+            //ASSERT
+            assertEquals(List.of(new ProductSuggestionDTO(smartphoneX.getProductId(),"smartphone X"),
+                    new ProductSuggestionDTO(smartphoneY.getProductId(),"Smartphone Y")), result);
+            assertEquals(1, limited.size());
+        }
+
+        @DisplayName("Should match wildcard characters literally when they are escaped.")
+        @Test
+        void findSuggestions_EscapedWildcards_MatchesLiterally(){
+            //ARRANGE
+            Product discount = testEntityManager.persistAndFlush(new Product(null,"50% off",1050));
+            testEntityManager.persistAndFlush(new Product(null,"500 pack",2050));
+
+            //ACT
+            List<ProductSuggestionDTO> result = productRepository.findSuggestions("50\\%%", Limit.of(5));
+
+            //ASSERT
+            assertEquals(List.of(new ProductSuggestionDTO(discount.getProductId(),"50% off")), result);
+        }
+    }
+
+    @Nested
+    class multiLoad{
+
+        UUID insertProduct(String name, long price){
+            UUID productId = UUID.randomUUID();
+            testEntityManager.getEntityManager()
+                    .createNativeQuery("INSERT INTO product(product_id, name, price) VALUES (?1, ?2, ?3)")
+                    .setParameter(1, productId)
+                    .setParameter(2, name)
+                    .setParameter(3, price)
+                    .executeUpdate();
+            return productId;
+        }
+
+        @DisplayName("Should load the found products with a single statement and skip missing ids.")
+        @Test
+        void multiLoad_SomeMissing_ReturnsFoundProductsWithOneStatement(){
+            //ARRANGE
+            UUID smartphoneId = insertProduct("Smartphone X", 1050);
+            UUID notebookId = insertProduct("Notebook X", 5050);
+            testEntityManager.getEntityManager().getEntityManagerFactory().getCache().evictAll();
+            Statistics statistics = testEntityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            //ACT
+            List<Product> result = productRepository.multiLoad(List.of(smartphoneId, UUID.randomUUID(), notebookId));
+
+            //ASSERT
+            assertEquals(Set.of(smartphoneId, notebookId), result.stream().map(Product::getProductId).collect(Collectors.toSet()));
+            assertEquals(1, statistics.getPrepareStatementCount());
+        }
+
+        @DisplayName("Should serve products already in the second-level cache without querying the database.")
+        @Test
+        @Transactional(propagation = Propagation.NOT_SUPPORTED)
+        void multiLoad_CachedProducts_DoesNotQueryDatabase(){
+            // read-write cache entries only become visible to sessions opened after the put, so each call runs in its own session
+            //ARRANGE
+            List<UUID> productIds = productRepository.saveAll(List.of(new Product(null,"Smartphone X",1050), new Product(null,"Notebook X",5050)))
+                    .stream().map(Product::getProductId).toList();
+            try {
+                entityManagerFactory.getCache().evictAll();
+                productRepository.multiLoad(productIds);
+                Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+                statistics.clear();
+
+                //ACT
+                List<Product> result = productRepository.multiLoad(productIds);
+
+                //ASSERT
+                assertEquals(2, result.size());
+                assertEquals(0, statistics.getPrepareStatementCount());
+            } finally {
+                productRepository.deleteAllByIdInBatch(productIds);
+            }
+        }
+    }
+
+    @Nested
+    class secondLevelCache{
+
+        @DisplayName("Should keep a product in the second-level cache after it is loaded by id.")
+        @Test
+        void findById_LoadedProduct_IsCached(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            // inserted through SQL because Hibernate never caches entities persisted in the still open transaction
+            testEntityManager.getEntityManager()
+                    .createNativeQuery("INSERT INTO product(product_id, name, price) VALUES (?1, 'Smartphone X', 1050)")
+                    .setParameter(1, productId)
+                    .executeUpdate();
+            Cache cache = testEntityManager.getEntityManager().getEntityManagerFactory().getCache();
+            cache.evictAll();
+
+            //ACT
+            productRepository.findById(productId);
+
+            //ASSERT
+            assertTrue(cache.contains(Product.class, productId));
+        }
+
+        @DisplayName("Should load the whole catalog sorted by name without filling the second-level cache.")
+        @Test
+        void findAllForCatalog_ReturnsAllProductsWithoutCaching(){
+            //ARRANGE
+            Product notebook = testEntityManager.persistAndFlush(new Product(null,"Notebook X",5050));
+            Product smartphone = testEntityManager.persistAndFlush(new Product(null,"Smartphone X",1050));
+            Cache cache = testEntityManager.getEntityManager().getEntityManagerFactory().getCache();
+            testEntityManager.clear();
+            cache.evictAll();
+
+            //ACT
+            List<ProductResponseDTO> result = productRepository.findAllForCatalog();
+
+            //ASSERT
+            assertEquals(List.of(notebook.getProductId(), smartphone.getProductId()),
+                    result.stream().map(ProductResponseDTO::productId).toList());
+            assertFalse(cache.contains(Product.class, notebook.getProductId()));
+        }
+    }
+
+}
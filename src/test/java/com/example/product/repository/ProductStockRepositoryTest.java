@@ -0,0 +1,163 @@
+package com.example.product.repository;
+
+import com.example.product.domain.stock.ProductStock;
+import com.example.product.domain.stock.StockDelta;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ProductStockRepositoryTest {
+
+    @Autowired
+    ProductStockRepository productStockRepository;
+
+    @Autowired
+    TestEntityManager testEntityManager;
+
+    private ProductStock stockOf(UUID productId) {
+        testEntityManager.clear();
+        return productStockRepository.findById(productId).orElseThrow();
+    }
+
+    @Nested
+    class claim{
+
+        @DisplayName("Should take the requested quantity when enough is available.")
+        @Test
+        void claim_EnoughAvailable_TakesRequestedQuantity(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            productStockRepository.saveAndFlush(new ProductStock(productId, 150, 0));
+
+            //ACT
+            long claimed = productStockRepository.claim(productId, 100);
+
+            //ASSERT
+            assertEquals(100, claimed);
+            assertEquals(50, stockOf(productId).getAvailable());
+        }
+
+        @DisplayName("Should take only what is left when less than requested is available.")
+        @Test
+        void claim_LessAvailable_TakesRemainder(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            productStockRepository.saveAndFlush(new ProductStock(productId, 30, 0));
+
+            //ACT
+            long claimed = productStockRepository.claim(productId, 100);
+
+            //ASSERT
+            assertEquals(30, claimed);
+            assertEquals(0, stockOf(productId).getAvailable());
+        }
+
+        @DisplayName("Should return zero when the product has no stock row.")
+        @Test
+        void claim_NoStockRow_ReturnsZero(){
+            //ACT
+            long claimed = productStockRepository.claim(UUID.randomUUID(), 100);
+
+            //ASSERT
+            assertEquals(0, claimed);
+        }
+    }
+
+    @Nested
+    class applyDeltas{
+
+        @DisplayName("Should add the returned quota and the reserved delta of every product in one batch.")
+        @Test
+        void applyDeltas_SeveralProducts_UpdatesEveryRow(){
+            //ARRANGE
+            UUID firstId = UUID.randomUUID();
+            UUID secondId = UUID.randomUUID();
+            productStockRepository.saveAndFlush(new ProductStock(firstId, 10, 5));
+            productStockRepository.saveAndFlush(new ProductStock(secondId, 0, 20));
+
+            //ACT
+            productStockRepository.applyDeltas(List.of(
+                    new StockDelta(firstId, 40, 60),
+                    new StockDelta(secondId, 3, -3)));
+
+            //ASSERT
+            assertEquals(50, stockOf(firstId).getAvailable());
+            assertEquals(65, stockOf(firstId).getReserved());
+            assertEquals(3, stockOf(secondId).getAvailable());
+            assertEquals(17, stockOf(secondId).getReserved());
+        }
+
+        @DisplayName("Should return the products whose stock row no longer exists.")
+        @Test
+        void applyDeltas_MissingRow_ReturnsProduct(){
+            //ARRANGE
+            UUID existingId = UUID.randomUUID();
+            UUID deletedId = UUID.randomUUID();
+            productStockRepository.saveAndFlush(new ProductStock(existingId, 10, 0));
+
+            //ACT
+            List<UUID> missing = productStockRepository.applyDeltas(List.of(
+                    new StockDelta(existingId, 5, 0),
+                    new StockDelta(deletedId, 5, 1)));
+
+            //ASSERT
+            assertEquals(List.of(deletedId), missing);
+            assertEquals(15, stockOf(existingId).getAvailable());
+        }
+
+        @DisplayName("Should not take reserved below zero when a release is written before its reservation.")
+        @Test
+        void applyDeltas_ReleaseBeforeReservation_KeepsReservedAtZero(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            productStockRepository.saveAndFlush(new ProductStock(productId, 10, 0));
+
+            //ACT
+            productStockRepository.applyDeltas(List.of(new StockDelta(productId, 5, -5)));
+
+            //ASSERT
+            assertEquals(15, stockOf(productId).getAvailable());
+            assertEquals(0, stockOf(productId).getReserved());
+        }
+    }
+
+    @Nested
+    class addAvailable{
+
+        @DisplayName("Should add to the available stock and report the updated row.")
+        @Test
+        void addAvailable_ExistingRow_AddsQuantity(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            productStockRepository.saveAndFlush(new ProductStock(productId, 10, 0));
+
+            //ACT
+            int updated = productStockRepository.addAvailable(productId, 25);
+
+            //ASSERT
+            assertEquals(1, updated);
+            assertEquals(35, stockOf(productId).getAvailable());
+        }
+
+        @DisplayName("Should update nothing when the product has no stock row.")
+        @Test
+        void addAvailable_NoStockRow_UpdatesNothing(){
+            //ACT
+            int updated = productStockRepository.addAvailable(UUID.randomUUID(), 25);
+
+            //ASSERT
+            assertEquals(0, updated);
+        }
+    }
+}
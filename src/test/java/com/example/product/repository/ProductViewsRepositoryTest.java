@@ -0,0 +1,97 @@
+package com.example.product.repository;
+
+import com.example.product.domain.product.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// run on H2 in PostgreSQL mode so the statements are checked the way the database parses them
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles({"test", "postgres"})
+@Import(ProductViewsRepository.class)
+class ProductViewsRepositoryTest {
+
+    @Autowired
+    ProductViewsRepository productViewsRepository;
+
+    @Autowired
+    TestEntityManager testEntityManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    // product_views has no entity, so the schema generated for the tests does not include it
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS product_views(" +
+                "product_id UUID PRIMARY KEY REFERENCES product(product_id) ON DELETE CASCADE, " +
+                "views BIGINT NOT NULL DEFAULT 0)");
+    }
+
+    private Long viewsOf(UUID productId) {
+        return jdbcTemplate.query("SELECT views FROM product_views WHERE product_id = ?",
+                result -> result.next() ? result.getLong(1) : null, productId);
+    }
+
+    @Nested
+    class addViews{
+
+        @DisplayName("Should create the row of a product viewed for the first time.")
+        @Test
+        void addViews_FirstViews_CreatesRow(){
+            //ARRANGE
+            Product product = testEntityManager.persistAndFlush(new Product(null, "Smartphone", 1050));
+
+            //ACT
+            productViewsRepository.addViews(Map.of(product.getProductId(), 3L));
+
+            //ASSERT
+            assertEquals(3L, viewsOf(product.getProductId()));
+        }
+
+        @DisplayName("Should add to the views already stored for the product.")
+        @Test
+        void addViews_ExistingRow_AddsViews(){
+            //ARRANGE
+            Product first = testEntityManager.persistAndFlush(new Product(null, "Smartphone", 1050));
+            Product second = testEntityManager.persistAndFlush(new Product(null, "Notebook", 2050));
+            productViewsRepository.addViews(Map.of(first.getProductId(), 3L));
+
+            //ACT
+            productViewsRepository.addViews(Map.of(first.getProductId(), 2L, second.getProductId(), 1L));
+
+            //ASSERT
+            assertEquals(5L, viewsOf(first.getProductId()));
+            assertEquals(1L, viewsOf(second.getProductId()));
+        }
+
+        @DisplayName("Should skip products deleted since they were viewed and still write the others.")
+        @Test
+        void addViews_DeletedProduct_SkipsIt(){
+            //ARRANGE
+            Product product = testEntityManager.persistAndFlush(new Product(null, "Smartphone", 1050));
+            UUID deletedId = UUID.randomUUID();
+
+            //ACT
+            productViewsRepository.addViews(Map.of(product.getProductId(), 1L, deletedId, 4L));
+
+            //ASSERT
+            assertEquals(1L, viewsOf(product.getProductId()));
+            assertNull(viewsOf(deletedId));
+        }
+    }
+}
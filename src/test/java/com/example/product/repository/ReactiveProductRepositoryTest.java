@@ -0,0 +1,117 @@
+package com.example.product.repository;
+
+import com.example.product.domain.product.ProductCursor;
+import com.example.product.domain.product.ProductFields;
+import com.example.product.domain.product.ProductResponseDTO;
+import com.example.product.domain.product.ProductSort;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveProductRepositoryTest {
+
+    ReactiveProductRepository reactiveProductRepository;
+
+    List<ProductResponseDTO> products = List.of(
+            new ProductResponseDTO(UUID.randomUUID(),"Notebook X",5050),
+            new ProductResponseDTO(UUID.randomUUID(),"Smartphone X",1050),
+            new ProductResponseDTO(UUID.randomUUID(),"Smartphone Y",2050));
+
+    @BeforeEach
+    void setUp() {
+        DatabaseClient databaseClient = DatabaseClient.create(ConnectionFactories.get("r2dbc:h2:mem:///reactiveProductTestDB?options=DB_CLOSE_DELAY=-1"));
+        databaseClient.sql("DROP TABLE IF EXISTS product").then().block();
+        databaseClient.sql("CREATE TABLE product(product_id UUID PRIMARY KEY, name VARCHAR(250) NOT NULL, price BIGINT NOT NULL)").then().block();
+        for (ProductResponseDTO product : products) {
+            databaseClient.sql("INSERT INTO product(product_id, name, price) VALUES (:productId, :name, :price)")
+                    .bind("productId", product.productId())
+                    .bind("name", product.name())
+                    .bind("price", product.price())
+                    .then().block();
+        }
+
+        reactiveProductRepository = new ReactiveProductRepository();
+        ReflectionTestUtils.setField(reactiveProductRepository, "reactiveDatabaseClient", databaseClient);
+    }
+
+    @Nested
+    class getAllFiltered{
+
+        @DisplayName("Should return all products ordered by name when is called without filters.")
+        @Test
+        void getAllFiltered_NoFilters_ReturnsAllProducts(){
+            //ACT
+            List<ProductResponseDTO> result = reactiveProductRepository.getAllFiltered(null,null,null,ProductSort.NAME,null,null,ProductFields.ALL).collectList().block();
+
+            //ASSERT
+            assertEquals(products,result);
+        }
+
+        @DisplayName("Should return products filtered by name and price range.")
+        @Test
+        void getAllFiltered_WithFilters_ReturnsMatchingProducts(){
+            //ACT
+            List<ProductResponseDTO> result = reactiveProductRepository.getAllFiltered("SMARTPHONE",1500L,2050L,ProductSort.NAME,null,null,ProductFields.ALL).collectList().block();
+
+            //ASSERT
+            assertEquals(List.of(products.get(2)),result);
+        }
+
+        @DisplayName("Should return products in the requested sort.")
+        @Test
+        void getAllFiltered_PriceDescending_ReturnsProductsByPriceDescending(){
+            //ACT
+            List<ProductResponseDTO> result = reactiveProductRepository.getAllFiltered(null,null,null,ProductSort.PRICE_DESC,null,null,ProductFields.ALL).collectList().block();
+
+            //ASSERT
+            assertEquals(List.of(products.get(0),products.get(2),products.get(1)),result);
+        }
+
+        @DisplayName("Should return at most limit products starting right after the cursor.")
+        @Test
+        void getAllFiltered_AfterAndLimit_ReturnsNextProducts(){
+            //ARRANGE
+            ProductCursor cursor = new ProductCursor(products.get(1).price(),products.get(1).productId());
+
+            //ACT
+            List<ProductResponseDTO> result = reactiveProductRepository.getAllFiltered(null,null,null,ProductSort.PRICE,cursor,1,ProductFields.ALL).collectList().block();
+
+            //ASSERT
+            assertEquals(List.of(products.get(2)),result);
+        }
+
+        @DisplayName("Should select only the requested fields and leave the others empty.")
+        @Test
+        void getAllFiltered_NameOnly_LeavesPriceEmpty(){
+            //ACT
+            List<ProductResponseDTO> result = reactiveProductRepository.getAllFiltered(null,null,null,ProductSort.NAME,null,null,new ProductFields(true,false)).collectList().block();
+
+            //ASSERT
+            assertEquals(List.of(
+                    new ProductResponseDTO(products.get(0).productId(),"Notebook X",0),
+                    new ProductResponseDTO(products.get(1).productId(),"Smartphone X",0),
+                    new ProductResponseDTO(products.get(2).productId(),"Smartphone Y",0)),result);
+        }
+    }
+
+    @Nested
+    class findById{
+
+        @DisplayName("Should return the product when the id exists and empty otherwise.")
+        @Test
+        void findById_ReturnsProductOrEmpty(){
+            //ACT & ASSERT
+            assertEquals(products.get(1),reactiveProductRepository.findById(products.get(1).productId()).block());
+            assertNull(reactiveProductRepository.findById(UUID.randomUUID()).block());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.product.repository;
+
+import com.example.product.domain.user.RefreshToken;
+import com.example.product.domain.user.User;
+import com.example.product.domain.user.UserRole;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class RefreshTokenRepositoryTest {
+
+    @Autowired
+    RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    TestEntityManager testEntityManager;
+
+    @Nested
+    class findWithUserByTokenHash{
+
+        @DisplayName("Should return the token together with its user when the hash exists.")
+        @Test
+        void findWithUserByTokenHash_ExistentHash_ReturnsTokenAndUser(){
+            //ARRANGE
+            User user = testEntityManager.persistAndFlush(new User(null,"userTest","123", UserRole.COMMON));
+            refreshTokenRepository.saveAndFlush(new RefreshToken("a".repeat(64), user, Instant.now().plusSeconds(60)));
+            testEntityManager.clear();
+
+            //ACT
+            RefreshToken result = refreshTokenRepository.findWithUserByTokenHash("a".repeat(64));
+
+            //ASSERT
+            assertEquals("userTest",result.getUser().getUsername());
+        }
+
+        @DisplayName("Should return null when the hash does not exist.")
+        @Test
+        void findWithUserByTokenHash_NonExistentHash_ReturnsNull(){
+            //ACT
+            RefreshToken result = refreshTokenRepository.findWithUserByTokenHash("b".repeat(64));
+
+            //ASSERT
+            assertNull(result);
+        }
+    }
+
+    @Nested
+    class deleteExpiredByUser{
+
+        @DisplayName("Should delete only the expired tokens of the user.")
+        @Test
+        void deleteExpiredByUser_RemovesExpiredTokens(){
+            //ARRANGE
+            User user = testEntityManager.persistAndFlush(new User(null,"userTest","123", UserRole.COMMON));
+            Instant now = Instant.now();
+            refreshTokenRepository.saveAndFlush(new RefreshToken("a".repeat(64), user, now.minusSeconds(60)));
+            refreshTokenRepository.saveAndFlush(new RefreshToken("b".repeat(64), user, now.plusSeconds(60)));
+
+            //ACT
+            int deleted = refreshTokenRepository.deleteExpiredByUser(user, now);
+
+            //ASSERT
+            assertEquals(1,deleted);
+            assertTrue(refreshTokenRepository.existsById("b".repeat(64)));
+        }
+    }
+}
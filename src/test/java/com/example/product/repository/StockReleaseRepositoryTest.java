@@ -0,0 +1,67 @@
+package com.example.product.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// the release is recorded with ON CONFLICT, so these run on H2 in PostgreSQL mode
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles({"test", "postgres"})
+class StockReleaseRepositoryTest {
+
+    @Autowired
+    StockReleaseRepository stockReleaseRepository;
+
+    @Nested
+    class insertIfAbsent{
+
+        @DisplayName("Should record a reservation only the first time it is released.")
+        @Test
+        void insertIfAbsent_SameReservationTwice_InsertsOnce(){
+            //ARRANGE
+            UUID reservationId = UUID.randomUUID();
+            Instant expiresAt = Instant.now().plusSeconds(60);
+
+            //ACT
+            int first = stockReleaseRepository.insertIfAbsent(reservationId, expiresAt);
+            int second = stockReleaseRepository.insertIfAbsent(reservationId, expiresAt);
+
+            //ASSERT
+            assertEquals(1, first);
+            assertEquals(0, second);
+        }
+    }
+
+    @Nested
+    class deleteExpired{
+
+        @DisplayName("Should delete only the releases whose reservation expired.")
+        @Test
+        void deleteExpired_MixedReleases_DeletesExpired(){
+            //ARRANGE
+            UUID expiredId = UUID.randomUUID();
+            UUID activeId = UUID.randomUUID();
+            Instant now = Instant.now();
+            stockReleaseRepository.insertIfAbsent(expiredId, now.minusSeconds(60));
+            stockReleaseRepository.insertIfAbsent(activeId, now.plusSeconds(60));
+
+            //ACT
+            int deleted = stockReleaseRepository.deleteExpired(now);
+
+            //ASSERT
+            assertEquals(1, deleted);
+            assertFalse(stockReleaseRepository.existsById(expiredId));
+            assertTrue(stockReleaseRepository.existsById(activeId));
+        }
+    }
+}
@@ -1,20 +1,32 @@
 package com.example.product.repository;
 
+import com.example.product.domain.product.Product;
 import com.example.product.domain.user.User;
+import com.example.product.domain.user.UserAuthorityDTO;
 import com.example.product.domain.user.UserRole;
+import com.example.product.infra.persistence.UuidV7Generator;
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+// the registration inserts use ON CONFLICT, so these run on H2 in PostgreSQL mode
 @DataJpaTest
-@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles({"test", "postgres"})
 class UserRepositoryTest {
 
     @Autowired
@@ -23,6 +35,12 @@ class UserRepositoryTest {
     @Autowired
     TestEntityManager testEntityManager;
 
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
     @Nested
     class findByUsername{
 
@@ -57,4 +75,100 @@ class UserRepositoryTest {
 
     }
 
-}
\ No newline at end of file
+    @Nested
+    class findAuthorityByUsername{
+
+        @DisplayName("Should return the username and role when an existent username is passed.")
+        @Test
+        void findAuthorityByUsername_ExistentUsername_ReturnsAuthority(){
+            //ARRANGE
+            testEntityManager.persistAndFlush(new User(null,"userTest","123", UserRole.ADMIN));
+
+            //ACT
+            UserAuthorityDTO result = userRepository.findAuthorityByUsername("userTest");
+
+            //ASSERT
+            assertEquals(new UserAuthorityDTO("userTest", UserRole.ADMIN),result);
+        }
+
+        @DisplayName("Should return null when an non existent username is passed.")
+        @Test
+        void findAuthorityByUsername_NonExistentUsername_ReturnsNull(){
+            //ACT & ASSERT
+            assertNull(userRepository.findAuthorityByUsername("nonExistentUser"));
+        }
+    }
+
+
+    @Nested
+    class insertAllIfUsernameAvailable{
+
+        @DisplayName("Should find a bulk-registered user even after the lookup cached that the user did not exist.")
+        @Test
+        @Transactional(propagation = Propagation.NOT_SUPPORTED)
+        void insertAllIfUsernameAvailable_AfterCachedMiss_UserIsFound(){
+            //ARRANGE
+            String username = "bulkUser";
+            try {
+                assertNull(userRepository.findAuthorityByUsername(username));
+                assertNull(userRepository.findByUsername(username));
+
+                //ACT
+                int[] inserted = userRepository.insertAllIfUsernameAvailable(List.of(new User(UuidV7Generator.next(), username, "123", UserRole.COMMON)));
+
+                //ASSERT
+                assertArrayEquals(new int[]{1}, inserted);
+                assertEquals(username, userRepository.findAuthorityByUsername(username).username());
+                assertEquals(username, userRepository.findByUsername(username).getUsername());
+            } finally {
+                userRepository.deleteAll();
+            }
+        }
+    }
+
+    @Nested
+    class insertIfUsernameAvailable{
+
+        @DisplayName("Should find the registered user even after the lookup cached that the user did not exist.")
+        @Test
+        @Transactional(propagation = Propagation.NOT_SUPPORTED)
+        void insertIfUsernameAvailable_AfterCachedMiss_UserIsFound(){
+            //ARRANGE
+            String username = "singleUser";
+            try {
+                assertNull(userRepository.findAuthorityByUsername(username));
+
+                //ACT
+                int inserted = userRepository.insertIfUsernameAvailable(UuidV7Generator.next(), username, "123", UserRole.COMMON.ordinal());
+
+                //ASSERT
+                assertEquals(1, inserted);
+                assertEquals(username, userRepository.findAuthorityByUsername(username).username());
+            } finally {
+                userRepository.deleteAll();
+            }
+        }
+
+        @DisplayName("Should leave cached products in place when a user registers.")
+        @Test
+        @Transactional(propagation = Propagation.NOT_SUPPORTED)
+        void insertIfUsernameAvailable_CachedProduct_StaysCached(){
+            //ARRANGE
+            UUID productId = productRepository.save(new Product(null, "Smartphone", 1050)).getProductId();
+            try {
+                entityManagerFactory.getCache().evictAll();
+                productRepository.findById(productId);
+                assertTrue(entityManagerFactory.getCache().contains(Product.class, productId));
+
+                //ACT
+                userRepository.insertIfUsernameAvailable(UuidV7Generator.next(), "singleUser", "123", UserRole.COMMON.ordinal());
+
+                //ASSERT
+                assertTrue(entityManagerFactory.getCache().contains(Product.class, productId));
+            } finally {
+                userRepository.deleteAll();
+                productRepository.deleteAll();
+            }
+        }
+    }
+}
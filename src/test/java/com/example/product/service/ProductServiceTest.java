@@ -1,9 +1,21 @@
 package com.example.product.service;
 
+import com.example.product.domain.product.HotProductDTO;
+import com.example.product.domain.product.Prices;
 import com.example.product.domain.product.Product;
+import com.example.product.domain.product.ProductFields;
+import com.example.product.domain.product.ProductCursor;
+import com.example.product.domain.product.ProductLookupResponseDTO;
+import com.example.product.domain.product.ProductPage;
 import com.example.product.domain.product.ProductRequestDTO;
 import com.example.product.domain.product.ProductResponseDTO;
+import com.example.product.domain.product.ProductSort;
+import com.example.product.domain.product.ProductSuggestionDTO;
+import com.example.product.exception.InvalidProductQueryException;
 import com.example.product.exception.ProductNotFoundException;
+import com.example.product.infra.catalog.OffHeapProductStore;
+import com.example.product.infra.catalog.ProductCatalog;
+import com.example.product.infra.popularity.ProductPopularity;
 import com.example.product.repository.ProductRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -13,7 +25,9 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -27,6 +41,18 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductCatalog productCatalog;
+
+    @Mock
+    private OffHeapProductStore offHeapProductStore;
+
+    @Mock
+    private ProductPopularity productPopularity;
+
+    @Mock
+    private StockService stockService;
+
     @InjectMocks
     private ProductService productService;
 
@@ -37,12 +63,12 @@ class ProductServiceTest {
         @DisplayName("Should map DTO to entity, save the entity to repository, and return the saved object")
         void createProduct_Success(){
             //ARRANGE
-            ProductRequestDTO productRequestDTO = new ProductRequestDTO("Smartphone",10.5);
+            ProductRequestDTO productRequestDTO = new ProductRequestDTO("Smartphone",new BigDecimal("10.5"));
             UUID mockId = UUID.randomUUID();
             Product productMock = new Product();
             productMock.setProductId(mockId);
             productMock.setName("Smartphone");
-            productMock.setPrice(10.5);
+            productMock.setPrice(1050);
 
             ArgumentCaptor<Product> productCaptor = ArgumentCaptor.forClass(Product.class);
 
@@ -58,7 +84,7 @@ class ProductServiceTest {
 
             assertNull(capturedProduct.getProductId());
             assertEquals(capturedProduct.getName(),productRequestDTO.name());
-            assertEquals(capturedProduct.getPrice(),productRequestDTO.price());
+            assertEquals(capturedProduct.getPrice(),Prices.toCents(productRequestDTO.price()));
 
             assertEquals(createdProduct.getProductId(),productMock.getProductId());
             assertEquals(createdProduct.getName(),productMock.getName());
@@ -73,15 +99,15 @@ class ProductServiceTest {
         @DisplayName("Should return a list of products when no filters are applied")
         void getAllProducts_WithoutFilters_ReturnList(){
             //ARRANGE
-            ProductResponseDTO productResponseDTO1 = new ProductResponseDTO(UUID.randomUUID(),"Smartphone 1",11.0);
-            ProductResponseDTO productResponseDTO2 = new ProductResponseDTO(UUID.randomUUID(),"Smartphone 2",13.0);
+            ProductResponseDTO productResponseDTO1 = new ProductResponseDTO(UUID.randomUUID(),"Smartphone 1",1100);
+            ProductResponseDTO productResponseDTO2 = new ProductResponseDTO(UUID.randomUUID(),"Smartphone 2",1300);
 
             List<ProductResponseDTO> productResponseDTOListMock = List.of(productResponseDTO1,productResponseDTO2);
 
             when(productRepository.getAllFiltered(null,null,null)).thenReturn(productResponseDTOListMock);
 
             //ACT
-            List<ProductResponseDTO> productsResult = productService.getAllProducts(null,null,null);
+            List<ProductResponseDTO> productsResult = productService.getAllProducts(null,null,null,"name",null,null,ProductFields.ALL).products();
 
             //ASSERT
             verify(productRepository,times(1)).getAllFiltered(null,null,null);
@@ -95,21 +121,21 @@ class ProductServiceTest {
         @DisplayName("Should return a list of products when all filters are applied")
         void getAllProducts_WithAllFilters_ReturnList(){
             //ARRANGE
-            ProductResponseDTO productResponseDTO1 = new ProductResponseDTO(UUID.randomUUID(),"Smartphone 1",11.0);
-            ProductResponseDTO productResponseDTO2 = new ProductResponseDTO(UUID.randomUUID(),"Smartphone 2",13.0);
+            ProductResponseDTO productResponseDTO1 = new ProductResponseDTO(UUID.randomUUID(),"Smartphone 1",1100);
+            ProductResponseDTO productResponseDTO2 = new ProductResponseDTO(UUID.randomUUID(),"Smartphone 2",1300);
             String name = "Smartphone";
-            Double minPrice = 10.0;
-            Double maxPrice = 15.0;
+            BigDecimal minPrice = new BigDecimal("10.0");
+            BigDecimal maxPrice = new BigDecimal("15.0");
 
             List<ProductResponseDTO> productResponseDTOListMock = List.of(productResponseDTO1,productResponseDTO2);
 
-            when(productRepository.getAllFiltered(name,minPrice,maxPrice)).thenReturn(productResponseDTOListMock);
+            when(productRepository.getAllFiltered(name,1000L,1500L)).thenReturn(productResponseDTOListMock);
 
             //ACT
-            List<ProductResponseDTO> productsResult = productService.getAllProducts(name,minPrice,maxPrice);
+            List<ProductResponseDTO> productsResult = productService.getAllProducts(name,minPrice,maxPrice,"name",null,null,ProductFields.ALL).products();
 
             //ASSERT
-            verify(productRepository,times(1)).getAllFiltered(name,minPrice,maxPrice);
+            verify(productRepository,times(1)).getAllFiltered(name,1000L,1500L);
 
             assertNotNull(productsResult);
             assertEquals(2, productsResult.size());
@@ -121,24 +147,233 @@ class ProductServiceTest {
         void getAllProducts_WithFilters_ReturnEmptyList(){
             //ARRANGE
             String name = "Smartphone";
-            Double minPrice = 10.0;
-            Double maxPrice = 15.0;
+            BigDecimal minPrice = new BigDecimal("10.0");
+            BigDecimal maxPrice = new BigDecimal("15.0");
 
             List<ProductResponseDTO> productResponseDTOListMock = List.of();
 
-            when(productRepository.getAllFiltered(name,minPrice,maxPrice)).thenReturn(productResponseDTOListMock);
+            when(productRepository.getAllFiltered(name,1000L,1500L)).thenReturn(productResponseDTOListMock);
 
             //ACT
-            List<ProductResponseDTO> productsResult = productService.getAllProducts(name,minPrice,maxPrice);
+            List<ProductResponseDTO> productsResult = productService.getAllProducts(name,minPrice,maxPrice,"name",null,null,ProductFields.ALL).products();
 
             //ASSERT
-            verify(productRepository,times(1)).getAllFiltered(name,minPrice,maxPrice);
+            verify(productRepository,times(1)).getAllFiltered(name,1000L,1500L);
 
             assertNotNull(productsResult);
             assertEquals(0, productsResult.size());
             assertEquals(productResponseDTOListMock,productsResult);
         }
 
+        @Test
+        @DisplayName("Should query the in-memory catalog instead of the repository when the catalog is loaded")
+        void getAllProducts_CatalogLoaded_ReturnListFromCatalog(){
+            //ARRANGE
+            ProductResponseDTO productResponseDTO1 = new ProductResponseDTO(UUID.randomUUID(),"Smartphone 1",1100);
+            String name = "Smartphone";
+            BigDecimal minPrice = new BigDecimal("10.0");
+            BigDecimal maxPrice = new BigDecimal("15.0");
+
+            List<ProductResponseDTO> productResponseDTOListMock = List.of(productResponseDTO1);
+
+            when(productCatalog.isLoaded()).thenReturn(true);
+            when(productCatalog.query(name,1000L,1500L)).thenReturn(productResponseDTOListMock);
+
+            //ACT
+            List<ProductResponseDTO> productsResult = productService.getAllProducts(name,minPrice,maxPrice,"name",null,null,ProductFields.ALL).products();
+
+            //ASSERT
+            verify(productCatalog,times(1)).query(name,1000L,1500L);
+            verify(productRepository,never()).getAllFiltered(any(),any(),any());
+
+            assertEquals(productResponseDTOListMock,productsResult);
+        }
+
+        @Test
+        @DisplayName("Should query the sorted repository method and return a cursor when the page is full")
+        void getAllProducts_SortedFullPage_ReturnPageWithCursor(){
+            //ARRANGE
+            ProductResponseDTO productResponseDTO1 = new ProductResponseDTO(UUID.randomUUID(),"Smartphone 1",1300);
+            ProductResponseDTO productResponseDTO2 = new ProductResponseDTO(UUID.randomUUID(),"Smartphone 2",1100);
+
+            when(productRepository.getSorted(null,null,null,ProductSort.PRICE_DESC,null,2,ProductFields.ALL)).thenReturn(List.of(productResponseDTO1,productResponseDTO2));
+
+            //ACT
+            ProductPage productPage = productService.getAllProducts(null,null,null,"-price",null,2,ProductFields.ALL);
+
+            //ASSERT
+            verify(productCatalog,never()).query(any(),any(),any());
+
+            assertEquals(List.of(productResponseDTO1,productResponseDTO2),productPage.products());
+            assertEquals(new ProductCursor(1100L,productResponseDTO2.productId()),ProductCursor.decode(ProductSort.PRICE_DESC,productPage.nextCursor()));
+        }
+
+        @Test
+        @DisplayName("Should not return a cursor when the last page is not full")
+        void getAllProducts_LastPage_ReturnPageWithoutCursor(){
+            //ARRANGE
+            ProductResponseDTO productResponseDTO1 = new ProductResponseDTO(UUID.randomUUID(),"Smartphone 1",1300);
+            String after = ProductCursor.encode(ProductSort.PRICE,new ProductResponseDTO(UUID.randomUUID(),"Smartphone 0",1100));
+
+            when(productRepository.getSorted(eq(null),eq(null),eq(null),eq(ProductSort.PRICE),any(ProductCursor.class),eq(2),eq(ProductFields.ALL))).thenReturn(List.of(productResponseDTO1));
+
+            //ACT
+            ProductPage productPage = productService.getAllProducts(null,null,null,"price",after,2,ProductFields.ALL);
+
+            //ASSERT
+            assertEquals(List.of(productResponseDTO1),productPage.products());
+            assertNull(productPage.nextCursor());
+        }
+
+        @Test
+        @DisplayName("Should query only the requested fields when the catalog is not loaded")
+        void getAllProducts_NarrowedFields_QueryNarrowedProjection(){
+            //ARRANGE
+            ProductFields priceOnly = new ProductFields(false,true);
+            List<ProductResponseDTO> productResponseDTOListMock = List.of(new ProductResponseDTO(UUID.randomUUID(),null,1100));
+
+            when(productRepository.getSorted(null,null,null,ProductSort.NAME,null,null,priceOnly)).thenReturn(productResponseDTOListMock);
+
+            //ACT
+            ProductPage productPage = productService.getAllProducts(null,null,null,"name",null,null,priceOnly);
+
+            //ASSERT
+            verify(productRepository,never()).getAllFiltered(any(),any(),any());
+
+            assertEquals(productResponseDTOListMock,productPage.products());
+        }
+
+        @Test
+        @DisplayName("Should also select the sort key when a narrowed page needs a cursor")
+        void getAllProducts_NarrowedFieldsPaged_SelectSortKey(){
+            //ARRANGE
+            ProductResponseDTO productResponseDTO = new ProductResponseDTO(UUID.randomUUID(),null,1100);
+
+            when(productRepository.getSorted(null,null,null,ProductSort.PRICE,null,1,new ProductFields(false,true))).thenReturn(List.of(productResponseDTO));
+
+            //ACT
+            ProductPage productPage = productService.getAllProducts(null,null,null,"price",null,1,new ProductFields(false,false));
+
+            //ASSERT
+            assertEquals(new ProductCursor(1100L,productResponseDTO.productId()),ProductCursor.decode(ProductSort.PRICE,productPage.nextCursor()));
+        }
+
+        @Test
+        @DisplayName("Should throw exception when the sort is not one of the indexed orderings")
+        void getAllProducts_UnknownSort_ThrowsException(){
+            //ACT & ASSERT
+            InvalidProductQueryException exception = assertThrows(InvalidProductQueryException.class,() -> {
+                productService.getAllProducts(null,null,null,"productId",null,null,ProductFields.ALL);
+            });
+
+            //ASSERT
+            verifyNoInteractions(productRepository);
+
+            assertEquals("Invalid value provided for sort. The allowed values are \"name\", \"-name\", \"price\" or \"-price\".",exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should throw exception when the limit is out of range")
+        void getAllProducts_LimitOutOfRange_ThrowsException(){
+            //ACT & ASSERT
+            assertThrows(InvalidProductQueryException.class,() -> productService.getAllProducts(null,null,null,"name",null,0,ProductFields.ALL));
+            assertThrows(InvalidProductQueryException.class,() -> productService.getAllProducts(null,null,null,"name",null,1001,ProductFields.ALL));
+
+            //ASSERT
+            verifyNoInteractions(productRepository);
+        }
+
+        @Test
+        @DisplayName("Should throw exception when the cursor was issued for another sort")
+        void getAllProducts_CursorFromAnotherSort_ThrowsException(){
+            //ARRANGE
+            String after = ProductCursor.encode(ProductSort.NAME,new ProductResponseDTO(UUID.randomUUID(),"Smartphone 0",1100));
+
+            //ACT & ASSERT
+            assertThrows(InvalidProductQueryException.class,() -> productService.getAllProducts(null,null,null,"price",after,10,ProductFields.ALL));
+
+            //ASSERT
+            verifyNoInteractions(productRepository);
+        }
+
+    }
+
+    @Nested
+    class getHotProducts{
+
+        @Test
+        @DisplayName("Should return the hot products tracked by the popularity sketch")
+        void getHotProducts_ValidLimit_ReturnsHotProducts(){
+            //ARRANGE
+            HotProductDTO hotProduct = new HotProductDTO(UUID.randomUUID(),"Smartphone",1050,42);
+
+            when(productPopularity.hotProducts(5)).thenReturn(List.of(hotProduct));
+
+            //ACT
+            List<HotProductDTO> result = productService.getHotProducts(5);
+
+            //ASSERT
+            assertEquals(List.of(hotProduct),result);
+        }
+
+        @Test
+        @DisplayName("Should throw InvalidProductQueryException when the limit is out of range")
+        void getHotProducts_LimitOutOfRange_ThrowsInvalidProductQueryException(){
+            //ACT & ASSERT
+            assertThrows(InvalidProductQueryException.class,() -> productService.getHotProducts(0));
+            assertThrows(InvalidProductQueryException.class,() -> productService.getHotProducts(101));
+
+            verify(productPopularity,never()).hotProducts(anyInt());
+        }
+    }
+
+    @Nested
+    class suggestProducts{
+
+        @Test
+        @DisplayName("Should return suggestions from the in-memory catalog when the catalog is loaded")
+        void suggestProducts_CatalogLoaded_ReturnSuggestionsFromCatalog(){
+            //ARRANGE
+            ProductResponseDTO productResponseDTO = new ProductResponseDTO(UUID.randomUUID(),"Smartphone",1100);
+
+            when(productCatalog.isLoaded()).thenReturn(true);
+            when(productCatalog.suggest("Smart",10)).thenReturn(List.of(productResponseDTO));
+
+            //ACT
+            List<ProductSuggestionDTO> suggestions = productService.suggestProducts("Smart",10);
+
+            //ASSERT
+            verify(productRepository,never()).findSuggestions(any(),any());
+
+            assertEquals(List.of(new ProductSuggestionDTO(productResponseDTO.productId(),"Smartphone")),suggestions);
+        }
+
+        @Test
+        @DisplayName("Should query the repository with an escaped lowercase prefix pattern when the catalog is not loaded")
+        void suggestProducts_CatalogNotLoaded_QueryRepositoryWithEscapedPattern(){
+            //ARRANGE
+            List<ProductSuggestionDTO> suggestionsMock = List.of(new ProductSuggestionDTO(UUID.randomUUID(),"50% off_sale"));
+
+            when(productRepository.findSuggestions("50\\% off\\_%",Limit.of(5))).thenReturn(suggestionsMock);
+
+            //ACT
+            List<ProductSuggestionDTO> suggestions = productService.suggestProducts("50% OFF_",5);
+
+            //ASSERT
+            assertEquals(suggestionsMock,suggestions);
+        }
+
+        @Test
+        @DisplayName("Should throw exception when the prefix is blank or the limit is out of range")
+        void suggestProducts_InvalidParameters_ThrowsException(){
+            //ACT & ASSERT
+            assertThrows(InvalidProductQueryException.class,() -> productService.suggestProducts(" ",10));
+            assertThrows(InvalidProductQueryException.class,() -> productService.suggestProducts("Smart",0));
+            assertThrows(InvalidProductQueryException.class,() -> productService.suggestProducts("Smart",51));
+
+            //ASSERT
+            verifyNoInteractions(productRepository);
+        }
     }
 
     @Nested
@@ -153,7 +388,7 @@ class ProductServiceTest {
             Product productMock = new Product();
             productMock.setProductId(productId);
             productMock.setName("Smartphone");
-            productMock.setPrice(10.5);
+            productMock.setPrice(1050);
 
             when(productRepository.findById(productId)).thenReturn(Optional.of(productMock));
 
@@ -162,6 +397,7 @@ class ProductServiceTest {
 
             //ASSERT
             verify(productRepository,times(1)).findById(productId);
+            verify(productPopularity,times(1)).recordView(productId);
 
             assertNotNull(productResponseDTOResult);
             assertEquals(productMock.getProductId(),productResponseDTOResult.productId());
@@ -169,6 +405,25 @@ class ProductServiceTest {
             assertEquals(productMock.getPrice(),productResponseDTOResult.price());
         }
 
+        @Test
+        @DisplayName("Should return the product from the off-heap store without querying the repository")
+        void getProduct_FoundInOffHeapStore(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            ProductResponseDTO cachedProduct = new ProductResponseDTO(productId,"Smartphone",1050);
+
+            when(offHeapProductStore.get(productId)).thenReturn(cachedProduct);
+
+            //ACT
+            ProductResponseDTO productResponseDTOResult = productService.getProduct(productId);
+
+            //ASSERT
+            verify(productRepository,never()).findById(any(UUID.class));
+            verify(productPopularity,times(1)).recordView(productId);
+
+            assertEquals(cachedProduct,productResponseDTOResult);
+        }
+
         @Test
         @DisplayName("Should throw exception when product's ID is not found")
         void getProduct_NotFound(){
@@ -190,6 +445,53 @@ class ProductServiceTest {
 
     }
 
+    @Nested
+    class lookupProducts{
+
+        @Test
+        @DisplayName("Should return products in request order, loading only the off-heap misses and reporting missing ids")
+        void lookupProducts_MixedHitsAndMisses_ReturnProductsInRequestOrder(){
+            //ARRANGE
+            ProductResponseDTO cachedProduct = new ProductResponseDTO(UUID.randomUUID(),"Smartphone",1050);
+            Product loadedProduct = new Product(UUID.randomUUID(),"Notebook",5050);
+            UUID missingId = UUID.randomUUID();
+
+            when(offHeapProductStore.get(any(UUID.class))).thenReturn(null);
+            when(offHeapProductStore.get(cachedProduct.productId())).thenReturn(cachedProduct);
+            when(productRepository.multiLoad(List.of(loadedProduct.getProductId(),missingId))).thenReturn(List.of(loadedProduct));
+
+            //ACT
+            ProductLookupResponseDTO result = productService.lookupProducts(
+                    List.of(loadedProduct.getProductId(),missingId,cachedProduct.productId(),loadedProduct.getProductId()));
+
+            //ASSERT
+            verify(productRepository,times(1)).multiLoad(List.of(loadedProduct.getProductId(),missingId));
+            verify(offHeapProductStore,times(1)).put(new ProductResponseDTO(loadedProduct));
+
+            ProductResponseDTO loadedProductResponseDTO = new ProductResponseDTO(loadedProduct);
+            assertEquals(List.of(loadedProductResponseDTO,cachedProduct,loadedProductResponseDTO),result.products());
+            assertEquals(List.of(missingId),result.missingIds());
+        }
+
+        @Test
+        @DisplayName("Should not query the repository when every product is in the off-heap store")
+        void lookupProducts_AllCached_DoesNotQueryRepository(){
+            //ARRANGE
+            ProductResponseDTO cachedProduct = new ProductResponseDTO(UUID.randomUUID(),"Smartphone",1050);
+
+            when(offHeapProductStore.get(cachedProduct.productId())).thenReturn(cachedProduct);
+
+            //ACT
+            ProductLookupResponseDTO result = productService.lookupProducts(List.of(cachedProduct.productId()));
+
+            //ASSERT
+            verifyNoInteractions(productRepository);
+
+            assertEquals(List.of(cachedProduct),result.products());
+            assertEquals(List.of(),result.missingIds());
+        }
+    }
+
     @Nested
     class updateProduct{
         @Test
@@ -197,17 +499,17 @@ class ProductServiceTest {
         void updateProduct_UpdateAllFields_Success(){
             //ARRANGE
             UUID productId = UUID.randomUUID();
-            ProductRequestDTO productRequestDTO = new ProductRequestDTO("Smartphone X",10.7);
+            ProductRequestDTO productRequestDTO = new ProductRequestDTO("Smartphone X",new BigDecimal("10.7"));
 
             Product productMock = new Product();
             productMock.setProductId(productId);
             productMock.setName("Smartphone");
-            productMock.setPrice(10.5);
+            productMock.setPrice(1050);
 
             Product productUpdatedMock = new Product();
             productUpdatedMock.setProductId(productId);
             productUpdatedMock.setName("Smartphone X");
-            productUpdatedMock.setPrice(10.7);
+            productUpdatedMock.setPrice(1070);
 
             ArgumentCaptor<Product> productCaptor = ArgumentCaptor.forClass(Product.class);
 
@@ -226,12 +528,12 @@ class ProductServiceTest {
             assertNotNull(capturedProduct);
             assertEquals(productId,capturedProduct.getProductId());
             assertEquals(productRequestDTO.name(),capturedProduct.getName());
-            assertEquals(productRequestDTO.price(),capturedProduct.getPrice());
+            assertEquals(Prices.toCents(productRequestDTO.price()),capturedProduct.getPrice());
 
             assertNotNull(productResult);
             assertEquals(productId,productResult.getProductId());
             assertEquals(productRequestDTO.name(),productResult.getName());
-            assertEquals(productRequestDTO.price(),productResult.getPrice());
+            assertEquals(Prices.toCents(productRequestDTO.price()),productResult.getPrice());
         }
 
         @Test
@@ -244,12 +546,12 @@ class ProductServiceTest {
             Product productMock = new Product();
             productMock.setProductId(productId);
             productMock.setName("Smartphone");
-            productMock.setPrice(10.5);
+            productMock.setPrice(1050);
 
             Product productUpdatedMock = new Product();
             productUpdatedMock.setProductId(productId);
             productUpdatedMock.setName("Smartphone X");
-            productUpdatedMock.setPrice(10.5);
+            productUpdatedMock.setPrice(1050);
 
             ArgumentCaptor<Product> productCaptor = ArgumentCaptor.forClass(Product.class);
 
@@ -281,17 +583,17 @@ class ProductServiceTest {
         void updateProduct_UpdatePrice_Success(){
             //ARRANGE
             UUID productId = UUID.randomUUID();
-            ProductRequestDTO productRequestDTO = new ProductRequestDTO(null,10.7);
+            ProductRequestDTO productRequestDTO = new ProductRequestDTO(null,new BigDecimal("10.7"));
 
             Product productMock = new Product();
             productMock.setProductId(productId);
             productMock.setName("Smartphone");
-            productMock.setPrice(10.5);
+            productMock.setPrice(1050);
 
             Product productUpdatedMock = new Product();
             productUpdatedMock.setProductId(productId);
             productUpdatedMock.setName("Smartphone");
-            productUpdatedMock.setPrice(10.7);
+            productUpdatedMock.setPrice(1070);
 
             ArgumentCaptor<Product> productCaptor = ArgumentCaptor.forClass(Product.class);
 
@@ -310,12 +612,12 @@ class ProductServiceTest {
             assertNotNull(capturedProduct);
             assertEquals(productId,capturedProduct.getProductId());
             assertEquals(productMock.getName(),capturedProduct.getName());
-            assertEquals(productRequestDTO.price(),capturedProduct.getPrice());
+            assertEquals(Prices.toCents(productRequestDTO.price()),capturedProduct.getPrice());
 
             assertNotNull(productResult);
             assertEquals(productId,productResult.getProductId());
             assertEquals(productMock.getName(),productResult.getName());
-            assertEquals(productRequestDTO.price(),productResult.getPrice());
+            assertEquals(Prices.toCents(productRequestDTO.price()),productResult.getPrice());
         }
 
         @Test
@@ -323,7 +625,7 @@ class ProductServiceTest {
         void updateProduct_NotFound_ThrowException(){
             //ARRANGE
             UUID nonExistentId = UUID.randomUUID();
-            ProductRequestDTO productRequestDTO = new ProductRequestDTO("Smartphone X",10.7);
+            ProductRequestDTO productRequestDTO = new ProductRequestDTO("Smartphone X",new BigDecimal("10.7"));
 
             when(productRepository.findById(nonExistentId)).thenReturn(Optional.empty());
 
@@ -359,6 +661,7 @@ class ProductServiceTest {
             //ASSERT
             verify(productRepository,times(1)).findById(productId);
             verify(productRepository,times(1)).deleteById(productId);
+            verify(stockService,times(1)).evict(productId);
         }
 
         @Test
@@ -0,0 +1,129 @@
+package com.example.product.service;
+
+import com.example.product.domain.product.ProductCursor;
+import com.example.product.domain.product.ProductFields;
+import com.example.product.domain.product.ProductResponseDTO;
+import com.example.product.domain.product.ProductSort;
+import com.example.product.domain.product.ProductStream;
+import com.example.product.exception.ProductNotFoundException;
+import com.example.product.infra.catalog.OffHeapProductStore;
+import com.example.product.infra.popularity.ProductPopularity;
+import com.example.product.repository.ReactiveProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveProductServiceTest {
+
+    @Mock
+    private ReactiveProductRepository reactiveProductRepository;
+
+    @Mock
+    private OffHeapProductStore offHeapProductStore;
+
+    @Mock
+    private ProductPopularity productPopularity;
+
+    @InjectMocks
+    private ReactiveProductService reactiveProductService;
+
+    @Nested
+    class getAllProducts{
+
+        @Test
+        @DisplayName("Should return the cursor of the last product after the stream when the page is full.")
+        void getAllProducts_FullPage_ReturnsNextCursor(){
+            //ARRANGE
+            List<ProductResponseDTO> products = List.of(
+                    new ProductResponseDTO(UUID.randomUUID(),"Smartphone",1050),
+                    new ProductResponseDTO(UUID.randomUUID(),"Notebook",5050));
+            when(reactiveProductRepository.getAllFiltered(null,null,null,ProductSort.PRICE,null,2,ProductFields.ALL)).thenReturn(Flux.fromIterable(products));
+
+            //ACT
+            ProductStream result = reactiveProductService.getAllProducts(null,null,null,"price",null,2,ProductFields.ALL);
+
+            //ASSERT
+            assertEquals(products,result.products().collectList().block());
+            assertEquals(ProductCursor.encode(ProductSort.PRICE,products.get(1)),result.nextCursor().block());
+        }
+
+        @Test
+        @DisplayName("Should return no cursor when the page is not full.")
+        void getAllProducts_LastPage_ReturnsNoCursor(){
+            //ARRANGE
+            List<ProductResponseDTO> products = List.of(new ProductResponseDTO(UUID.randomUUID(),"Smartphone",1050));
+            when(reactiveProductRepository.getAllFiltered(null,null,null,ProductSort.PRICE,null,2,ProductFields.ALL)).thenReturn(Flux.fromIterable(products));
+
+            //ACT
+            ProductStream result = reactiveProductService.getAllProducts(null,null,null,"price",null,2,ProductFields.ALL);
+
+            //ASSERT
+            assertEquals(products,result.products().collectList().block());
+            assertNull(result.nextCursor().block());
+        }
+    }
+
+    @Nested
+    class getProduct{
+
+        @Test
+        @DisplayName("Should return the product and record a view when it is found in the database.")
+        void getProduct_Found_RecordsView(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            ProductResponseDTO product = new ProductResponseDTO(productId,"Smartphone",1050);
+            when(reactiveProductRepository.findById(productId)).thenReturn(Mono.just(product));
+
+            //ACT
+            ProductResponseDTO result = reactiveProductService.getProduct(productId).block();
+
+            //ASSERT
+            assertEquals(product,result);
+            verify(offHeapProductStore,times(1)).put(product);
+            verify(productPopularity,times(1)).recordView(productId);
+        }
+
+        @Test
+        @DisplayName("Should return the product and record a view when it is found in the off-heap store.")
+        void getProduct_FoundInOffHeapStore_RecordsView(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            ProductResponseDTO cachedProduct = new ProductResponseDTO(productId,"Smartphone",1050);
+            when(offHeapProductStore.get(productId)).thenReturn(cachedProduct);
+
+            //ACT
+            ProductResponseDTO result = reactiveProductService.getProduct(productId).block();
+
+            //ASSERT
+            assertEquals(cachedProduct,result);
+            verify(reactiveProductRepository,never()).findById(any());
+            verify(productPopularity,times(1)).recordView(productId);
+        }
+
+        @Test
+        @DisplayName("Should throw ProductNotFoundException without recording a view when the product is not found.")
+        void getProduct_NotFound_RecordsNothing(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            when(reactiveProductRepository.findById(productId)).thenReturn(Mono.empty());
+
+            //ACT + ASSERT
+            assertThrows(ProductNotFoundException.class, () -> reactiveProductService.getProduct(productId).block());
+            verify(productPopularity,never()).recordView(any());
+        }
+    }
+}
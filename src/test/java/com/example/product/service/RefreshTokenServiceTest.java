@@ -0,0 +1,112 @@
+package com.example.product.service;
+
+import com.example.product.domain.user.RefreshToken;
+import com.example.product.domain.user.User;
+import com.example.product.domain.user.UserRole;
+import com.example.product.exception.InvalidRefreshTokenException;
+import com.example.product.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private final User user = new User(UUID.randomUUID(),"userTest","encrypted", UserRole.COMMON);
+
+    @Nested
+    class issue{
+
+        @Test
+        @DisplayName("Should store only the hash of the issued token.")
+        void issue_StoresTokenHash(){
+            //ARRANGE
+            ArgumentCaptor<RefreshToken> refreshTokenArgumentCaptor = ArgumentCaptor.forClass(RefreshToken.class);
+
+            //ACT
+            String refreshToken = refreshTokenService.issue(user);
+
+            //ASSERT
+            verify(refreshTokenRepository,times(1)).save(refreshTokenArgumentCaptor.capture());
+
+            RefreshToken stored = refreshTokenArgumentCaptor.getValue();
+            assertNotEquals(refreshToken,stored.getTokenHash());
+            assertEquals(RefreshTokenService.hash(refreshToken),stored.getTokenHash());
+            assertEquals(user,stored.getUser());
+            assertTrue(stored.getExpiresAt().isAfter(Instant.now().plus(Duration.ofDays(29))));
+        }
+    }
+
+    @Nested
+    class consume{
+
+        @Test
+        @DisplayName("Should delete the token and return its user when it is valid.")
+        void consume_ValidToken_ReturnsUser(){
+            //ARRANGE
+            String tokenHash = RefreshTokenService.hash("refresh");
+            when(refreshTokenRepository.findWithUserByTokenHash(tokenHash))
+                    .thenReturn(new RefreshToken(tokenHash, user, Instant.now().plusSeconds(60)));
+            when(refreshTokenRepository.deleteByTokenHash(tokenHash)).thenReturn(1);
+
+            //ACT
+            User result = refreshTokenService.consume("refresh");
+
+            //ASSERT
+            assertEquals(user,result);
+        }
+
+        @Test
+        @DisplayName("Should reject a token that was already used by a concurrent refresh.")
+        void consume_AlreadyRotatedToken_ThrowsException(){
+            //ARRANGE
+            String tokenHash = RefreshTokenService.hash("refresh");
+            when(refreshTokenRepository.findWithUserByTokenHash(tokenHash))
+                    .thenReturn(new RefreshToken(tokenHash, user, Instant.now().plusSeconds(60)));
+            when(refreshTokenRepository.deleteByTokenHash(tokenHash)).thenReturn(0);
+
+            //ACT & ASSERT
+            assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.consume("refresh"));
+        }
+
+        @Test
+        @DisplayName("Should reject an expired token.")
+        void consume_ExpiredToken_ThrowsException(){
+            //ARRANGE
+            String tokenHash = RefreshTokenService.hash("refresh");
+            when(refreshTokenRepository.findWithUserByTokenHash(tokenHash))
+                    .thenReturn(new RefreshToken(tokenHash, user, Instant.now().minusSeconds(1)));
+            when(refreshTokenRepository.deleteByTokenHash(tokenHash)).thenReturn(1);
+
+            //ACT & ASSERT
+            assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.consume("refresh"));
+        }
+
+        @Test
+        @DisplayName("Should reject an unknown token.")
+        void consume_UnknownToken_ThrowsException(){
+            //ACT & ASSERT
+            assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.consume("unknown"));
+
+            verify(refreshTokenRepository,never()).deleteByTokenHash(anyString());
+        }
+    }
+}
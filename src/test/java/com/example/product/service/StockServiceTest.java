@@ -0,0 +1,478 @@
+package com.example.product.service;
+
+import com.example.product.domain.stock.ProductStock;
+import com.example.product.domain.stock.ReservationResponseDTO;
+import com.example.product.domain.stock.StockDelta;
+import com.example.product.domain.stock.StockReservation;
+import com.example.product.domain.stock.StockResponseDTO;
+import com.example.product.exception.InvalidStockReleaseException;
+import com.example.product.exception.OutOfStockException;
+import com.example.product.exception.ProductNotFoundException;
+import com.example.product.exception.ReservationNotFoundException;
+import com.example.product.repository.ProductRepository;
+import com.example.product.repository.ProductStockRepository;
+import com.example.product.repository.StockReleaseRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockServiceTest {
+
+    @Mock
+    private ProductStockRepository productStockRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockReleaseRepository stockReleaseRepository;
+
+    @Mock
+    private TokenService tokenService;
+
+    @InjectMocks
+    private StockService stockService;
+
+    @Nested
+    class reserve{
+
+        @Test
+        @DisplayName("Should claim a whole chunk once and serve the following reservations from memory.")
+        void reserve_SeveralReservations_ClaimsOneChunk(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            when(productRepository.existsById(productId)).thenReturn(true);
+            when(productStockRepository.claim(productId, 100)).thenReturn(100L);
+
+            //ACT
+            for (int i = 0; i < 50; i++) {
+                stockService.reserve(productId, 1, "UserTest");
+            }
+
+            //ASSERT
+            verify(productStockRepository, times(1)).claim(productId, 100);
+            when(productStockRepository.findById(productId)).thenReturn(Optional.of(new ProductStock(productId, 0, 0)));
+            StockResponseDTO stock = stockService.getStock(productId);
+            assertEquals(50, stock.available());
+            assertEquals(50, stock.reserved());
+        }
+
+        @Test
+        @DisplayName("Should claim more than a chunk when the reservation is larger than one.")
+        void reserve_LargerThanChunk_ClaimsMissingQuantity(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            when(productRepository.existsById(productId)).thenReturn(true);
+            when(productStockRepository.claim(productId, 250)).thenReturn(250L);
+
+            //ACT
+            stockService.reserve(productId, 250, "UserTest");
+
+            //ASSERT
+            verify(productStockRepository).claim(productId, 250);
+        }
+
+        @Test
+        @DisplayName("Should throw OutOfStockException and keep the claimed remainder for smaller reservations.")
+        void reserve_NotEnoughStock_ThrowsAndKeepsRemainder(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            when(productRepository.existsById(productId)).thenReturn(true);
+            when(productStockRepository.claim(productId, 100)).thenReturn(5L);
+
+            //ACT
+            assertThrows(OutOfStockException.class, () -> stockService.reserve(productId, 10, "UserTest"));
+            stockService.reserve(productId, 5, "UserTest");
+
+            //ASSERT
+            verify(productStockRepository, times(1)).claim(eq(productId), anyLong());
+        }
+
+        @Test
+        @DisplayName("Should not go back to the database while the product is known to be sold out.")
+        void reserve_SoldOut_SkipsClaim(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            when(productRepository.existsById(productId)).thenReturn(true);
+            when(productStockRepository.claim(productId, 100)).thenReturn(0L);
+
+            //ACT
+            assertThrows(OutOfStockException.class, () -> stockService.reserve(productId, 1, "UserTest"));
+            assertThrows(OutOfStockException.class, () -> stockService.reserve(productId, 1, "UserTest"));
+
+            //ASSERT
+            verify(productStockRepository, times(1)).claim(productId, 100);
+        }
+
+        @Test
+        @DisplayName("Should return a reservation signed for the user, product and quantity.")
+        void reserve_EnoughStock_ReturnsReservation(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            when(productRepository.existsById(productId)).thenReturn(true);
+            when(productStockRepository.claim(productId, 100)).thenReturn(100L);
+            when(tokenService.generateReservationToken(argThat(reservation -> reservation.owner().equals("UserTest")
+                    && reservation.productId().equals(productId) && reservation.quantity() == 5))).thenReturn("reservation-token");
+
+            //ACT
+            ReservationResponseDTO reservation = stockService.reserve(productId, 5, "UserTest");
+
+            //ASSERT
+            assertEquals("reservation-token", reservation.reservationId());
+            assertTrue(reservation.expiresAt().isAfter(Instant.now()));
+        }
+
+        @Test
+        @DisplayName("Should throw ProductNotFoundException without keeping a counter when the product does not exist.")
+        void reserve_NonExistentProduct_ThrowsProductNotFoundException(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            when(productRepository.existsById(productId)).thenReturn(false);
+
+            //ACT
+            assertThrows(ProductNotFoundException.class, () -> stockService.reserve(productId, 1, "UserTest"));
+            assertThrows(ProductNotFoundException.class, () -> stockService.reserve(productId, 1, "UserTest"));
+
+            //ASSERT
+            verify(productStockRepository, never()).claim(any(), anyLong());
+            verify(productRepository, times(2)).existsById(productId);
+        }
+
+        @Test
+        @DisplayName("Should keep the local quota when the claim fails.")
+        void reserve_ClaimFails_KeepsLocalQuota(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            when(productRepository.existsById(productId)).thenReturn(true);
+            when(productStockRepository.claim(productId, 100)).thenReturn(3L).thenThrow(new QueryTimeoutException("timeout"));
+            when(productStockRepository.addAvailable(productId, 1)).thenReturn(1);
+            when(productStockRepository.findById(productId)).thenReturn(Optional.of(new ProductStock(productId, 0, 0)));
+            assertThrows(OutOfStockException.class, () -> stockService.reserve(productId, 5, "UserTest"));
+            stockService.restock(productId, 1);
+
+            //ACT
+            assertThrows(QueryTimeoutException.class, () -> stockService.reserve(productId, 5, "UserTest"));
+
+            //ASSERT
+            assertEquals(3, stockService.getStock(productId).available());
+        }
+    }
+
+    @Nested
+    class release{
+
+        private StockReservation reservationOf(UUID productId, long quantity, String owner) {
+            return new StockReservation(UUID.randomUUID(), owner, productId, quantity, Instant.now().plus(Duration.ofDays(1)));
+        }
+
+        @Test
+        @DisplayName("Should make released units available again without touching the stock row.")
+        void release_OwnReservation_ServedFromMemory(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            StockReservation reservation = reservationOf(productId, 30, "UserTest");
+            when(productRepository.existsById(productId)).thenReturn(true);
+            when(productStockRepository.claim(productId, 100)).thenReturn(100L);
+            when(tokenService.validateReservationToken("reservation-token")).thenReturn(reservation);
+            when(stockReleaseRepository.insertIfAbsent(reservation.reservationId(), reservation.expiresAt())).thenReturn(1);
+            stockService.reserve(productId, 100, "UserTest");
+
+            //ACT
+            stockService.release(productId, "reservation-token", "UserTest");
+            stockService.reserve(productId, 30, "UserTest");
+
+            //ASSERT
+            verify(productStockRepository, times(1)).claim(eq(productId), anyLong());
+        }
+
+        @Test
+        @DisplayName("Should throw InvalidStockReleaseException and make nothing reservable when the reservation was already released.")
+        void release_AlreadyReleased_ThrowsAndAddsNothing(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            StockReservation reservation = reservationOf(productId, 10, "UserTest");
+            when(productRepository.existsById(productId)).thenReturn(true);
+            when(productStockRepository.claim(productId, 100)).thenReturn(10L);
+            when(tokenService.validateReservationToken("reservation-token")).thenReturn(reservation);
+            when(stockReleaseRepository.insertIfAbsent(reservation.reservationId(), reservation.expiresAt())).thenReturn(1, 0);
+            stockService.reserve(productId, 10, "UserTest");
+            stockService.release(productId, "reservation-token", "UserTest");
+
+            //ACT
+            assertThrows(InvalidStockReleaseException.class, () -> stockService.release(productId, "reservation-token", "UserTest"));
+
+            //ASSERT
+            assertThrows(OutOfStockException.class, () -> stockService.reserve(productId, 11, "UserTest"));
+            stockService.reserve(productId, 10, "UserTest");
+        }
+
+        @Test
+        @DisplayName("Should throw ReservationNotFoundException when the reservation belongs to another user.")
+        void release_OtherOwner_ThrowsReservationNotFoundException(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            when(tokenService.validateReservationToken("reservation-token")).thenReturn(reservationOf(productId, 10, "OtherUser"));
+
+            //ACT + ASSERT
+            assertThrows(ReservationNotFoundException.class, () -> stockService.release(productId, "reservation-token", "UserTest"));
+            verify(stockReleaseRepository, never()).insertIfAbsent(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should throw ReservationNotFoundException when the reservation is for another product or not valid.")
+        void release_OtherProductOrInvalid_ThrowsReservationNotFoundException(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            when(tokenService.validateReservationToken("reservation-token")).thenReturn(reservationOf(UUID.randomUUID(), 10, "UserTest"));
+            when(tokenService.validateReservationToken("forged-token")).thenReturn(null);
+
+            //ACT + ASSERT
+            assertThrows(ReservationNotFoundException.class, () -> stockService.release(productId, "reservation-token", "UserTest"));
+            assertThrows(ReservationNotFoundException.class, () -> stockService.release(productId, "forged-token", "UserTest"));
+            verify(stockReleaseRepository, never()).insertIfAbsent(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should release a reservation made on another instance and write it with the next flush.")
+        void release_ReservedElsewhere_FlushesNegativeReserved(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            StockReservation reservation = reservationOf(productId, 30, "UserTest");
+            when(tokenService.validateReservationToken("reservation-token")).thenReturn(reservation);
+            when(stockReleaseRepository.insertIfAbsent(reservation.reservationId(), reservation.expiresAt())).thenReturn(1);
+
+            //ACT
+            stockService.release(productId, "reservation-token", "UserTest");
+            stockService.flush(0);
+
+            //ASSERT
+            verify(productStockRepository).applyDeltas(List.of(new StockDelta(productId, 30, -30)));
+        }
+    }
+
+    @Nested
+    class restock{
+
+        @Test
+        @DisplayName("Should throw ProductNotFoundException when the product does not exist.")
+        void restock_NonExistentProduct_ThrowsProductNotFoundException(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            when(productRepository.existsById(productId)).thenReturn(false);
+
+            //ACT + ASSERT
+            assertThrows(ProductNotFoundException.class, () -> stockService.restock(productId, 10));
+            verify(productStockRepository, never()).addAvailable(any(), anyLong());
+        }
+
+        @Test
+        @DisplayName("Should create the stock row when the product has none.")
+        void restock_NoStockRow_CreatesRow(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            when(productRepository.existsById(productId)).thenReturn(true);
+            when(productStockRepository.addAvailable(productId, 10)).thenReturn(0);
+
+            //ACT
+            stockService.restock(productId, 10);
+
+            //ASSERT
+            verify(productStockRepository).saveAndFlush(argThat(stock -> stock.getProductId().equals(productId) && stock.getAvailable() == 10));
+        }
+
+        @Test
+        @DisplayName("Should add to the row a concurrent restock created first.")
+        void restock_ConcurrentCreate_AddsToExistingRow(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            when(productRepository.existsById(productId)).thenReturn(true);
+            when(productStockRepository.addAvailable(productId, 10)).thenReturn(0, 1);
+            when(productStockRepository.saveAndFlush(any(ProductStock.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+            //ACT
+            stockService.restock(productId, 10);
+
+            //ASSERT
+            verify(productStockRepository, times(2)).addAvailable(productId, 10);
+        }
+
+        @Test
+        @DisplayName("Should let a sold out product be claimed again right after a restock.")
+        void restock_SoldOutProduct_ClaimsAgain(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            when(productRepository.existsById(productId)).thenReturn(true);
+            when(productStockRepository.claim(productId, 100)).thenReturn(0L, 10L);
+            when(productStockRepository.addAvailable(productId, 10)).thenReturn(1);
+            assertThrows(OutOfStockException.class, () -> stockService.reserve(productId, 1, "UserTest"));
+
+            //ACT
+            stockService.restock(productId, 10);
+            stockService.reserve(productId, 1, "UserTest");
+
+            //ASSERT
+            verify(productStockRepository, times(2)).claim(productId, 100);
+        }
+    }
+
+    @Nested
+    class getStock{
+
+        @Test
+        @DisplayName("Should add the quota and reservations held in memory to the stored stock.")
+        void getStock_WithLocalState_CombinesBoth(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            when(productRepository.existsById(productId)).thenReturn(true);
+            when(productStockRepository.claim(productId, 100)).thenReturn(100L);
+            stockService.reserve(productId, 40, "UserTest");
+            when(productStockRepository.findById(productId)).thenReturn(Optional.of(new ProductStock(productId, 900, 10)));
+
+            //ACT
+            StockResponseDTO stock = stockService.getStock(productId);
+
+            //ASSERT
+            assertEquals(960, stock.available());
+            assertEquals(50, stock.reserved());
+        }
+
+        @Test
+        @DisplayName("Should throw ProductNotFoundException when neither stock nor product exist.")
+        void getStock_NonExistentProduct_ThrowsProductNotFoundException(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            when(productStockRepository.findById(productId)).thenReturn(Optional.empty());
+            when(productRepository.existsById(productId)).thenReturn(false);
+
+            //ACT + ASSERT
+            assertThrows(ProductNotFoundException.class, () -> stockService.getStock(productId));
+        }
+    }
+
+    @Nested
+    class evict{
+
+        @Test
+        @DisplayName("Should forget the local quota so the next reservation checks the product again.")
+        void evict_DeletedProduct_ForgetsQuota(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            when(productRepository.existsById(productId)).thenReturn(true, false);
+            when(productStockRepository.claim(productId, 100)).thenReturn(100L);
+            stockService.reserve(productId, 10, "UserTest");
+
+            //ACT
+            stockService.evict(productId);
+
+            //ASSERT
+            assertThrows(ProductNotFoundException.class, () -> stockService.reserve(productId, 1, "UserTest"));
+            stockService.flush(0);
+            verify(productStockRepository, never()).applyDeltas(anyList());
+        }
+    }
+
+    @Nested
+    class flush{
+
+        @Test
+        @DisplayName("Should write the reserved delta and keep a chunk of quota for a product still selling.")
+        void flush_ActiveProduct_WritesReservedAndKeepsChunk(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            when(productRepository.existsById(productId)).thenReturn(true);
+            StockReservation reservation = new StockReservation(UUID.randomUUID(), "UserTest", productId, 20, Instant.now().plus(Duration.ofDays(1)));
+            when(productStockRepository.claim(productId, 100)).thenReturn(100L);
+            when(tokenService.validateReservationToken("reservation-token")).thenReturn(reservation);
+            when(stockReleaseRepository.insertIfAbsent(reservation.reservationId(), reservation.expiresAt())).thenReturn(1);
+            stockService.reserve(productId, 20, "UserTest");
+            stockService.release(productId, "reservation-token", "UserTest");
+            stockService.reserve(productId, 30, "UserTest");
+
+            //ACT
+            stockService.flush();
+
+            //ASSERT
+            verify(productStockRepository).applyDeltas(List.of(new StockDelta(productId, 0, 30)));
+        }
+
+        @Test
+        @DisplayName("Should return the quota of a product without reservations since the last flush.")
+        void flush_IdleProduct_ReturnsQuota(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            when(productRepository.existsById(productId)).thenReturn(true);
+            when(productStockRepository.claim(productId, 100)).thenReturn(100L);
+            stockService.reserve(productId, 10, "UserTest");
+            stockService.flush();
+
+            //ACT
+            stockService.flush();
+
+            //ASSERT
+            verify(productStockRepository).applyDeltas(List.of(new StockDelta(productId, 90, 0)));
+        }
+
+        @Test
+        @DisplayName("Should put the deltas back when the batch fails so the next flush retries them.")
+        void flush_BatchFails_RestoresDeltas(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            when(productRepository.existsById(productId)).thenReturn(true);
+            when(productStockRepository.claim(productId, 100)).thenReturn(100L);
+            stockService.reserve(productId, 10, "UserTest");
+            when(productStockRepository.applyDeltas(anyList())).thenThrow(new QueryTimeoutException("timeout")).thenReturn(List.of());
+
+            //ACT
+            assertThrows(QueryTimeoutException.class, () -> stockService.flush());
+            stockService.flush();
+
+            //ASSERT
+            verify(productStockRepository, times(2)).applyDeltas(List.of(new StockDelta(productId, 0, 10)));
+        }
+
+        @Test
+        @DisplayName("Should drop the counter of a product whose stock row is gone so its quota is not sold any more.")
+        void flush_StockRowGone_EvictsCounter(){
+            //ARRANGE
+            UUID productId = UUID.randomUUID();
+            when(productRepository.existsById(productId)).thenReturn(true, false);
+            when(productStockRepository.claim(productId, 100)).thenReturn(100L);
+            when(productStockRepository.applyDeltas(anyList())).thenReturn(List.of(productId));
+            stockService.reserve(productId, 10, "UserTest");
+
+            //ACT
+            stockService.flush();
+
+            //ASSERT
+            assertThrows(ProductNotFoundException.class, () -> stockService.reserve(productId, 1, "UserTest"));
+            verify(productStockRepository, times(1)).claim(eq(productId), anyLong());
+        }
+
+        @Test
+        @DisplayName("Should not touch the database when nothing changed.")
+        void flush_NoChanges_SkipsBatch(){
+            //ACT
+            stockService.flush();
+
+            //ASSERT
+            verify(productStockRepository, never()).applyDeltas(anyList());
+        }
+    }
+}
@@ -2,8 +2,11 @@ package com.example.product.service;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.example.product.domain.stock.StockReservation;
 import com.example.product.domain.user.User;
 import com.example.product.domain.user.UserRole;
+import com.example.product.infra.security.SigningKeyRing;
+import com.example.product.infra.security.VerifiedTokenCache;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -11,12 +14,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ContextConfiguration;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest(properties = {"productApi.security.token.secret=test-key"})
-@ContextConfiguration(classes = {TokenService.class})
+@ContextConfiguration(classes = {TokenService.class, SigningKeyRing.class, VerifiedTokenCache.class})
 class TokenServiceTest {
 
 
@@ -56,6 +62,23 @@ class TokenServiceTest {
                 fail("Fail in Token verification:  " + exception.getMessage());
             }
         }
+
+        @Test
+        @DisplayName("Should expire the token after the access token ttl, in UTC")
+        void generateToken_ExpiresAfterTtl(){
+            //ARRANGE
+            User user = new User(UUID.randomUUID(),"UserTest","123", UserRole.ADMIN);
+            Instant before = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+            //ACT
+            String token = tokenService.generateToken(user);
+
+            //ASSERT
+            Instant expiresAt = JWT.decode(token).getExpiresAtAsInstant();
+
+            assertFalse(expiresAt.isBefore(before.plus(Duration.ofMinutes(15))));
+            assertFalse(expiresAt.isAfter(Instant.now().plus(Duration.ofMinutes(15))));
+        }
     }
 
     @Nested
@@ -99,5 +122,71 @@ class TokenServiceTest {
             //ASSERT
             assertNull(validateToken);
         }
+
+        @Test
+        @DisplayName("Should return null when token is expired, even after it was validated before.")
+        void validateToken_Expired_ReturnsNull(){
+            //ARRANGE
+            Algorithm algorithm = Algorithm.HMAC256(TEST_SECRET);
+            String token = JWT.create()
+                    .withIssuer("ProductApi")
+                    .withSubject("UserTest")
+                    .withExpiresAt(Instant.now().minusSeconds(5))
+                    .sign(algorithm);
+
+            //ACT
+            String first = tokenService.validateToken(token);
+            String second = tokenService.validateToken(token);
+
+            //ASSERT
+            assertNull(first);
+            assertNull(second);
+        }
+    }
+
+    @Nested
+    class validateReservationToken{
+
+        @Test
+        @DisplayName("Should return the reservation signed by generateReservationToken.")
+        void validateReservationToken_GeneratedToken_ReturnsReservation(){
+            //ARRANGE
+            StockReservation reservation = new StockReservation(UUID.randomUUID(), "UserTest", UUID.randomUUID(), 3, Instant.now().plusSeconds(60).truncatedTo(ChronoUnit.SECONDS));
+
+            //ACT
+            StockReservation result = tokenService.validateReservationToken(tokenService.generateReservationToken(reservation));
+
+            //ASSERT
+            assertEquals(reservation, result);
+        }
+
+        @Test
+        @DisplayName("Should not accept a reservation as an access token or an access token as a reservation.")
+        void validateReservationToken_AccessToken_ReturnsNull(){
+            //ARRANGE
+            StockReservation reservation = new StockReservation(UUID.randomUUID(), "UserTest", UUID.randomUUID(), 3, Instant.now().plusSeconds(60));
+            String accessToken = tokenService.generateToken(new User(UUID.randomUUID(),"UserTest","123", UserRole.COMMON));
+
+            //ACT
+            String subject = tokenService.validateToken(tokenService.generateReservationToken(reservation));
+            StockReservation result = tokenService.validateReservationToken(accessToken);
+
+            //ASSERT
+            assertNull(subject);
+            assertNull(result);
+        }
+
+        @Test
+        @DisplayName("Should return null when the reservation is expired.")
+        void validateReservationToken_Expired_ReturnsNull(){
+            //ARRANGE
+            StockReservation reservation = new StockReservation(UUID.randomUUID(), "UserTest", UUID.randomUUID(), 3, Instant.now().minusSeconds(5));
+
+            //ACT
+            StockReservation result = tokenService.validateReservationToken(tokenService.generateReservationToken(reservation));
+
+            //ASSERT
+            assertNull(result);
+        }
     }
-}
\ No newline at end of file
+}
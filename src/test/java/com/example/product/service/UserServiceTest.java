@@ -1,7 +1,9 @@
 package com.example.product.service;
 
 import com.example.product.domain.user.*;
+import com.example.product.exception.InvalidRefreshTokenException;
 import com.example.product.exception.UsernameAlreadyInUseException;
+import com.example.product.infra.security.BulkPasswordEncoder;
 import com.example.product.repository.UserRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -17,6 +19,8 @@ import org.springframework.security.authentication.InternalAuthenticationService
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,9 +38,15 @@ class UserServiceTest {
     @Mock
     private TokenService tokenService;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private BulkPasswordEncoder bulkPasswordEncoder;
+
     @InjectMocks
     private UserService userService;
 
@@ -52,35 +62,47 @@ class UserServiceTest {
             RegisterRequestDTO registerRequestDTO = new RegisterRequestDTO("userTest",password, UserRole.ADMIN);
             String encryptedPassword = "encrypted";
 
-            when(userRepository.findByUsername(username)).thenReturn(null);
             when(passwordEncoder.encode(password)).thenReturn(encryptedPassword);
-
-            ArgumentCaptor<User> userArgumentCaptor = ArgumentCaptor.forClass(User.class);
+            when(userRepository.insertIfUsernameAvailable(any(UUID.class),eq(username),eq(encryptedPassword),eq(UserRole.ADMIN.ordinal()))).thenReturn(1);
 
             //ACT
             userService.create(registerRequestDTO);
 
             //ASSERT
-            verify(userRepository,times(1)).findByUsername(username);
             verify(passwordEncoder,times(1)).encode(password);
-            verify(userRepository,times(1)).save(userArgumentCaptor.capture());
+            verify(userRepository,times(1)).insertIfUsernameAvailable(any(UUID.class),eq(username),eq(encryptedPassword),eq(UserRole.ADMIN.ordinal()));
+            verify(userRepository,never()).findByUsername(anyString());
+        }
+
+        @Test
+        @DisplayName("Should throw exception without hashing the password when the username is already in use.")
+        void create_UsernameAlreadyInUse_ThrowsWithoutHashing(){
+            //ARRANGE
+            RegisterRequestDTO registerRequestDTO = new RegisterRequestDTO("userTest","123", UserRole.ADMIN);
+
+            when(userRepository.existsByUsername("userTest")).thenReturn(true);
+
+            //ACT & ASSERT
+            UsernameAlreadyInUseException exception = assertThrows(UsernameAlreadyInUseException.class, () -> {
+                userService.create(registerRequestDTO);
+            });
 
-            User userCaptured = userArgumentCaptor.getValue();
+            //ASSERT
+            verify(passwordEncoder,never()).encode(anyString());
+            verify(userRepository,never()).insertIfUsernameAvailable(any(UUID.class),anyString(),anyString(),anyInt());
 
-            assertEquals(registerRequestDTO.username(),userCaptured.getUsername());
-            assertEquals(encryptedPassword,userCaptured.getPassword());
-            assertEquals(registerRequestDTO.role(),userCaptured.getRole());
+            assertEquals("This username is already in use.", exception.getMessage());
         }
 
         @Test
-        @DisplayName("Should throw exception when the username is already in use.")
-        void create_UsernameAlreadyInUse_ThrowsException(){
+        @DisplayName("Should throw exception when a concurrent registration takes the username first.")
+        void create_UsernameTakenConcurrently_ThrowsException(){
             //ARRANGE
             String username = "userTest";
             RegisterRequestDTO registerRequestDTO = new RegisterRequestDTO("userTest","123", UserRole.ADMIN);
-            User userMock = new User(UUID.randomUUID(),username,"12345",UserRole.COMMON);
 
-            when(userRepository.findByUsername(username)).thenReturn(userMock);
+            when(passwordEncoder.encode("123")).thenReturn("encrypted");
+            when(userRepository.insertIfUsernameAvailable(any(UUID.class),eq(username),eq("encrypted"),anyInt())).thenReturn(0);
 
             //ACT & ASSERT
             UsernameAlreadyInUseException exception = assertThrows(UsernameAlreadyInUseException.class, () -> {
@@ -88,13 +110,72 @@ class UserServiceTest {
             });
 
             //ASSERT
-            verify(userRepository,times(1)).findByUsername(username);
-            verify(userRepository,never()).save(any(User.class));
+            verify(userRepository,times(1)).insertIfUsernameAvailable(any(UUID.class),eq(username),eq("encrypted"),anyInt());
 
             assertEquals("This username is already in use.", exception.getMessage());
         }
     }
 
+    @Nested
+    class createAll{
+
+        @Test
+        @DisplayName("Should create only new usernames and report the result of each user.")
+        void createAll_MixedUsernames_ReturnsResultPerUser(){
+            //ARRANGE
+            List<RegisterRequestDTO> users = List.of(
+                    new RegisterRequestDTO("userA","123", UserRole.COMMON),
+                    new RegisterRequestDTO("admin","123", UserRole.ADMIN),
+                    new RegisterRequestDTO("userA","456", UserRole.ADMIN),
+                    new RegisterRequestDTO("userB","789", UserRole.COMMON));
+
+            when(userRepository.findExistingUsernames(Set.of("userA","admin","userB"))).thenReturn(Set.of("admin"));
+            when(bulkPasswordEncoder.encodeAll(List.of("123","789"))).thenReturn(List.of("encryptedA","encryptedB"));
+            when(userRepository.insertAllIfUsernameAvailable(anyList())).thenReturn(new int[]{1, 0});
+
+            //ACT
+            List<BulkRegisterResultDTO> result = userService.createAll(users);
+
+            //ASSERT
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<User>> usersArgumentCaptor = ArgumentCaptor.forClass(List.class);
+            verify(userRepository,times(1)).insertAllIfUsernameAvailable(usersArgumentCaptor.capture());
+
+            List<User> usersCaptured = usersArgumentCaptor.getValue();
+            assertEquals(2,usersCaptured.size());
+            assertEquals("userA",usersCaptured.get(0).getUsername());
+            assertEquals("encryptedA",usersCaptured.get(0).getPassword());
+            assertEquals(UserRole.COMMON,usersCaptured.get(0).getRole());
+            assertNotNull(usersCaptured.get(0).getUserId());
+            assertEquals("userB",usersCaptured.get(1).getUsername());
+
+            assertEquals(List.of(
+                    new BulkRegisterResultDTO("userA", BulkRegisterStatus.CREATED),
+                    new BulkRegisterResultDTO("admin", BulkRegisterStatus.USERNAME_IN_USE),
+                    new BulkRegisterResultDTO("userA", BulkRegisterStatus.DUPLICATED_IN_REQUEST),
+                    new BulkRegisterResultDTO("userB", BulkRegisterStatus.USERNAME_IN_USE)
+            ), result);
+        }
+
+        @Test
+        @DisplayName("Should not hash or insert anything when every username is already in use.")
+        void createAll_AllUsernamesInUse_InsertsNothing(){
+            //ARRANGE
+            List<RegisterRequestDTO> users = List.of(new RegisterRequestDTO("admin","123", UserRole.ADMIN));
+
+            when(userRepository.findExistingUsernames(Set.of("admin"))).thenReturn(Set.of("admin"));
+            when(bulkPasswordEncoder.encodeAll(List.of())).thenReturn(List.of());
+
+            //ACT
+            List<BulkRegisterResultDTO> result = userService.createAll(users);
+
+            //ASSERT
+            verify(userRepository,never()).insertAllIfUsernameAvailable(anyList());
+
+            assertEquals(List.of(new BulkRegisterResultDTO("admin", BulkRegisterStatus.USERNAME_IN_USE)), result);
+        }
+    }
+
     @Nested
     class login{
         @Test
@@ -109,6 +190,7 @@ class UserServiceTest {
             when(authenticationManager.authenticate(any())).thenReturn(authenticationMock);
             when(authenticationMock.getPrincipal()).thenReturn(userMock);
             when(tokenService.generateToken(userMock)).thenReturn(tokenMock);
+            when(refreshTokenService.issue(userMock)).thenReturn("Mocked Refresh Token");
 
             //ACT
             LoginResponseDTO loginResponseDTOResult = userService.login(loginRequestDTO);
@@ -120,6 +202,7 @@ class UserServiceTest {
             assertEquals(tokenMock,loginResponseDTOResult.token());
             assertEquals(loginRequestDTO.username(),loginResponseDTOResult.username());
             assertEquals(userMock.getRole(),loginResponseDTOResult.role());
+            assertEquals("Mocked Refresh Token",loginResponseDTOResult.refreshToken());
         }
 
         @Test
@@ -161,4 +244,45 @@ class UserServiceTest {
         }
     }
 
+    @Nested
+    class refresh{
+        @Test
+        @DisplayName("Should rotate the refresh token and return new tokens without checking the password.")
+        void refresh_success(){
+            //ARRANGE
+            User userMock = new User(UUID.randomUUID(),"userTest","encrypted",UserRole.COMMON);
+
+            when(refreshTokenService.consume("Old Refresh Token")).thenReturn(userMock);
+            when(tokenService.generateToken(userMock)).thenReturn("Mocked Token");
+            when(refreshTokenService.issue(userMock)).thenReturn("New Refresh Token");
+
+            //ACT
+            LoginResponseDTO loginResponseDTOResult = userService.refresh(new RefreshRequestDTO("Old Refresh Token"));
+
+            //ASSERT
+            verify(authenticationManager,never()).authenticate(any());
+
+            assertEquals("Mocked Token",loginResponseDTOResult.token());
+            assertEquals("New Refresh Token",loginResponseDTOResult.refreshToken());
+            assertEquals(userMock.getUsername(),loginResponseDTOResult.username());
+            assertEquals(userMock.getRole(),loginResponseDTOResult.role());
+        }
+
+        @Test
+        @DisplayName("Should not issue tokens when the refresh token is invalid.")
+        void refresh_InvalidRefreshToken_ThrowsException(){
+            //ARRANGE
+            when(refreshTokenService.consume("Invalid")).thenThrow(new InvalidRefreshTokenException("Invalid refresh token."));
+
+            //ACT & ASSERT
+            assertThrows(InvalidRefreshTokenException.class, () -> {
+                userService.refresh(new RefreshRequestDTO("Invalid"));
+            });
+
+            //ASSERT
+            verify(tokenService,never()).generateToken(any(User.class));
+            verify(refreshTokenService,never()).issue(any(User.class));
+        }
+    }
+
 }
\ No newline at end of file